@@ -0,0 +1,104 @@
+/*
+ * Genetic Algorithm for Load Balancing
+ * Copyright (c) 2016-2017 Pedro Cuadra & Sudheera Reddy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Pedro Cuadra (pjcuadra@gmail.com)
+ *    Sudheera Reddy
+ */
+
+
+package de.dortmund.fh.pimes.gitlab.galob.benchmarks;
+
+import de.dortmund.fh.pimes.gitlab.galob.alg.util.jenetics.ScheduleChromosome;
+import de.dortmund.fh.pimes.gitlab.galob.alg.util.jenetics.ScheduleCrossover;
+import de.dortmund.fh.pimes.gitlab.galob.alg.util.jenetics.ScheduleGene;
+import de.dortmund.fh.pimes.gitlab.galob.alg.util.jenetics.ScheduleMutator;
+
+import org.jenetics.util.MSeq;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mutation and crossover benchmarks.
+ *
+ * @author Pedro Cuadra
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class AltererBenchmark {
+  /**
+   * Mutator under test.
+   */
+  private ScheduleMutator mutator;
+  /**
+   * Crossover under test.
+   */
+  private ScheduleCrossover crossover;
+  /**
+   * First parent.
+   */
+  private ScheduleChromosome first;
+  /**
+   * Second parent.
+   */
+  private ScheduleChromosome second;
+
+  /**
+   * Create the alterers and the parents.
+   *
+   * @param state
+   *          HCE state
+   */
+  @Setup
+  public void setUp(EnvironmentState state) {
+    Random random = new Random(EnvironmentState.SEED);
+
+    mutator = new ScheduleMutator(state.env, 1);
+    crossover = new ScheduleCrossover(state.env, 1);
+    first = ScheduleChromosome.of(state.env, random);
+    second = ScheduleChromosome.of(state.env, random);
+  }
+
+  @Benchmark
+  public int mutate() {
+    MSeq<ScheduleGene> genes = first.toSeq().copy();
+
+    // The mutator skips the mutation if a random number is below the probability
+    return mutator.mutate(genes, 0);
+  }
+
+  @Benchmark
+  public int crossover() {
+    return crossover.crossover(first.toSeq().copy(), second.toSeq().copy());
+  }
+
+}
@@ -0,0 +1,60 @@
+/*
+ * Genetic Algorithm for Load Balancing
+ * Copyright (c) 2016-2017 Pedro Cuadra & Sudheera Reddy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Pedro Cuadra (pjcuadra@gmail.com)
+ *    Sudheera Reddy
+ */
+
+
+package de.dortmund.fh.pimes.gitlab.galob.benchmarks;
+
+import de.dortmund.fh.pimes.gitlab.galob.alg.util.jenetics.ScheduleChromosome;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Random chromosome construction benchmarks.
+ *
+ * @author Pedro Cuadra
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ChromosomeBenchmark {
+
+  @Benchmark
+  public ScheduleChromosome newChromosome(EnvironmentState state) {
+    return new ScheduleChromosome(state.env);
+  }
+
+  @Benchmark
+  public boolean isValid(EnvironmentState state) {
+    return new ScheduleChromosome(state.env).isValid();
+  }
+
+}
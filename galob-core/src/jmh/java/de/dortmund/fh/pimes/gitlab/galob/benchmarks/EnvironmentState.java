@@ -0,0 +1,135 @@
+/*
+ * Genetic Algorithm for Load Balancing
+ * Copyright (c) 2016-2017 Pedro Cuadra & Sudheera Reddy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Pedro Cuadra (pjcuadra@gmail.com)
+ *    Sudheera Reddy
+ */
+
+
+package de.dortmund.fh.pimes.gitlab.galob.benchmarks;
+
+import de.dortmund.fh.pimes.gitlab.galob.alg.LoadBalancingFitnessCalculator;
+import de.dortmund.fh.pimes.gitlab.galob.alg.util.HeterogeneousComputingEnv;
+import de.dortmund.fh.pimes.gitlab.galob.alg.util.SimulatedAnnealing;
+import de.dortmund.fh.pimes.gitlab.galob.alg.util.graph.GraphNode;
+
+import org.jenetics.Optimize;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+
+/**
+ * Benchmark state holding a random HCE parameterized by number of tasks, number of executors and
+ * edge density.
+ *
+ * @author Pedro Cuadra
+ *
+ */
+@State(Scope.Benchmark)
+public class EnvironmentState {
+  /**
+   * Seed of the random HCE so every run benchmarks the same graph.
+   */
+  static final long SEED = 0x5eed;
+  /**
+   * Gamma value of simulated annealing.
+   */
+  static final double SA_GAMMA_COOLING_FACTOR = 0.9;
+  /**
+   * Initial temperature of simulated annealing.
+   */
+  static final double SA_INITIAL_TEMPERATURE = 900;
+
+  /**
+   * Number of tasks.
+   */
+  @Param({ "100", "1000", "5000" })
+  public int numTasks;
+  /**
+   * Number of executors.
+   */
+  @Param({ "4", "16" })
+  public int numExecutors;
+  /**
+   * Average number of successors of every task.
+   */
+  @Param({ "3" })
+  public double edgeDensity;
+
+  /**
+   * Heterogeneous computing environment.
+   */
+  public HeterogeneousComputingEnv env;
+
+  /**
+   * Build the HCE.
+   */
+  @Setup
+  public void setUp() {
+    env = createEnvironment(numTasks, numExecutors, edgeDensity, new Random(SEED));
+
+    // Alterers take the simulated annealing path as in the examples
+    env.setSimulatedAnnealing(new SimulatedAnnealing(SA_GAMMA_COOLING_FACTOR,
+        SA_INITIAL_TEMPERATURE, new LoadBalancingFitnessCalculator(env), Optimize.MINIMUM));
+  }
+
+  /**
+   * Create a random HCE. Dependencies only go from lower to higher task IDs so the graph is
+   * acyclic.
+   *
+   * @param numTasks
+   *          number of tasks
+   * @param numExecutors
+   *          number of executors
+   * @param edgeDensity
+   *          average number of successors of every task
+   * @param random
+   *          random generator
+   * @return random HCE
+   */
+  static HeterogeneousComputingEnv createEnvironment(int numTasks, int numExecutors,
+      double edgeDensity, Random random) {
+    HeterogeneousComputingEnv env = new HeterogeneousComputingEnv(numTasks, numExecutors);
+    GraphNode[] tasks = new GraphNode[numTasks];
+
+    for (int i = 0; i < numTasks; i++) {
+      double[] etcRow = new double[numExecutors];
+
+      for (int exe = 0; exe < numExecutors; exe++) {
+        etcRow[exe] = 1 + random.nextInt(20);
+      }
+
+      tasks[i] = env.addTask(etcRow);
+    }
+
+    // Expected number of edges is numTasks * edgeDensity
+    long numEdges = Math.round(numTasks * edgeDensity);
+
+    for (long edge = 0; edge < numEdges && numTasks > 1; edge++) {
+      int src = random.nextInt(numTasks - 1);
+      int dst = src + 1 + random.nextInt(numTasks - src - 1);
+
+      env.addDependency(tasks[src], tasks[dst], 1 + random.nextInt(20));
+    }
+
+    return env;
+  }
+
+}
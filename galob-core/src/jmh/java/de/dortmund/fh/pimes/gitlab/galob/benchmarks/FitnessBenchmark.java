@@ -0,0 +1,119 @@
+/*
+ * Genetic Algorithm for Load Balancing
+ * Copyright (c) 2016-2017 Pedro Cuadra & Sudheera Reddy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Pedro Cuadra (pjcuadra@gmail.com)
+ *    Sudheera Reddy
+ */
+
+
+package de.dortmund.fh.pimes.gitlab.galob.benchmarks;
+
+import de.dortmund.fh.pimes.gitlab.galob.alg.ExecutionTimeFitnessCalculator;
+import de.dortmund.fh.pimes.gitlab.galob.alg.LoadBalancingFitnessCalculator;
+import de.dortmund.fh.pimes.gitlab.galob.alg.util.FitnessCalculator;
+import de.dortmund.fh.pimes.gitlab.galob.alg.util.Stats;
+import de.dortmund.fh.pimes.gitlab.galob.alg.util.jenetics.ScheduleChromosome;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fitness evaluation benchmarks.
+ *
+ * @author Pedro Cuadra
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class FitnessBenchmark {
+  /**
+   * Load balancing fitness calculator.
+   */
+  private FitnessCalculator loadBalancing;
+  /**
+   * Execution time fitness calculator.
+   */
+  private FitnessCalculator executionTime;
+  /**
+   * Chromosome to be evaluated.
+   */
+  private ScheduleChromosome chromosome;
+
+  /**
+   * Create the calculators and the chromosome.
+   *
+   * @param state
+   *          HCE state
+   */
+  @Setup
+  public void setUp(EnvironmentState state) {
+    loadBalancing = new LoadBalancingFitnessCalculator(state.env);
+    executionTime = new ExecutionTimeFitnessCalculator(state.env);
+    chromosome = ScheduleChromosome.of(state.env, new Random(EnvironmentState.SEED));
+
+    // Measure evaluation, not cache lookups
+    loadBalancing.setFitnessCache(null);
+    executionTime.setFitnessCache(null);
+  }
+
+  /**
+   * Get a fresh chromosome with the same schedule and no stats attached.
+   *
+   * @param state
+   *          HCE state
+   * @return chromosome
+   */
+  private ScheduleChromosome freshChromosome(EnvironmentState state) {
+    return ScheduleChromosome.of(state.env, chromosome.toSeq());
+  }
+
+  @Benchmark
+  public double totalTime(EnvironmentState state) {
+    return new Stats(state.env, loadBalancing, freshChromosome(state)).getTotalTime();
+  }
+
+  @Benchmark
+  public double stdDev(EnvironmentState state) {
+    return new Stats(state.env, loadBalancing, freshChromosome(state)).getStdDev();
+  }
+
+  @Benchmark
+  public double loadBalancingFitness(EnvironmentState state) {
+    return loadBalancing.getFitness(freshChromosome(state));
+  }
+
+  @Benchmark
+  public double executionTimeFitness(EnvironmentState state) {
+    return executionTime.getFitness(freshChromosome(state));
+  }
+
+}
@@ -0,0 +1,321 @@
+/*
+ * Genetic Algorithm for Load Balancing
+ * Copyright (c) 2016-2017 Pedro Cuadra & Sudheera Reddy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Pedro Cuadra (pjcuadra@gmail.com)
+ *    Sudheera Reddy
+ */
+
+
+package de.dortmund.fh.pimes.gitlab.galob.alg.util;
+
+import de.dortmund.fh.pimes.gitlab.galob.alg.util.graph.Graph.CycleException;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Binary file format of a HCE. All values are little-endian;
+ *
+ * <ul>
+ * <li>Header: magic number, format version, number of tasks (n), number of executors (m) and
+ * number of dependencies (e), as 32-bit integers, plus 4 padding bytes.</li>
+ * <li>Expected time to compute matrix: n * m doubles, row by row.</li>
+ * <li>Successors in compressed sparse row form: n + 1 integer offsets followed by e integer
+ * destination tasks, padded to 8 bytes, and e double communication costs.</li>
+ * </ul>
+ *
+ * <p>Files are read and written through memory mapped buffers, so they can be shared between
+ * processes and loading only costs bulk copies.
+ *
+ * @author Pedro Cuadra
+ *
+ */
+public class EnvironmentFile {
+  /**
+   * Invalid file format exception.
+   */
+  public static class InvalidFormatException extends IOException {
+    /**
+     * Serial Version UID.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Constructor.
+     *
+     * @param message
+     *          description of the problem
+     */
+    public InvalidFormatException(String message) {
+      super(message);
+    }
+  }
+
+  /**
+   * Magic number ("GALB").
+   */
+  public static final int MAGIC = 0x47414C42;
+  /**
+   * Current format version.
+   */
+  public static final int VERSION = 1;
+  /**
+   * Size of the header in bytes.
+   */
+  private static final int HEADER_SIZE = 24;
+  /**
+   * Maximum file size in bytes, files are mapped at once.
+   */
+  private static final long MAX_FILE_SIZE = Integer.MAX_VALUE;
+
+  /**
+   * Constructor.
+   */
+  private EnvironmentFile() {
+  }
+
+  /**
+   * Get the size in bytes of a file.
+   *
+   * @param numTasks
+   *          number of tasks
+   * @param numExecutors
+   *          number of executors
+   * @param numEdges
+   *          number of dependencies
+   * @return file size in bytes
+   */
+  private static long getFileSize(int numTasks, int numExecutors, int numEdges) {
+    return getCostsOffset(numTasks, numExecutors, numEdges) + 8L * numEdges;
+  }
+
+  /**
+   * Get the position of the successors offsets in a file.
+   *
+   * @param numTasks
+   *          number of tasks
+   * @param numExecutors
+   *          number of executors
+   * @return position of the offsets in bytes
+   */
+  private static long getOffsetsOffset(int numTasks, int numExecutors) {
+    return HEADER_SIZE + 8L * numTasks * numExecutors;
+  }
+
+  /**
+   * Get the position of the communication costs in a file.
+   *
+   * @param numTasks
+   *          number of tasks
+   * @param numExecutors
+   *          number of executors
+   * @param numEdges
+   *          number of dependencies
+   * @return position of the costs in bytes
+   */
+  private static long getCostsOffset(int numTasks, int numExecutors, int numEdges) {
+    long position =
+        getOffsetsOffset(numTasks, numExecutors) + 4L * ((long) numTasks + 1 + numEdges);
+
+    // Align the doubles to 8 bytes
+    return (position + 7) & ~7L;
+  }
+
+  /**
+   * Write a HCE to a file. Existing files are overwritten.
+   *
+   * @param env
+   *          heterogeneous computing environment
+   * @param path
+   *          file path
+   * @throws IOException
+   *           if the file can't be written
+   */
+  public static void write(HeterogeneousComputingEnv env, Path path) throws IOException {
+    final int numTasks = env.getNumberOfTasks();
+    final int numExecutors = env.getNumberOfExecutors();
+    final int numEdges = env.getNumberOfDependencies();
+    final long size = getFileSize(numTasks, numExecutors, numEdges);
+
+    if (size > MAX_FILE_SIZE) {
+      throw new InvalidFormatException("HCE too big for a single mapping");
+    }
+
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+        StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ,
+        StandardOpenOption.WRITE)) {
+      MappedByteBuffer buffer = channel.map(MapMode.READ_WRITE, 0, size);
+      buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+      // Header
+      buffer.putInt(MAGIC).putInt(VERSION).putInt(numTasks).putInt(numExecutors).putInt(numEdges);
+      buffer.position(HEADER_SIZE);
+
+      // Expected time to compute matrix
+      DoubleBuffer etcBuffer = buffer.asDoubleBuffer();
+
+      for (double[] etcRow : env.getExpectedTimeToComputeMatrix()) {
+        etcBuffer.put(etcRow);
+      }
+
+      buffer.position((int) getOffsetsOffset(numTasks, numExecutors));
+
+      // Successors offsets and destinations
+      IntBuffer intBuffer = buffer.asIntBuffer();
+      int offset = 0;
+
+      for (int task = 0; task < numTasks; task++) {
+        intBuffer.put(offset);
+        offset += env.getNumberOfSuccessors(task);
+      }
+
+      intBuffer.put(offset);
+
+      for (int task = 0; task < numTasks; task++) {
+        for (int i = 0; i < env.getNumberOfSuccessors(task); i++) {
+          intBuffer.put(env.getSuccessor(task, i));
+        }
+      }
+
+      // Communication costs
+      buffer.position((int) getCostsOffset(numTasks, numExecutors, numEdges));
+      DoubleBuffer costBuffer = buffer.asDoubleBuffer();
+
+      for (int task = 0; task < numTasks; task++) {
+        for (int i = 0; i < env.getNumberOfSuccessors(task); i++) {
+          costBuffer.put(env.getSuccessorCost(task, i));
+        }
+      }
+
+      buffer.force();
+    }
+  }
+
+  /**
+   * Read a HCE from a file.
+   *
+   * @param path
+   *          file path
+   * @return heterogeneous computing environment
+   * @throws IOException
+   *           if the file can't be read or isn't a valid HCE file
+   */
+  public static HeterogeneousComputingEnv read(Path path) throws IOException {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      if (channel.size() < HEADER_SIZE) {
+        throw new InvalidFormatException("File too short");
+      }
+
+      if (channel.size() > MAX_FILE_SIZE) {
+        throw new InvalidFormatException("File too big for a single mapping");
+      }
+
+      MappedByteBuffer buffer = channel.map(MapMode.READ_ONLY, 0, channel.size());
+      buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+      // Header
+      if (buffer.getInt() != MAGIC) {
+        throw new InvalidFormatException("Not a HCE file");
+      }
+
+      int version = buffer.getInt();
+
+      if (version != VERSION) {
+        throw new InvalidFormatException("Unsupported version " + version);
+      }
+
+      final int numTasks = buffer.getInt();
+      final int numExecutors = buffer.getInt();
+      final int numEdges = buffer.getInt();
+
+      if (numTasks <= 0 || numExecutors <= 0 || numEdges < 0) {
+        throw new InvalidFormatException("Invalid dimensions");
+      }
+
+      if (channel.size() != getFileSize(numTasks, numExecutors, numEdges)) {
+        throw new InvalidFormatException("File size doesn't match the header");
+      }
+
+      buffer.position(HEADER_SIZE);
+
+      // Expected time to compute matrix
+      DoubleBuffer etcBuffer = buffer.asDoubleBuffer();
+      double[][] etc = new double[numTasks][numExecutors];
+
+      for (int task = 0; task < numTasks; task++) {
+        etcBuffer.get(etc[task]);
+      }
+
+      buffer.position((int) getOffsetsOffset(numTasks, numExecutors));
+
+      // Successors offsets and destinations
+      IntBuffer intBuffer = buffer.asIntBuffer();
+      int[] offsets = new int[numTasks + 1];
+      int[] destinations = new int[numEdges];
+
+      intBuffer.get(offsets);
+      intBuffer.get(destinations);
+
+      // Communication costs
+      buffer.position((int) getCostsOffset(numTasks, numExecutors, numEdges));
+      double[] costs = new double[numEdges];
+
+      buffer.asDoubleBuffer().get(costs);
+
+      // Offsets shall cover exactly all dependencies
+      if (offsets[0] != 0 || offsets[numTasks] != numEdges) {
+        throw new InvalidFormatException("Invalid successors offsets");
+      }
+
+      // Expand the offsets into the source of every dependency
+      int[] sources = new int[numEdges];
+
+      for (int task = 0; task < numTasks; task++) {
+        if (offsets[task] > offsets[task + 1] || offsets[task + 1] > numEdges) {
+          throw new InvalidFormatException("Invalid successors offsets");
+        }
+
+        for (int edge = offsets[task]; edge < offsets[task + 1]; edge++) {
+          if (destinations[edge] < 0 || destinations[edge] >= numTasks) {
+            throw new InvalidFormatException("Invalid dependency destination");
+          }
+
+          sources[edge] = task;
+        }
+      }
+
+      try {
+        return HeterogeneousComputingEnv.builder()
+            .etc(etc)
+            .dependencies(sources, destinations, costs)
+            .build();
+      } catch (CycleException e) {
+        throw new InvalidFormatException("Dependencies contain a cycle");
+      } catch (IllegalArgumentException e) {
+        throw new InvalidFormatException(e.getMessage());
+      }
+    }
+  }
+
+}
@@ -0,0 +1,241 @@
+/*
+ * Genetic Algorithm for Load Balancing
+ * Copyright (c) 2016-2017 Pedro Cuadra & Sudheera Reddy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Pedro Cuadra (pjcuadra@gmail.com)
+ *    Sudheera Reddy
+ */
+
+
+package de.dortmund.fh.pimes.gitlab.galob.alg.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded fitness cache keyed by schedule hash. It can be shared between threads. Entries are
+ * spread over independently locked segments, each one evicting its least recently used entries
+ * once full, so eviction is only approximately LRU for the whole cache.
+ *
+ * @author Pedro Cuadra
+ *
+ */
+public class FitnessCache {
+  /**
+   * Default maximum number of cached fitness values.
+   */
+  public static final int DEFAULT_MAX_SIZE = 1 << 14;
+  /**
+   * Maximum number of segments.
+   */
+  private static final int MAX_SEGMENTS = 16;
+  /**
+   * Minimum number of cached fitness values per segment. Smaller caches use fewer segments.
+   */
+  private static final int MIN_SEGMENT_SIZE = 256;
+
+  /**
+   * Segment of the cache. Schedule hash to fitness value mapping in access order, guarded by its
+   * own monitor.
+   */
+  private static final class Segment extends LinkedHashMap<Long, Double> {
+    /**
+     * Serial Version UID.
+     */
+    private static final long serialVersionUID = 1L;
+    /**
+     * Maximum number of cached fitness values of the segment.
+     */
+    private final int maxSize;
+
+    /**
+     * Constructor.
+     *
+     * @param maxSize
+     *          maximum number of cached fitness values of the segment
+     */
+    Segment(int maxSize) {
+      super(16, 0.75f, true);
+      this.maxSize = maxSize;
+    }
+
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<Long, Double> eldest) {
+      return size() > maxSize;
+    }
+  }
+
+  /**
+   * Maximum number of cached fitness values.
+   */
+  private final int maxSize;
+  /**
+   * Segments of the cache (a power of two).
+   */
+  private final Segment[] segments;
+  /**
+   * Number of cache hits.
+   */
+  private final LongAdder hits = new LongAdder();
+  /**
+   * Number of cache misses.
+   */
+  private final LongAdder misses = new LongAdder();
+
+  /**
+   * Constructor.
+   *
+   * @param maxSize
+   *          maximum number of cached fitness values
+   */
+  public FitnessCache(int maxSize) {
+    assert maxSize > 0 : "Cache size must be positive";
+
+    int numSegments = 1;
+
+    while (numSegments < MAX_SEGMENTS && maxSize / (2 * numSegments) >= MIN_SEGMENT_SIZE) {
+      numSegments *= 2;
+    }
+
+    this.maxSize = maxSize;
+    this.segments = new Segment[numSegments];
+
+    // Spread the remainder so the segments add up to the maximum size
+    for (int i = 0; i < numSegments; i++) {
+      segments[i] = new Segment(maxSize / numSegments + (i < maxSize % numSegments ? 1 : 0));
+    }
+  }
+
+  /**
+   * Constructor with default maximum size.
+   */
+  public FitnessCache() {
+    this(DEFAULT_MAX_SIZE);
+  }
+
+  /**
+   * Get the segment of a schedule.
+   *
+   * @param scheduleHash
+   *          schedule hash
+   * @return segment holding the schedule's fitness
+   */
+  private Segment segmentOf(long scheduleHash) {
+    // Mix the hash so the high bits pick the segment
+    long mixed = scheduleHash * 0x9E3779B97F4A7C15L;
+
+    return segments[(int) (mixed >>> 32) & (segments.length - 1)];
+  }
+
+  /**
+   * Get the cached fitness of a schedule.
+   *
+   * @param scheduleHash
+   *          schedule hash
+   * @return fitness value or null if not cached
+   */
+  public Double get(long scheduleHash) {
+    Segment segment = segmentOf(scheduleHash);
+    Double fitness;
+
+    synchronized (segment) {
+      fitness = segment.get(scheduleHash);
+    }
+
+    if (fitness == null) {
+      misses.increment();
+    } else {
+      hits.increment();
+    }
+
+    return fitness;
+  }
+
+  /**
+   * Cache the fitness of a schedule.
+   *
+   * @param scheduleHash
+   *          schedule hash
+   * @param fitness
+   *          fitness value
+   */
+  public void put(long scheduleHash, Double fitness) {
+    assert fitness != null : "Fitness is null";
+
+    Segment segment = segmentOf(scheduleHash);
+
+    synchronized (segment) {
+      segment.put(scheduleHash, fitness);
+    }
+  }
+
+  /**
+   * Remove all cached fitness values.
+   */
+  public void clear() {
+    for (Segment segment : segments) {
+      synchronized (segment) {
+        segment.clear();
+      }
+    }
+  }
+
+  /**
+   * Get the number of cached fitness values.
+   *
+   * @return number of cached fitness values
+   */
+  public int size() {
+    int size = 0;
+
+    for (Segment segment : segments) {
+      synchronized (segment) {
+        size += segment.size();
+      }
+    }
+
+    return size;
+  }
+
+  /**
+   * Get the maximum number of cached fitness values.
+   *
+   * @return maximum number of cached fitness values
+   */
+  public int getMaxSize() {
+    return maxSize;
+  }
+
+  /**
+   * Get the number of cache hits.
+   *
+   * @return number of cache hits
+   */
+  public long getHits() {
+    return hits.sum();
+  }
+
+  /**
+   * Get the number of cache misses.
+   *
+   * @return number of cache misses
+   */
+  public long getMisses() {
+    return misses.sum();
+  }
+
+}
@@ -0,0 +1,239 @@
+/*
+ * Genetic Algorithm for Load Balancing
+ * Copyright (c) 2016-2017 Pedro Cuadra & Sudheera Reddy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Pedro Cuadra (pjcuadra@gmail.com)
+ *    Sudheera Reddy
+ */
+
+package de.dortmund.fh.pimes.gitlab.galob.alg.util;
+
+import de.dortmund.fh.pimes.gitlab.galob.alg.util.jenetics.ScheduleChromosome;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Graph statistics factory.
+ *
+ * @author Pedro Cuadra
+ *
+ */
+public abstract class FitnessCalculator {
+  /**
+   * Fitness cache bound to the evaluator of the HCE its values were calculated with.
+   */
+  private static final class CacheBinding {
+    /**
+     * Fitness cache.
+     */
+    private final FitnessCache cache;
+    /**
+     * Evaluator of the HCE the cached fitness values were calculated with (null if not bound yet).
+     */
+    private final ScheduleEvaluator evaluator;
+
+    /**
+     * Constructor.
+     *
+     * @param cache
+     *          fitness cache
+     * @param evaluator
+     *          evaluator of the HCE the cached fitness values were calculated with
+     */
+    CacheBinding(FitnessCache cache, ScheduleEvaluator evaluator) {
+      this.cache = cache;
+      this.evaluator = evaluator;
+    }
+  }
+
+  /**
+   * Graph stats factory.
+   */
+  private StatsFactory statsFactory;
+  /**
+   * Heterogeneous computing environment.
+   */
+  private HeterogeneousComputingEnv env;
+  /**
+   * Fitness cache and its evaluator (null if caching is disabled).
+   */
+  private final AtomicReference<CacheBinding> cacheBinding =
+      new AtomicReference<CacheBinding>(new CacheBinding(new FitnessCache(), null));
+
+  /**
+   * Constructor.
+   *
+   * @param env
+   *          heterogeneous computing environment
+   */
+  public FitnessCalculator(HeterogeneousComputingEnv env) {
+    this.env = env;
+    setStatsFactory(new StatsFactory(env, this));
+  }
+
+  /**
+   * Get fitness value of the chromosome. Schedules already evaluated are looked up in the fitness
+   * cache.
+   *
+   * @param chromosome
+   *          chromosome
+   * @return fitness value
+   */
+  public Double getFitness(ScheduleChromosome chromosome) {
+    // Stats are lazy so attaching them is cheap even on cache hits
+    this.getGraphStatsFactory().ofChromosome(chromosome);
+
+    FitnessCache cache = getValidFitnessCache(chromosome);
+
+    if (cache == null) {
+      return calcFitness(chromosome);
+    }
+
+    Double fitness = cache.get(chromosome.getScheduleHash());
+
+    if (fitness == null) {
+      fitness = calcFitness(chromosome);
+      cache.put(chromosome.getScheduleHash(), fitness);
+    }
+
+    return fitness;
+  }
+
+  /**
+   * Get fitness value of a chromosome obtained by swapping two genes of another chromosome. Both
+   * chromosomes get their stats attached, the swapped one is only re-simulated from the first
+   * swapped locus on.
+   *
+   * @param oldChromosome
+   *          original chromosome
+   * @param newChromosome
+   *          chromosome with the genes at both loci swapped
+   * @param firstLocus
+   *          locus of the first swapped gene
+   * @param secondLocus
+   *          locus of the second swapped gene
+   * @return fitness value of the swapped chromosome
+   */
+  public Double getSwappedFitness(ScheduleChromosome oldChromosome,
+      ScheduleChromosome newChromosome, int firstLocus, int secondLocus) {
+    FitnessCache cache = getValidFitnessCache(newChromosome);
+
+    if (cache == null) {
+      this.getGraphStatsFactory().ofSwap(oldChromosome, newChromosome, firstLocus, secondLocus);
+      return calcFitness(newChromosome);
+    }
+
+    Double fitness = cache.get(newChromosome.getScheduleHash());
+
+    if (fitness != null) {
+      this.getGraphStatsFactory().ofChromosome(newChromosome);
+      return fitness;
+    }
+
+    this.getGraphStatsFactory().ofSwap(oldChromosome, newChromosome, firstLocus, secondLocus);
+    fitness = calcFitness(newChromosome);
+    cache.put(newChromosome.getScheduleHash(), fitness);
+
+    return fitness;
+  }
+
+  /**
+   * Get the fitness cache. A modified HCE gets a new empty cache, so the returned one may be
+   * replaced on the next evaluation.
+   *
+   * @return fitness cache (null if disabled)
+   */
+  public FitnessCache getFitnessCache() {
+    CacheBinding binding = cacheBinding.get();
+
+    return binding == null ? null : binding.cache;
+  }
+
+  /**
+   * Set the fitness cache.
+   *
+   * @param fitnessCache
+   *          fitness cache (null to disable caching)
+   */
+  public void setFitnessCache(FitnessCache fitnessCache) {
+    cacheBinding.set(fitnessCache == null ? null : new CacheBinding(fitnessCache, null));
+  }
+
+  /**
+   * Get the fitness cache, swapping in an empty one if the HCE changed since its values were
+   * calculated. Threads still holding the replaced cache can't pollute the new one.
+   *
+   * @param chromosome
+   *          chromosome to be evaluated
+   * @return fitness cache (null if disabled or if the chromosome belongs to another HCE)
+   */
+  private FitnessCache getValidFitnessCache(ScheduleChromosome chromosome) {
+    CacheBinding binding = cacheBinding.get();
+
+    // Cached values are only meaningful for the calculator's HCE
+    if (binding == null || chromosome.getEnvironment() != env) {
+      return null;
+    }
+
+    ScheduleEvaluator evaluator = env.getScheduleEvaluator();
+
+    // A new evaluator means the HCE was modified, newly set caches are bound on first use
+    while (binding != null && binding.evaluator != evaluator) {
+      FitnessCache cache = binding.evaluator == null ? binding.cache
+          : new FitnessCache(binding.cache.getMaxSize());
+      CacheBinding rebound = new CacheBinding(cache, evaluator);
+
+      if (cacheBinding.compareAndSet(binding, rebound)) {
+        return cache;
+      }
+
+      binding = cacheBinding.get();
+    }
+
+    return binding == null ? null : binding.cache;
+  }
+
+  /**
+   * Calculate fitness function.
+   *
+   * @param chromosome
+   *          chromosome
+   * @return fitness value
+   */
+  protected abstract Double calcFitness(ScheduleChromosome chromosome);
+
+  /**
+   * Get graph stats factory.
+   *
+   * @return graph stats factory
+   */
+  private StatsFactory getGraphStatsFactory() {
+    return statsFactory;
+  }
+
+  /**
+   * Set graph stats factory.
+   *
+   * @param gsf
+   *          graph stats factory
+   */
+  private void setStatsFactory(StatsFactory gsf) {
+    assert gsf != null;
+
+    this.statsFactory = gsf;
+  }
+
+}
@@ -0,0 +1,136 @@
+/*
+ * Genetic Algorithm for Load Balancing
+ * Copyright (c) 2016-2017 Pedro Cuadra & Sudheera Reddy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Pedro Cuadra (pjcuadra@gmail.com)
+ *    Sudheera Reddy
+ */
+
+
+package de.dortmund.fh.pimes.gitlab.galob.alg.util;
+
+import java.util.Arrays;
+
+/**
+ * Growable array of primitive integers. Avoids boxing when collecting large lists of indexes.
+ *
+ * @author Pedro Cuadra
+ *
+ */
+public class GrowableIntArray {
+  /**
+   * Default initial capacity.
+   */
+  private static final int DEFAULT_CAPACITY = 16;
+  /**
+   * Values storage.
+   */
+  private int[] values;
+  /**
+   * Number of values.
+   */
+  private int size;
+
+  /**
+   * Constructor.
+   */
+  public GrowableIntArray() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param capacity
+   *          initial capacity
+   */
+  public GrowableIntArray(int capacity) {
+    assert capacity > 0 : "Capacity shall be greater than 0";
+
+    this.values = new int[capacity];
+    this.size = 0;
+  }
+
+  /**
+   * Append a value.
+   *
+   * @param value
+   *          value
+   */
+  public void add(int value) {
+    // Grow by half of the current capacity
+    if (size == values.length) {
+      values = Arrays.copyOf(values, values.length + (values.length >> 1) + 1);
+    }
+
+    values[size++] = value;
+  }
+
+  /**
+   * Get a value.
+   *
+   * @param index
+   *          index of the value
+   * @return value
+   */
+  public int get(int index) {
+    assert index < size : "Index out of bound";
+
+    return values[index];
+  }
+
+  /**
+   * Replace a value.
+   *
+   * @param index
+   *          index of the value
+   * @param value
+   *          new value
+   */
+  public void set(int index, int value) {
+    assert index < size : "Index out of bound";
+
+    values[index] = value;
+  }
+
+  /**
+   * Get the last value.
+   *
+   * @return last value
+   */
+  public int getLast() {
+    return get(size - 1);
+  }
+
+  /**
+   * Get the number of values.
+   *
+   * @return number of values
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Get a copy of the values.
+   *
+   * @return array with the values
+   */
+  public int[] toArray() {
+    return Arrays.copyOf(values, size);
+  }
+
+}
@@ -0,0 +1,788 @@
+/*
+ * Genetic Algorithm for Load Balancing
+ * Copyright (c) 2016-2017 Pedro Cuadra & Sudheera Reddy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Pedro Cuadra (pjcuadra@gmail.com)
+ *    Sudheera Reddy
+ */
+
+package de.dortmund.fh.pimes.gitlab.galob.alg.util;
+
+import de.dortmund.fh.pimes.gitlab.galob.alg.util.graph.Graph;
+import de.dortmund.fh.pimes.gitlab.galob.alg.util.graph.GraphNode;
+import de.dortmund.fh.pimes.gitlab.galob.alg.util.jenetics.ScheduleAlleleTable;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.stream.DoubleStream;
+
+/**
+ * Heterogeneous Computing Environment.
+ *
+ * @author Pedro Cuadra
+ *
+ */
+public class HeterogeneousComputingEnv extends Graph {
+  /**
+   * Serial ID.
+   */
+  private static final long serialVersionUID = 11L;
+
+  /**
+   * Generates a completely random heterogeneous computing environment.
+   *
+   * @param numTasks
+   *          number of tasks
+   * @param numCores
+   *          number of cores
+   * @param maxProvided
+   *          numTasks and numCores are maximum values if true or exact values if false
+   * @return random heterogeneous computing environment
+   */
+  public static HeterogeneousComputingEnv ofRandom(
+      int numTasks,
+      int numCores,
+      boolean maxProvided) {
+    return Util.ofRandom(numTasks, numCores, maxProvided, new RandomProvider());
+  }
+
+  /**
+   * Generates a reproducible random heterogeneous computing environment. The HCE keeps using a
+   * provider with the same seed for its scheduling operators.
+   *
+   * @param numTasks
+   *          number of tasks
+   * @param numCores
+   *          number of cores
+   * @param maxProvided
+   *          numTasks and numCores are maximum values if true or exact values if false
+   * @param seed
+   *          master seed
+   * @return random heterogeneous computing environment
+   */
+  public static HeterogeneousComputingEnv ofRandom(
+      int numTasks,
+      int numCores,
+      boolean maxProvided,
+      long seed) {
+    return Util.ofRandom(numTasks, numCores, maxProvided, new RandomProvider(seed));
+  }
+
+  /**
+   * Generates a random heterogeneous computing environment with: unit execution time, unit
+   * communication costs and random dependencies.
+   *
+   * @param numTasks
+   *          number of tasks
+   * @param numCores
+   *          number of cores
+   * @return random heterogeneous computing environment
+   */
+  public static HeterogeneousComputingEnv ofRandomUnitary(
+      int numTasks,
+      int numCores,
+      boolean maxProvided) {
+    return Util.ofRandomUnitary(numTasks, numCores, maxProvided, new RandomProvider());
+  }
+
+  /**
+   * Load a heterogeneous computing environment from a binary file.
+   *
+   * @param path
+   *          file path
+   * @return heterogeneous computing environment
+   * @throws IOException
+   *           if the file can't be read or isn't a valid HCE file
+   * @see EnvironmentFile
+   */
+  public static HeterogeneousComputingEnv ofFile(Path path) throws IOException {
+    return EnvironmentFile.read(path);
+  }
+
+  /**
+   * Create a builder to construct a whole HCE at once.
+   *
+   * @return HCE builder
+   */
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Builder of a HCE from an expected time to compute matrix and an edge list. The adjacency lists
+   * and the graph are filled in one pass from the arrays and the graph is checked for cycles only
+   * once.
+   */
+  public static class Builder {
+    /**
+     * Expected time to compute matrix.
+     */
+    private double[][] etc;
+    /**
+     * Source task of every dependency.
+     */
+    private int[] sources = new int[0];
+    /**
+     * Destination task of every dependency.
+     */
+    private int[] destinations = new int[0];
+    /**
+     * Communication cost of every dependency.
+     */
+    private double[] costs = new double[0];
+
+    /**
+     * Constructor.
+     */
+    private Builder() {
+    }
+
+    /**
+     * Set the expected time to compute matrix. Row i holds the expected time to compute of task i
+     * on every executor. The HCE takes ownership of the matrix, so it shall not be modified after
+     * building.
+     *
+     * @param etc
+     *          expected time to compute matrix
+     * @return this builder
+     * @throws IllegalArgumentException
+     *           if the matrix is empty or its rows are empty or of different lengths
+     */
+    public Builder etc(double[][] etc) {
+      if (etc == null || etc.length == 0) {
+        throw new IllegalArgumentException("Number of tasks shall be greater than 0");
+      }
+
+      for (double[] row : etc) {
+        if (row == null || row.length == 0 || row.length != etc[0].length) {
+          throw new IllegalArgumentException("ETC rows shall have the same non-zero length");
+        }
+      }
+
+      this.etc = etc;
+      return this;
+    }
+
+    /**
+     * Set the dependencies as an edge list. Dependency i goes from task sources[i] to task
+     * destinations[i] with communication cost costs[i]. Self dependencies are ignored and
+     * multiple dependencies between the same tasks are merged summing their costs.
+     *
+     * @param sources
+     *          source task of every dependency
+     * @param destinations
+     *          destination task of every dependency
+     * @param costs
+     *          communication cost of every dependency
+     * @return this builder
+     * @throws IllegalArgumentException
+     *           if the arrays have different lengths
+     */
+    public Builder dependencies(int[] sources, int[] destinations, double[] costs) {
+      if (sources == null || destinations == null || costs == null) {
+        throw new IllegalArgumentException("Null edge list array");
+      }
+
+      if (sources.length != destinations.length || sources.length != costs.length) {
+        throw new IllegalArgumentException("Edge list arrays with different sizes");
+      }
+
+      this.sources = sources;
+      this.destinations = destinations;
+      this.costs = costs;
+      return this;
+    }
+
+    /**
+     * Build the HCE.
+     *
+     * @return heterogeneous computing environment
+     * @throws IllegalArgumentException
+     *           if no expected time to compute matrix was set or a dependency refers to a task
+     *           out of range
+     * @throws CycleException
+     *           if the dependencies contain a cycle
+     */
+    public HeterogeneousComputingEnv build() {
+      if (etc == null) {
+        throw new IllegalArgumentException("No expected time to compute matrix provided");
+      }
+
+      TaskAdjacency successors = new TaskAdjacency(etc.length);
+      TaskAdjacency predecessors = new TaskAdjacency(etc.length);
+
+      for (int i = 0; i < sources.length; i++) {
+        int src = sources[i];
+        int dst = destinations[i];
+
+        if (src < 0 || src >= etc.length || dst < 0 || dst >= etc.length) {
+          throw new IllegalArgumentException("Dependency " + i + " refers to an invalid task");
+        }
+
+        if (src == dst) {
+          continue;
+        }
+
+        successors.append(src, dst, costs[i]);
+        predecessors.append(dst, src, costs[i]);
+      }
+
+      // Merge multiple dependencies once for the whole edge list
+      successors.mergeDuplicates();
+      predecessors.mergeDuplicates();
+
+      HeterogeneousComputingEnv env = new HeterogeneousComputingEnv(etc, successors, predecessors);
+
+      if (env.checkCycles()) {
+        throw new CycleException();
+      }
+
+      return env;
+    }
+  }
+
+  /**
+   * Successors of every task with their communication costs.
+   */
+  private TaskAdjacency successors;
+  /**
+   * Predecessors of every task with their communication costs.
+   */
+  private TaskAdjacency predecessors;
+  /**
+   * Expected time to compute matrix.
+   */
+  private double[][] etc;
+
+  /**
+   * Simulated Annealing.
+   */
+  private SimulatedAnnealing simAnn;
+
+  /**
+   * Compiled schedule evaluator (built on demand).
+   */
+  private transient volatile ScheduleEvaluator evaluator;
+  /**
+   * Interned alleles of the HCE (built on demand).
+   */
+  private transient volatile ScheduleAlleleTable alleleTable;
+
+  /**
+   * Random numbers source of the scheduling operators (created on demand).
+   */
+  private transient volatile RandomProvider randomProvider;
+
+  /**
+   * Add tasks counter.
+   */
+  private int addedTasks;
+
+  /**
+   * Constructor.
+   *
+   * @param numTask
+   *          number of tasks of the HCE
+   * @param numCore
+   *          number of cores available in the HCE
+   */
+  public HeterogeneousComputingEnv(int numTask, int numCore) {
+    super();
+
+    assert numTask > 0 : "Number of tasks shall be greater than 0";
+    assert numCore > 0 : "Number of cores shall be greater than 0";
+
+    // Initalize empty dependencies, memory grows with the number of dependencies
+    this.successors = new TaskAdjacency(numTask);
+    this.predecessors = new TaskAdjacency(numTask);
+    this.etc = Util.createEmptyMatrix(numTask, numCore);
+
+    // Set added tasks counter to zero
+    this.addedTasks = 0;
+
+  }
+
+  /**
+   * Constructor of a whole HCE. The graph is filled from the adjacency lists in a single bulk
+   * load.
+   *
+   * @param etc
+   *          expected time to compute matrix (owned by the HCE)
+   * @param successors
+   *          successors of every task without multiple dependencies
+   * @param predecessors
+   *          predecessors of every task without multiple dependencies
+   */
+  private HeterogeneousComputingEnv(double[][] etc, TaskAdjacency successors,
+      TaskAdjacency predecessors) {
+    super();
+
+    this.successors = successors;
+    this.predecessors = predecessors;
+    this.etc = etc;
+
+    GraphNode[] tasks = new GraphNode[etc.length];
+
+    for (int i = 0; i < etc.length; i++) {
+      tasks[i] = new GraphNode(i, etc[i]);
+      addVertex(tasks[i]);
+    }
+
+    this.addedTasks = etc.length;
+
+    // Adjacency lists are already merged, so only the graph is loaded
+    startBulkLoad();
+
+    for (int src = 0; src < etc.length; src++) {
+      for (int i = 0; i < successors.size(src); i++) {
+        addUniqueDependency(tasks[src], tasks[successors.getTask(src, i)],
+            successors.getCost(src, i));
+      }
+    }
+
+    super.finishBulkLoad();
+  }
+
+  /**
+   * Wrapper of add vertex to allow to add task to the graph.
+   *
+   * @param etcPerCore
+   *          array containing the expected computing time for every core
+   */
+  public GraphNode addTask(double[] etcPerCore) {
+    // Verify parameters
+    assert this.addedTasks < getNumberOfTasks() : "Tasks limit has been reached";
+    assert etcPerCore.length == getNumberOfExecutors() : "ETC per core array with wrong size";
+
+    // Copy the ETC row to matrix
+    etc[this.addedTasks] = etcPerCore.clone();
+
+    // Create the task node
+    GraphNode taskNode = new GraphNode(this.addedTasks, etc[this.addedTasks]);
+
+    // Add the task as vertex to the graph
+    addVertex(taskNode);
+
+    // Increase the task id counter
+    this.addedTasks++;
+
+    // Force evaluator rebuild
+    this.evaluator = null;
+
+    return taskNode;
+  }
+
+  /**
+   * Add a task with expected computing time equals to 1.
+   */
+  public GraphNode addUnitExecutionTimeTask() {
+    double[] etcRow;
+
+    // Create ones row
+    etcRow = DoubleStream.generate(() -> 1).limit(getNumberOfExecutors()).toArray();
+
+    return addTask(etcRow);
+  }
+
+  /*
+   * (non-Javadoc)
+   *
+   * @see alg.util.graph.Graph#addDependency(alg.util.graph.GraphNode, alg.util.graph.GraphNode,
+   * double)
+   */
+  @Override
+  public void addDependency(GraphNode nodeSrc, GraphNode nodeDst, double cost) {
+
+    // Verify parameters
+    assert containsVertex(nodeSrc) : "Invalid task node";
+    assert containsVertex(nodeDst) : "Invalid task node";
+
+    if (nodeSrc.getTaskId() == nodeDst.getTaskId()) {
+      return;
+    }
+
+    // Add dependency to the graph
+    super.addDependency(nodeSrc, nodeDst, cost);
+
+    // Add dependency to the adjacency lists, bulk loads merge multiple dependencies at the end
+    if (isBulkLoading()) {
+      this.successors.append(nodeSrc.getTaskId(), nodeDst.getTaskId(), cost);
+      this.predecessors.append(nodeDst.getTaskId(), nodeSrc.getTaskId(), cost);
+    } else {
+      this.successors.add(nodeSrc.getTaskId(), nodeDst.getTaskId(), cost);
+      this.predecessors.add(nodeDst.getTaskId(), nodeSrc.getTaskId(), cost);
+    }
+
+    // Force evaluator rebuild
+    this.evaluator = null;
+
+  }
+
+  /**
+   * Finish loading dependencies in bulk. Multiple dependencies between the same tasks are merged
+   * once for all adjacency lists, so dependency queries aren't reliable until then.
+   */
+  @Override
+  public void finishBulkLoad() {
+    this.successors.mergeDuplicates();
+    this.predecessors.mergeDuplicates();
+
+    super.finishBulkLoad();
+  }
+
+  /**
+   * Remove dependency.
+   *
+   * @param nodeSrc
+   *          source node
+   * @param nodeDst
+   *          destination node
+   */
+  @Override
+  public void removeDependency(GraphNode nodeSrc, GraphNode nodeDst) {
+    // Delete dependency from the adjacency lists
+    this.successors.remove(nodeSrc.getTaskId(), nodeDst.getTaskId());
+    this.predecessors.remove(nodeDst.getTaskId(), nodeSrc.getTaskId());
+
+    // Force evaluator rebuild
+    this.evaluator = null;
+
+    super.removeDependency(nodeSrc, nodeDst);
+  }
+
+  /**
+   * Get the dense communication costs matrix. It's built on demand from the adjacency lists and
+   * requires n^2 memory, prefer iterating over predecessors or successors.
+   *
+   * @return a copy of the communication costs matrix
+   */
+  public double[][] getCommunicationCostsMatrix() {
+    assert this.addedTasks > 0 : "No tasks added to the HCE";
+
+    double[][] commCost = Util.createEmptyMatrix(getNumberOfTasks(), getNumberOfTasks());
+
+    for (int src = 0; src < getNumberOfTasks(); src++) {
+      for (int i = 0; i < successors.size(src); i++) {
+        commCost[src][successors.getTask(src, i)] = successors.getCost(src, i);
+      }
+    }
+
+    return commCost;
+  }
+
+  /**
+   * Get the dense dependency matrix. It's built on demand from the adjacency lists and requires
+   * n^2 memory, prefer iterating over predecessors or successors.
+   *
+   * @return a copy of the dependency matrix
+   */
+  public double[][] getDependencyMatrix() {
+    assert this.addedTasks > 0 : "No tasks added to the HCE";
+
+    double[][] delta = Util.createEmptyMatrix(getNumberOfTasks(), getNumberOfTasks());
+
+    for (int src = 0; src < getNumberOfTasks(); src++) {
+      for (int i = 0; i < successors.size(src); i++) {
+        delta[src][successors.getTask(src, i)] = 1;
+      }
+    }
+
+    return delta;
+  }
+
+  /**
+   * Get the number of dependencies of the HCE.
+   *
+   * @return number of dependencies
+   */
+  public int getNumberOfDependencies() {
+    return successors.size();
+  }
+
+  /**
+   * Check if a task depends on another one.
+   *
+   * @param srcTaskId
+   *          source task ID
+   * @param dstTaskId
+   *          destination task ID
+   * @return true if the destination task depends on the source task
+   */
+  public boolean hasDependency(int srcTaskId, int dstTaskId) {
+    return successors.indexOf(srcTaskId, dstTaskId) >= 0;
+  }
+
+  /**
+   * Get the communication cost of a dependency.
+   *
+   * @param srcTaskId
+   *          source task ID
+   * @param dstTaskId
+   *          destination task ID
+   * @return communication cost (0 if there is no dependency)
+   */
+  public double getCommunicationCost(int srcTaskId, int dstTaskId) {
+    int index = successors.indexOf(srcTaskId, dstTaskId);
+
+    if (index < 0) {
+      return 0;
+    }
+
+    return successors.getCost(srcTaskId, index);
+  }
+
+  /**
+   * Get the number of predecessors of a task.
+   *
+   * @param taskId
+   *          task ID
+   * @return number of predecessors
+   */
+  public int getNumberOfPredecessors(int taskId) {
+    return predecessors.size(taskId);
+  }
+
+  /**
+   * Get a predecessor of a task.
+   *
+   * @param taskId
+   *          task ID
+   * @param index
+   *          index of the predecessor (from 0 to getNumberOfPredecessors(taskId) - 1)
+   * @return predecessor task ID
+   */
+  public int getPredecessor(int taskId, int index) {
+    return predecessors.getTask(taskId, index);
+  }
+
+  /**
+   * Get the communication cost from a predecessor of a task.
+   *
+   * @param taskId
+   *          task ID
+   * @param index
+   *          index of the predecessor (from 0 to getNumberOfPredecessors(taskId) - 1)
+   * @return communication cost
+   */
+  public double getPredecessorCost(int taskId, int index) {
+    return predecessors.getCost(taskId, index);
+  }
+
+  /**
+   * Get the number of successors of a task.
+   *
+   * @param taskId
+   *          task ID
+   * @return number of successors
+   */
+  public int getNumberOfSuccessors(int taskId) {
+    return successors.size(taskId);
+  }
+
+  /**
+   * Get a successor of a task.
+   *
+   * @param taskId
+   *          task ID
+   * @param index
+   *          index of the successor (from 0 to getNumberOfSuccessors(taskId) - 1)
+   * @return successor task ID
+   */
+  public int getSuccessor(int taskId, int index) {
+    return successors.getTask(taskId, index);
+  }
+
+  /**
+   * Get the communication cost to a successor of a task.
+   *
+   * @param taskId
+   *          task ID
+   * @param index
+   *          index of the successor (from 0 to getNumberOfSuccessors(taskId) - 1)
+   * @return communication cost
+   */
+  public double getSuccessorCost(int taskId, int index) {
+    return successors.getCost(taskId, index);
+  }
+
+  /**
+   * Get a copy of the expected time to compute matrix.
+   *
+   * @return a copy of the expected time to compute matrix
+   */
+  public double[][] getExpectedTimeToComputeMatrix() {
+    assert this.addedTasks > 0 : "No tasks added to the HCE";
+    return Util.copyMatrix(etc);
+  }
+
+  /**
+   * Get a copy of the graph representation of the HCE.
+   *
+   * @return copy of graph representation of the HCE
+   */
+  public Graph getGraphCopy() {
+    assert this.addedTasks > 0 : "No tasks added to the HCE";
+    return ((Graph) this).clone();
+  }
+
+  /**
+   * Get graph node by it's internal id. (For testing)
+   *
+   * @param id
+   *          id of the task
+   * @return graph node with given id
+   */
+  @Override
+  public GraphNode getGraphNodeById(int id) {
+    return super.getGraphNodeById(id);
+  }
+
+  /**
+   * Store the heterogeneous computing environment in a binary file.
+   *
+   * @param path
+   *          file path
+   * @throws IOException
+   *           if the file can't be written
+   * @see EnvironmentFile
+   */
+  public void toFile(Path path) throws IOException {
+    EnvironmentFile.write(this, path);
+  }
+
+  /**
+   * Get the number of executors in the HCE.
+   *
+   * @return number of executors in the HCE
+   */
+  public int getNumberOfExecutors() {
+    return etc[0].length;
+  }
+
+  /**
+   * Get the number of tasks in the HCE.
+   *
+   * @return number of tasks in the HCE
+   */
+  public int getNumberOfTasks() {
+    return etc.length;
+  }
+
+  /**
+   * Get the table of interned alleles of the HCE. Number of tasks and executors are fixed at
+   * construction, so the table is never rebuilt.
+   *
+   * @return allele table
+   */
+  public ScheduleAlleleTable getAlleleTable() {
+    ScheduleAlleleTable table = alleleTable;
+
+    if (table == null) {
+      synchronized (this) {
+        table = alleleTable;
+
+        if (table == null) {
+          table = new ScheduleAlleleTable(getNumberOfTasks(), getNumberOfExecutors());
+          alleleTable = table;
+        }
+      }
+    }
+
+    return table;
+  }
+
+  /**
+   * Get the compiled schedule evaluator of the HCE. It's built once and reused until the HCE
+   * changes. The evaluator can be shared between threads.
+   *
+   * @return schedule evaluator
+   */
+  public ScheduleEvaluator getScheduleEvaluator() {
+    ScheduleEvaluator compiled = evaluator;
+
+    // Concurrent builds are harmless, the evaluator is immutable
+    if (compiled == null) {
+      compiled = new ScheduleEvaluator(this);
+      evaluator = compiled;
+    }
+
+    return compiled;
+  }
+
+  /**
+   * Get the random numbers source of the scheduling operators. A randomly seeded provider is
+   * created if none was set.
+   *
+   * @return random numbers provider
+   */
+  public RandomProvider getRandomProvider() {
+    RandomProvider provider = randomProvider;
+
+    if (provider == null) {
+      synchronized (this) {
+        provider = randomProvider;
+
+        if (provider == null) {
+          provider = new RandomProvider();
+          randomProvider = provider;
+        }
+      }
+    }
+
+    return provider;
+  }
+
+  /**
+   * Set the random numbers source of the scheduling operators. Use a seeded provider for
+   * reproducible runs.
+   *
+   * @param randomProvider
+   *          random numbers provider
+   */
+  public void setRandomProvider(RandomProvider randomProvider) {
+    assert randomProvider != null : "Null parameter";
+    this.randomProvider = randomProvider;
+  }
+
+  /**
+   * Get the simulated annealing object.
+   *
+   * @return simulated annealing object
+   */
+  public SimulatedAnnealing getSimulatedAnnealing() {
+    return simAnn;
+  }
+
+  /**
+   * Get the enable state of simulated annealing.
+   *
+   * @return true if simulated annealing is enabled
+   */
+  public boolean getSimulatedAnnealingEnabled() {
+    return simAnn != null;
+  }
+
+  /**
+   * Set the simulated annealing to be used in the HCE.
+   *
+   * @param simAnn
+   *          simulated annealing object
+   */
+  public void setSimulatedAnnealing(SimulatedAnnealing simAnn) {
+    assert simAnn != null : "Null parameter";
+    this.simAnn = simAnn;
+  }
+}
@@ -0,0 +1,210 @@
+/*
+ * Genetic Algorithm for Load Balancing
+ * Copyright (c) 2016-2017 Pedro Cuadra & Sudheera Reddy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Pedro Cuadra (pjcuadra@gmail.com)
+ *    Sudheera Reddy
+ */
+
+
+package de.dortmund.fh.pimes.gitlab.galob.alg.util;
+
+import java.util.Random;
+import java.util.SplittableRandom;
+
+/**
+ * Source of random numbers for the scheduling operators. Every thread gets its own stream split
+ * from a master generator, so threads never contend for a shared seed. Runs are reproducible
+ * given the same master seed and the same assignment of work to threads (e.g. a single threaded
+ * executor). Units of work moving between threads can split their own streams in a fixed order
+ * with {@link #newRandom()} and bind them to the thread running them with
+ * {@link #setRandom(Random)}.
+ *
+ * @author Pedro Cuadra
+ *
+ */
+public class RandomProvider {
+  /**
+   * Random stream of a single thread.
+   */
+  private static class SplittableStream extends Random {
+    /**
+     * Serial Version UID.
+     */
+    private static final long serialVersionUID = 1L;
+    /**
+     * Underlying stream.
+     */
+    private final SplittableRandom stream;
+    /**
+     * Epoch of the master generator the stream was split from.
+     */
+    private final int epoch;
+
+    /**
+     * Constructor.
+     *
+     * @param stream
+     *          underlying stream
+     * @param epoch
+     *          epoch of the master generator
+     */
+    SplittableStream(SplittableRandom stream, int epoch) {
+      // Seeded constructor doesn't touch the global seed uniquifier
+      super(0);
+      this.stream = stream;
+      this.epoch = epoch;
+    }
+
+    @Override
+    protected int next(int bits) {
+      return stream.nextInt() >>> (32 - bits);
+    }
+
+    @Override
+    public int nextInt() {
+      return stream.nextInt();
+    }
+
+    @Override
+    public int nextInt(int bound) {
+      return stream.nextInt(bound);
+    }
+
+    @Override
+    public long nextLong() {
+      return stream.nextLong();
+    }
+
+    @Override
+    public double nextDouble() {
+      return stream.nextDouble();
+    }
+
+    @Override
+    public boolean nextBoolean() {
+      return stream.nextBoolean();
+    }
+  }
+
+  /**
+   * Master generator, only used to split new streams (guarded by this).
+   */
+  private SplittableRandom master;
+  /**
+   * Number of times the master generator was reseeded. Streams split before the last reseed are
+   * discarded.
+   */
+  private volatile int epoch;
+  /**
+   * Random stream of every thread.
+   */
+  private final ThreadLocal<SplittableStream> streams = new ThreadLocal<>();
+
+  /**
+   * Constructor with a random master seed.
+   */
+  public RandomProvider() {
+    this.master = new SplittableRandom();
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param seed
+   *          master seed
+   */
+  public RandomProvider(long seed) {
+    this.master = new SplittableRandom(seed);
+  }
+
+  /**
+   * Get the random generator of the current thread. The generator must not be shared with other
+   * threads.
+   *
+   * @return random generator of the current thread
+   */
+  public Random getRandom() {
+    SplittableStream stream = streams.get();
+
+    if (stream == null || stream.epoch != epoch) {
+      stream = split();
+      streams.set(stream);
+    }
+
+    return stream;
+  }
+
+  /**
+   * Split a new random stream from the master generator. Streams split in a fixed order are
+   * reproducible regardless of the threads using them. The stream must not be used by several
+   * threads at the same time.
+   *
+   * @return new random generator
+   */
+  public Random newRandom() {
+    return split();
+  }
+
+  /**
+   * Set the random generator of the current thread. It's replaced on its next use after the
+   * provider is reseeded.
+   *
+   * @param random
+   *          random generator created by {@link #newRandom()}
+   */
+  public void setRandom(Random random) {
+    assert random instanceof SplittableStream : "Random generator not created by a provider";
+
+    streams.set((SplittableStream) random);
+  }
+
+  /**
+   * Draw a seed from the master generator and reseed the provider with it. From then on the
+   * provider behaves as a new provider created with the returned seed, which allows to store its
+   * state in a checkpoint.
+   *
+   * @return new master seed
+   */
+  public synchronized long reseed() {
+    long seed = master.nextLong();
+
+    reseed(seed);
+
+    return seed;
+  }
+
+  /**
+   * Reseed the master generator. Streams of all threads are split again on next use.
+   *
+   * @param seed
+   *          new master seed
+   */
+  public synchronized void reseed(long seed) {
+    master = new SplittableRandom(seed);
+    epoch++;
+  }
+
+  /**
+   * Split a new stream from the master generator.
+   *
+   * @return new random stream
+   */
+  private synchronized SplittableStream split() {
+    return new SplittableStream(master.split(), epoch);
+  }
+
+}
@@ -0,0 +1,545 @@
+/*
+ * Genetic Algorithm for Load Balancing
+ * Copyright (c) 2016-2017 Pedro Cuadra & Sudheera Reddy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Pedro Cuadra (pjcuadra@gmail.com)
+ *    Sudheera Reddy
+ */
+
+package de.dortmund.fh.pimes.gitlab.galob.alg.util;
+
+import de.dortmund.fh.pimes.gitlab.galob.alg.util.graph.GraphNode;
+import de.dortmund.fh.pimes.gitlab.galob.alg.util.jenetics.ScheduleAllele;
+import de.dortmund.fh.pimes.gitlab.galob.alg.util.jenetics.ScheduleChromosome;
+import de.dortmund.fh.pimes.gitlab.galob.alg.util.jenetics.ScheduleGene;
+
+import java.util.Arrays;
+
+/**
+ * Compiled schedule evaluator. Flattens the HCE into primitive arrays (CSR predecessors lists,
+ * communication costs and ETC matrix) once, so a schedule can be simulated without cloning the
+ * graph. The compiled arrays are immutable and every thread simulates on its own reusable scratch
+ * buffers, so a single evaluator can be shared by concurrent fitness evaluations.
+ *
+ * @author Pedro Cuadra
+ *
+ */
+public class ScheduleEvaluator {
+  /**
+   * Exception thrown when a schedule sequence is not a valid topological order of the HCE.
+   *
+   * @author Pedro Cuadra
+   *
+   */
+  public static class InvalidOrderException extends RuntimeException {
+    /**
+     * Serial Version UID.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Constructor.
+     *
+     * @param message
+     *          detail message
+     */
+    public InvalidOrderException(String message) {
+      super(message);
+    }
+  }
+
+  /**
+   * Simulation trace of a schedule sequence. Holds what re-simulating a suffix of the sequence
+   * needs, so a swapped sequence doesn't replay the shared prefix.
+   *
+   * @author Pedro Cuadra
+   *
+   */
+  public static final class Trace {
+    /**
+     * Finish time of every task.
+     */
+    private final double[] finishTime;
+    /**
+     * Ready time of the executor of every locus, right before the locus is scheduled.
+     */
+    private final double[] readyTime;
+    /**
+     * Makespan per executor.
+     */
+    private final double[] makespanK;
+
+    /**
+     * Constructor.
+     *
+     * @param finishTime
+     *          finish time of every task
+     * @param readyTime
+     *          ready time of the executor of every locus
+     * @param makespanK
+     *          makespan per executor
+     */
+    Trace(double[] finishTime, double[] readyTime, double[] makespanK) {
+      this.finishTime = finishTime;
+      this.readyTime = readyTime;
+      this.makespanK = makespanK;
+    }
+
+    /**
+     * Get the makespan per executor of the traced sequence.
+     *
+     * @return the makespan per executor as an array indexed by executor ID
+     */
+    public double[] getMakespan() {
+      return makespanK.clone();
+    }
+  }
+
+  /**
+   * Thread confined simulation buffers.
+   *
+   * @author Pedro Cuadra
+   *
+   */
+  private static class Scratch {
+    /**
+     * Finish time of every task.
+     */
+    private final double[] finishTime;
+    /**
+     * Simulation run in which every task was scheduled.
+     */
+    private final int[] scheduledRun;
+    /**
+     * Current simulation run.
+     */
+    private int run;
+
+    /**
+     * Constructor.
+     *
+     * @param numTasks
+     *          number of tasks
+     */
+    Scratch(int numTasks) {
+      this.finishTime = new double[numTasks];
+      this.scheduledRun = new int[numTasks];
+    }
+
+    /**
+     * Start a new simulation run. Marks all tasks as not scheduled without clearing the buffers.
+     */
+    void reset() {
+      run++;
+
+      // Wrap around before the run counter overflows
+      if (run == Integer.MAX_VALUE) {
+        Arrays.fill(scheduledRun, 0);
+        run = 1;
+      }
+    }
+
+    /**
+     * Check if a task was scheduled in the current run.
+     *
+     * @param taskId
+     *          task ID
+     * @return true if scheduled
+     */
+    boolean isScheduled(int taskId) {
+      return scheduledRun[taskId] == run;
+    }
+
+    /**
+     * Set the scheduled state of a task in the current run.
+     *
+     * @param taskId
+     *          task ID
+     * @param scheduled
+     *          scheduled state
+     */
+    void setScheduled(int taskId, boolean scheduled) {
+      scheduledRun[taskId] = scheduled ? run : 0;
+    }
+  }
+
+  /**
+   * Number of tasks.
+   */
+  private final int numTasks;
+  /**
+   * Number of executors.
+   */
+  private final int numExecutors;
+  /**
+   * Predecessors offsets. Predecessors of task t are stored in [predOffsets[t], predOffsets[t+1]).
+   */
+  private final int[] predOffsets;
+  /**
+   * Predecessors task IDs.
+   */
+  private final int[] predTasks;
+  /**
+   * Communication cost of every predecessor edge.
+   */
+  private final double[] predCosts;
+  /**
+   * Flat expected time to compute matrix (row major, numTasks x numExecutors).
+   */
+  private final double[] etc;
+  /**
+   * Per thread simulation buffers.
+   */
+  private final ThreadLocal<Scratch> scratch;
+
+  /**
+   * Constructor.
+   *
+   * @param env
+   *          heterogeneous computing environment
+   */
+  public ScheduleEvaluator(HeterogeneousComputingEnv env) {
+    this.numTasks = env.getNumberOfTasks();
+    this.numExecutors = env.getNumberOfExecutors();
+
+    this.predOffsets = new int[numTasks + 1];
+    this.predTasks = new int[env.getNumberOfDependencies()];
+    this.predCosts = new double[predTasks.length];
+    this.etc = new double[numTasks * numExecutors];
+
+    int edge = 0;
+
+    for (int taskId = 0; taskId < numTasks; taskId++) {
+      GraphNode node = env.getGraphNodeById(taskId);
+
+      predOffsets[taskId] = edge;
+
+      // Not yet added tasks have neither dependencies nor execution time
+      if (node == null) {
+        continue;
+      }
+
+      for (int exe = 0; exe < numExecutors; exe++) {
+        etc[taskId * numExecutors + exe] = node.getExecutionTimeOnUnit(exe);
+      }
+
+      for (int i = 0; i < env.getNumberOfPredecessors(taskId); i++) {
+        predTasks[edge] = env.getPredecessor(taskId, i);
+        predCosts[edge] = env.getPredecessorCost(taskId, i);
+        edge++;
+      }
+    }
+
+    predOffsets[numTasks] = edge;
+
+    final int scratchSize = numTasks;
+    this.scratch = ThreadLocal.withInitial(() -> new Scratch(scratchSize));
+  }
+
+  /**
+   * Simulate the execution of a schedule sequence and get the makespan of every executor.
+   * According to "Load Balancing Task Scheduling based on Multi-Population Genetic in Cloud
+   * Computing" (Wang Bei, LI Jun), equation (1). The sequence has to be in topological order.
+   *
+   * @param chromosome
+   *          schedule sequence
+   * @return the makespan per executor as an array indexed by executor ID
+   */
+  public double[] evaluate(ScheduleChromosome chromosome) {
+    return simulate(chromosome, null, scratch.get().finishTime);
+  }
+
+  /**
+   * Simulate the execution of a schedule sequence in a single pass over the chromosome order.
+   * Start and finish times of every task are stored in the provided arrays, indexed by task ID.
+   *
+   * @param chromosome
+   *          schedule sequence
+   * @param startTime
+   *          output array of start times (can be null)
+   * @param finishTime
+   *          output array of finish times
+   * @return the makespan per executor as an array indexed by executor ID
+   * @throws InvalidOrderException
+   *           if a task is scheduled twice or before one of its predecessors
+   */
+  public double[] simulate(ScheduleChromosome chromosome, double[] startTime,
+      double[] finishTime) {
+    assert finishTime.length >= numTasks : "Finish time array too small";
+    assert startTime == null || startTime.length >= numTasks : "Start time array too small";
+
+    double[] makespanK = new double[numExecutors];
+    Scratch buffers = scratch.get();
+
+    buffers.reset();
+
+    for (ScheduleGene gene : chromosome) {
+      scheduleTask(chromosome, gene.getAllele().getTaskId(), 0, null, makespanK, startTime,
+          finishTime, buffers);
+    }
+
+    return makespanK;
+  }
+
+  /**
+   * Simulate the execution of a schedule sequence keeping its trace, so swaps of the sequence can
+   * be simulated with {@link #simulateSwap(ScheduleChromosome, Trace, int, int)}.
+   *
+   * @param chromosome
+   *          schedule sequence
+   * @return simulation trace
+   * @throws InvalidOrderException
+   *           if a task is scheduled twice or before one of its predecessors
+   */
+  public Trace trace(ScheduleChromosome chromosome) {
+    final int length = chromosome.length();
+    double[] finishTime = new double[numTasks];
+    double[] readyTime = new double[length];
+    double[] makespanK = new double[numExecutors];
+    Scratch buffers = scratch.get();
+
+    buffers.reset();
+
+    for (int locus = 0; locus < length; locus++) {
+      ScheduleAllele allele = chromosome.getGene(locus).getAllele();
+
+      readyTime[locus] = makespanK[allele.getExecutorId()];
+      scheduleTask(chromosome, allele.getTaskId(), 0, null, makespanK, null, finishTime,
+          buffers);
+    }
+
+    return new Trace(finishTime, readyTime, makespanK);
+  }
+
+  /**
+   * Simulate a schedule sequence with two loci swapped. The prefix up to the first swapped locus
+   * is shared with the traced sequence, so only the suffix is re-simulated: the executors ready
+   * times at the first swapped locus and the finish times of the prefix tasks are taken from the
+   * trace. Swapping genes doesn't change the task to executor mapping.
+   *
+   * @param chromosome
+   *          original schedule sequence
+   * @param trace
+   *          simulation trace of the original sequence
+   * @param firstLocus
+   *          locus of the first swapped gene
+   * @param secondLocus
+   *          locus of the second swapped gene
+   * @return the makespan per executor of the swapped sequence
+   * @throws InvalidOrderException
+   *           if the swapped sequence isn't a valid topological order
+   */
+  public double[] simulateSwap(ScheduleChromosome chromosome, Trace trace, int firstLocus,
+      int secondLocus) {
+    assert trace.readyTime.length == chromosome.length() : "Trace of another sequence";
+
+    final int from = Math.min(firstLocus, secondLocus);
+    final int to = Math.max(firstLocus, secondLocus);
+    final int length = chromosome.length();
+
+    if (from == to) {
+      return trace.getMakespan();
+    }
+
+    double[] makespanK = new double[numExecutors];
+    int pending = numExecutors;
+
+    // Every executor is ready at its next locus' ready time or, if unused, at its makespan
+    Arrays.fill(makespanK, Double.NaN);
+
+    for (int locus = from; locus < length && pending > 0; locus++) {
+      int executorId = chromosome.getGene(locus).getAllele().getExecutorId();
+
+      if (Double.isNaN(makespanK[executorId])) {
+        makespanK[executorId] = trace.readyTime[locus];
+        pending--;
+      }
+    }
+
+    for (int executorId = 0; executorId < numExecutors; executorId++) {
+      if (Double.isNaN(makespanK[executorId])) {
+        makespanK[executorId] = trace.makespanK[executorId];
+      }
+    }
+
+    Scratch buffers = scratch.get();
+
+    buffers.reset();
+
+    // Simulate the suffix of the swapped sequence
+    for (int locus = from; locus < length; locus++) {
+      int swappedLocus = locus;
+
+      if (locus == from) {
+        swappedLocus = to;
+      } else if (locus == to) {
+        swappedLocus = from;
+      }
+
+      scheduleTask(chromosome, getTaskAt(chromosome, swappedLocus), from, trace.finishTime,
+          makespanK, null, buffers.finishTime, buffers);
+    }
+
+    return makespanK;
+  }
+
+  /**
+   * Check if swapping two loci of a valid schedule sequence keeps it a valid topological order.
+   * Only the tasks between both loci are inspected.
+   *
+   * @param chromosome
+   *          valid schedule sequence
+   * @param firstLocus
+   *          locus of the first swapped gene
+   * @param secondLocus
+   *          locus of the second swapped gene
+   * @return true if the swapped sequence is a valid topological order
+   */
+  public boolean isValidSwap(ScheduleChromosome chromosome, int firstLocus, int secondLocus) {
+    final int from = Math.min(firstLocus, secondLocus);
+    final int to = Math.max(firstLocus, secondLocus);
+    final int earlyTask = getTaskAt(chromosome, from);
+    final int lateTask = getTaskAt(chromosome, to);
+
+    // The late task moves to the front so all its predecessors have to be before it
+    for (int edge = predOffsets[lateTask]; edge < predOffsets[lateTask + 1]; edge++) {
+      if (chromosome.getPositionOfTask(predTasks[edge]) >= from) {
+        return false;
+      }
+    }
+
+    // The early task moves to the back so no task up to there can depend on it
+    for (int locus = from + 1; locus <= to; locus++) {
+      int taskId = getTaskAt(chromosome, locus);
+
+      for (int edge = predOffsets[taskId]; edge < predOffsets[taskId + 1]; edge++) {
+        if (predTasks[edge] == earlyTask) {
+          return false;
+        }
+      }
+    }
+
+    return true;
+  }
+
+  /**
+   * Get the task ID at a given locus.
+   *
+   * @param chromosome
+   *          schedule sequence
+   * @param locus
+   *          locus
+   * @return task ID
+   */
+  private int getTaskAt(ScheduleChromosome chromosome, int locus) {
+    return chromosome.getGene(locus).getAllele().getTaskId();
+  }
+
+  /**
+   * Schedule a task after all previously scheduled tasks.
+   *
+   * @param chromosome
+   *          schedule sequence
+   * @param taskId
+   *          task ID
+   * @param prefixLength
+   *          number of loci already simulated in a previous run (0 if none)
+   * @param prefixFinishTime
+   *          finish time of the tasks of the previous run (can be null if there's no prefix)
+   * @param makespanK
+   *          ready time of every executor (updated)
+   * @param startTime
+   *          start time of every task (updated, can be null)
+   * @param finishTime
+   *          finish time of every task (updated)
+   * @param buffers
+   *          simulation buffers holding the scheduled state of every task (updated)
+   */
+  private void scheduleTask(ScheduleChromosome chromosome, int taskId, int prefixLength,
+      double[] prefixFinishTime, double[] makespanK, double[] startTime, double[] finishTime,
+      Scratch buffers) {
+    int executorId = chromosome.getExecutorOfTask(taskId);
+    double start = makespanK[executorId];
+
+    if (buffers.isScheduled(taskId)) {
+      throw new InvalidOrderException("Task " + taskId + " is scheduled more than once");
+    }
+
+    // Get earliest start time
+    for (int edge = predOffsets[taskId]; edge < predOffsets[taskId + 1]; edge++) {
+      int pred = predTasks[edge];
+      double readyTime;
+
+      if (prefixLength > 0 && chromosome.getPositionOfTask(pred) < prefixLength) {
+        readyTime = prefixFinishTime[pred];
+      } else if (buffers.isScheduled(pred)) {
+        readyTime = finishTime[pred];
+      } else {
+        throw new InvalidOrderException(
+            "Task " + taskId + " is scheduled before its predecessor " + pred);
+      }
+
+      // If were allocated in the same core don't add communications
+      if (chromosome.getExecutorOfTask(pred) != executorId) {
+        readyTime += predCosts[edge];
+      }
+
+      if (readyTime > start) {
+        start = readyTime;
+      }
+    }
+
+    if (startTime != null) {
+      startTime[taskId] = start;
+    }
+
+    finishTime[taskId] = start + etc[taskId * numExecutors + executorId];
+    makespanK[executorId] = finishTime[taskId];
+    buffers.setScheduled(taskId, true);
+  }
+
+  /**
+   * Get the expected time to compute of a task on a given executor.
+   *
+   * @param taskId
+   *          task ID
+   * @param executorId
+   *          executor ID
+   * @return expected time to compute
+   */
+  public double getExecutionTime(int taskId, int executorId) {
+    return etc[taskId * numExecutors + executorId];
+  }
+
+  /**
+   * Get the number of executors.
+   *
+   * @return number of executors
+   */
+  public int getNumberOfExecutors() {
+    return numExecutors;
+  }
+
+  /**
+   * Get the number of tasks.
+   *
+   * @return number of tasks
+   */
+  public int getNumberOfTasks() {
+    return numTasks;
+  }
+
+}
@@ -39,7 +39,7 @@ public class SimulatedAnnealing {
    */
   private double gamma;
   /**
-   * The initial temperature used in simulated annealing.
+   * The current temperature used in simulated annealing (guarded by this).
    */
   private double temp;
   /**
@@ -78,15 +78,56 @@ public class SimulatedAnnealing {
    * @return true if the criteria for simulated annealing is satisfied
    */
   public boolean checkCriteria(ScheduleChromosome oldChromosome, ScheduleChromosome newChromosom) {
+    double fitNew = fitnessCalculator.getFitness(newChromosom);
+    double fitOld = fitnessCalculator.getFitness(oldChromosome);
+
+    return checkCriteria(fitOld, fitNew, oldChromosome.getEnvironment().getRandomProvider());
+  }
+
+  /**
+   * Check the validity based on simulated annealing of a child chromosome obtained by swapping two
+   * genes of the parent chromosome. The child's fitness is evaluated incrementally.
+   *
+   * @param oldChromosome
+   *          the schedule sequence of parent chromosome
+   * @param newChromosom
+   *          the schedule sequence of child chromosome
+   * @param firstLocus
+   *          locus of the first swapped gene
+   * @param secondLocus
+   *          locus of the second swapped gene
+   * @return true if the criteria for simulated annealing is satisfied
+   */
+  public boolean checkCriteria(ScheduleChromosome oldChromosome, ScheduleChromosome newChromosom,
+      int firstLocus, int secondLocus) {
+    double fitNew =
+        fitnessCalculator.getSwappedFitness(oldChromosome, newChromosom, firstLocus, secondLocus);
+    double fitOld = fitnessCalculator.getFitness(oldChromosome);
+
+    return checkCriteria(fitOld, fitNew, oldChromosome.getEnvironment().getRandomProvider());
+  }
+
+  /**
+   * Check the validity based on simulated annealing given the fitness values. Synchronized since
+   * the temperature is shared by all threads altering the population.
+   *
+   * @param fitOld
+   *          fitness of parent chromosome
+   * @param fitNew
+   *          fitness of child chromosome
+   * @param randomProvider
+   *          random numbers provider of the chromosomes' HCE
+   * @return true if the criteria for simulated annealing is satisfied
+   */
+  private synchronized boolean checkCriteria(double fitOld, double fitNew,
+      RandomProvider randomProvider) {
     boolean cond;
     double probFactor;
-    Random randomGen = new Random();
+    Random randomGen = randomProvider.getRandom();
     // Random probability factor
     probFactor = randomGen.nextDouble();
 
     double diff;
-    double fitNew = fitnessCalculator.getFitness(newChromosom);
-    double fitOld = fitnessCalculator.getFitness(oldChromosome);
 
     // Consider optimization technique to determine what best fitness is
     switch (opt) {
@@ -121,7 +162,7 @@ public class SimulatedAnnealing {
    *
    * @return current temperature of the simulated annealing object
    */
-  public double getTemp() {
+  public synchronized double getTemp() {
     return temp;
   }
 
@@ -131,7 +172,7 @@ public class SimulatedAnnealing {
    * @param temp
    *          temperature of the simulated annealing object
    */
-  public void setTemp(double temp) {
+  public synchronized void setTemp(double temp) {
     this.temp = temp;
   }
 
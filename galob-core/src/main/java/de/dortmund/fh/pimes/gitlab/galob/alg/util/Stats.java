@@ -26,13 +26,11 @@ import de.dortmund.fh.pimes.gitlab.galob.alg.util.graph.GraphNode;
 import de.dortmund.fh.pimes.gitlab.galob.alg.util.jenetics.ScheduleChromosome;
 import de.dortmund.fh.pimes.gitlab.galob.alg.util.jenetics.ScheduleGene;
 
-import org.jgrapht.graph.DefaultWeightedEdge;
-
 import java.util.Arrays;
-import java.util.Optional;
 
 /**
- * Graph statistic.
+ * Graph statistic. Statistics are lazily computed and can be safely shared between threads, the
+ * simulation only works on thread confined buffers.
  *
  * @author Pedro Cuadra
  *
@@ -45,19 +43,23 @@ public class Stats {
   /**
    * Makespan.
    */
-  private Double makespan = null;
+  private volatile Double makespan = null;
   /**
    * Average makespan between the makespan of all cores.
    */
-  private Double avgMakespan;
+  private volatile Double avgMakespan;
   /**
    * Standard deviation of the makespan of all cores.
    */
-  private Double stdDev;
+  private volatile Double stdDev;
   /**
    * Array of makespan of all cores.
    */
-  private double[] makespanK;
+  private volatile double[] makespanK;
+  /**
+   * Simulation trace, only kept for chromosomes whose swaps are simulated.
+   */
+  private volatile ScheduleEvaluator.Trace trace;
   /**
    * Chromosome.
    */
@@ -67,13 +69,13 @@ public class Stats {
    */
   private FitnessCalculator fitnessCalculator;
   /**
-   * Array of timespan of all cores.
+   * Graph instance with all stats cookies.
    */
-  private double[] timeSpan;
+  private volatile Graph myGraph;
   /**
-   * Graph instance with all stats cookies.
+   * Compiled schedule evaluator.
    */
-  private Graph myGraph;
+  private ScheduleEvaluator evaluator;
 
   /**
    * Constructor.
@@ -85,59 +87,43 @@ public class Stats {
    */
   public Stats(HeterogeneousComputingEnv env, FitnessCalculator fitnessCalculator,
       ScheduleChromosome chromosome) {
+    this(env, env.getScheduleEvaluator(), fitnessCalculator, chromosome);
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param env
+   *          heterogeneous computing environment
+   * @param evaluator
+   *          compiled schedule evaluator of the environment
+   * @param chromosome
+   *          chromosome
+   */
+  Stats(HeterogeneousComputingEnv env, ScheduleEvaluator evaluator,
+      FitnessCalculator fitnessCalculator, ScheduleChromosome chromosome) {
     this.env = env;
+    this.evaluator = evaluator;
     this.chromosome = chromosome;
     this.fitnessCalculator = fitnessCalculator;
-    this.timeSpan = new double[env.getNumberOfExecutors()];
   }
 
   /**
-   * Calculate the actual finish time of a node.
+   * Constructor with an already simulated makespan per executor.
    *
-   * @param graph
-   *          graph object
-   * @param node
-   *          node
-   * @return actual finish time of the node
+   * @param env
+   *          heterogeneous computing environment
+   * @param evaluator
+   *          compiled schedule evaluator of the environment
+   * @param chromosome
+   *          chromosome
+   * @param makespanK
+   *          makespan per executor of the chromosome
    */
-  private double getActualFinishTime(Graph graph, GraphNode node) {
-    int executorId = getExecutionUnit(node.getTaskId());
-    double finishTime = timeSpan[executorId];
-
-    if (node.getCookie("aft") != null) {
-      return (double) node.getCookie("aft");
-    }
-
-    // Get earliest start time
-    for (DefaultWeightedEdge inEdge : graph.incomingEdgesOf(node)) {
-      GraphNode anc = graph.getEdgeSource(inEdge);
-      Double tempStartTime = getActualFinishTime(graph, anc);
-
-      // If were allocated in the same core don't add communications
-      if (executorId != getExecutionUnit(anc.getTaskId())) {
-        // Add communication costs
-        tempStartTime += graph.getEdgeWeight(inEdge);
-      }
-
-      if (tempStartTime > finishTime) {
-
-        finishTime = tempStartTime;
-      }
-
-    }
-
-    // Store start time as well
-    node.setCookie("st", new Double(finishTime));
-    node.setCookie("core", executorId);
-    node.setCookie("etc", node.getExecutionTimeOnUnit(executorId));
-
-    finishTime += node.getExecutionTimeOnUnit(executorId);
-
-    node.setCookie("aft", new Double(finishTime));
-    timeSpan[executorId] = finishTime;
-
-    return finishTime;
-
+  Stats(HeterogeneousComputingEnv env, ScheduleEvaluator evaluator,
+      FitnessCalculator fitnessCalculator, ScheduleChromosome chromosome, double[] makespanK) {
+    this(env, evaluator, fitnessCalculator, chromosome);
+    this.makespanK = makespanK;
   }
 
   /**
@@ -179,14 +165,7 @@ public class Stats {
     assert chromosome.length() > task : "Task index out of bound: " + chromosome.length()
         + " maximum, " + task + " provided.";
 
-    Optional<ScheduleGene> gene =
-        chromosome.toSeq().stream().filter(g -> g.getAllele().getTaskId() == task).findFirst();
-
-    if (gene.isPresent()) {
-      return gene.get().getAllele().getExecutorId();
-    }
-
-    return 0;
+    return chromosome.getExecutorOfTask(task);
   }
 
   /**
@@ -210,36 +189,52 @@ public class Stats {
    *
    */
   public double[] getNodesExecutionTime() {
+    double[] result = makespanK;
 
-    if (makespanK != null) {
-      return makespanK;
+    if (result != null) {
+      return result;
     }
 
-    makespanK = new double[env.getNumberOfExecutors()];
-
-    myGraph = env.getGraphCopy();
-
     // Check for cycles first
-    if (myGraph.checkCycles()) {
+    if (env.checkCycles()) {
       throw new Graph.CycleException();
     }
 
-    GraphNode curr;
+    // Only publish the fully computed array
+    result = evaluator.evaluate(chromosome);
+    makespanK = result;
 
-    // This iteration is in topological order according to JGraphT
-    for (ScheduleGene gene : chromosome) {
-      curr = myGraph.getGraphNodeById(gene.getAllele().getTaskId());
+    return result;
+
+  }
+
+  /**
+   * Get the simulation trace of the chromosome, simulating it if needed. The trace is kept, so
+   * every swap of the chromosome only re-simulates the swapped suffix.
+   *
+   * @return simulation trace
+   */
+  ScheduleEvaluator.Trace getTrace() {
+    ScheduleEvaluator.Trace result = trace;
+
+    if (result != null) {
+      return result;
+    }
 
-      double currAft = getActualFinishTime(myGraph, curr);
+    // Check for cycles first
+    if (env.checkCycles()) {
+      throw new Graph.CycleException();
+    }
 
-      if (currAft > makespanK[getExecutionUnit(curr.getTaskId())]) {
-        makespanK[getExecutionUnit(curr.getTaskId())] = currAft;
-      }
+    result = evaluator.trace(chromosome);
 
+    if (makespanK == null) {
+      makespanK = result.getMakespan();
     }
 
-    return makespanK;
+    trace = result;
 
+    return result;
   }
 
   /**
@@ -262,13 +257,11 @@ public class Stats {
       return stdDev;
     }
 
-    stdDev = Arrays.stream(nodesExecutionTime).map(i -> Math.pow(i - avgTime, 2)).sum()
+    double variance = Arrays.stream(nodesExecutionTime).map(i -> Math.pow(i - avgTime, 2)).sum()
         / (nodesExecutionTime.length - 1);
 
     // And finally take the square root
-    stdDev = Math.sqrt(stdDev);
-
-    stdDev = new Double(stdDev);
+    stdDev = new Double(Math.sqrt(variance));
 
     return stdDev;
 
@@ -295,12 +288,47 @@ public class Stats {
   }
 
   /**
-   * Return the graph populated with cookies with stats values.
+   * Return the graph populated with cookies with stats values. The graph is only built on demand
+   * since it requires a copy of the whole HCE graph.
    *
    * @return graph
    */
   public Graph getStatsGraph() {
-    return this.myGraph;
+    if (myGraph != null) {
+      return myGraph;
+    }
+
+    Graph graph = env.getGraphCopy();
+
+    // Check for cycles first
+    if (graph.checkCycles()) {
+      throw new Graph.CycleException();
+    }
+
+    double[] startTime = new double[env.getNumberOfTasks()];
+    double[] finishTime = new double[env.getNumberOfTasks()];
+
+    // Single pass simulation over the chromosome order
+    double[] result = evaluator.simulate(chromosome, startTime, finishTime);
+
+    if (makespanK == null) {
+      makespanK = result;
+    }
+
+    for (ScheduleGene gene : chromosome) {
+      int taskId = gene.getAllele().getTaskId();
+      int executorId = getExecutionUnit(taskId);
+      GraphNode node = graph.getGraphNodeById(taskId);
+
+      node.setCookie("st", startTime[taskId]);
+      node.setCookie("core", executorId);
+      node.setCookie("etc", evaluator.getExecutionTime(taskId, executorId));
+      node.setCookie("aft", finishTime[taskId]);
+    }
+
+    myGraph = graph;
+
+    return myGraph;
   }
 
 }
@@ -65,11 +65,50 @@ public class StatsFactory {
       return chromosome.getStats();
     }
 
-    Stats stats = new Stats(env, fitnessCalculator, chromosome);
+    // Simulate on the compiled evaluator instead of a copy of the graph
+    Stats stats = new Stats(env, env.getScheduleEvaluator(), fitnessCalculator, chromosome);
 
     chromosome.setStats(stats);
 
     return stats;
 
   }
+
+  /**
+   * Create the graph statistics of a chromosome and of the same chromosome with two swapped loci.
+   * The original chromosome keeps its simulation trace, so the swapped chromosome is only
+   * re-simulated from the first swapped locus on.
+   *
+   * @param oldChromosome
+   *          original chromosome
+   * @param newChromosome
+   *          chromosome with the genes at both loci swapped
+   * @param firstLocus
+   *          locus of the first swapped gene
+   * @param secondLocus
+   *          locus of the second swapped gene
+   * @return graph statistics of the swapped chromosome
+   */
+  public Stats ofSwap(ScheduleChromosome oldChromosome, ScheduleChromosome newChromosome,
+      int firstLocus, int secondLocus) {
+
+    assert oldChromosome != null : "Old chromosome is null";
+    assert newChromosome != null : "New chromosome is null";
+
+    Stats oldStats = ofChromosome(oldChromosome);
+
+    if (newChromosome.getStats() != null) {
+      return newChromosome.getStats();
+    }
+
+    ScheduleEvaluator evaluator = env.getScheduleEvaluator();
+    double[] makespanNew =
+        evaluator.simulateSwap(oldChromosome, oldStats.getTrace(), firstLocus, secondLocus);
+
+    Stats stats = new Stats(env, evaluator, fitnessCalculator, newChromosome, makespanNew);
+
+    newChromosome.setStats(stats);
+
+    return stats;
+  }
 }
@@ -0,0 +1,264 @@
+/*
+ * Genetic Algorithm for Load Balancing
+ * Copyright (c) 2016-2017 Pedro Cuadra & Sudheera Reddy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Pedro Cuadra (pjcuadra@gmail.com)
+ *    Sudheera Reddy
+ */
+
+
+package de.dortmund.fh.pimes.gitlab.galob.alg.util;
+
+/**
+ * Histogram with a fixed number of buckets that accepts an unbounded stream of values. The range
+ * of the buckets is doubled whenever a value falls outside, merging neighbor buckets, so memory
+ * doesn't depend on the number of values. Count, minimum, maximum, mean and variance (Welford's
+ * algorithm) are exact.
+ *
+ * @author Pedro Cuadra
+ *
+ */
+public class StreamingHistogram {
+  /**
+   * Default number of buckets.
+   */
+  public static final int DEFAULT_NUM_BUCKETS = 128;
+  /**
+   * Frequency of every bucket.
+   */
+  private final long[] buckets;
+  /**
+   * Lower bound of the first bucket.
+   */
+  private double origin;
+  /**
+   * Width of every bucket (zero until two different values are seen).
+   */
+  private double width;
+  /**
+   * Number of values.
+   */
+  private long count;
+  /**
+   * Minimum value.
+   */
+  private double min = Double.POSITIVE_INFINITY;
+  /**
+   * Maximum value.
+   */
+  private double max = Double.NEGATIVE_INFINITY;
+  /**
+   * Running mean.
+   */
+  private double mean;
+  /**
+   * Running sum of squared differences from the mean.
+   */
+  private double sumSquares;
+
+  /**
+   * Constructor.
+   */
+  public StreamingHistogram() {
+    this(DEFAULT_NUM_BUCKETS);
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param numBuckets
+   *          number of buckets
+   */
+  public StreamingHistogram(int numBuckets) {
+    assert numBuckets > 1 : "Number of buckets shall be greater than 1";
+
+    this.buckets = new long[numBuckets];
+  }
+
+  /**
+   * Add a value.
+   *
+   * @param value
+   *          value
+   */
+  public void accept(double value) {
+    assert !Double.isNaN(value) && !Double.isInfinite(value) : "Invalid value";
+
+    // Welford's running mean and variance
+    count++;
+    double delta = value - mean;
+    mean += delta / count;
+    sumSquares += delta * (value - mean);
+
+    min = Math.min(min, value);
+    max = Math.max(max, value);
+
+    if (count == 1) {
+      origin = value;
+      buckets[0]++;
+      return;
+    }
+
+    // The first distinct value defines the initial bucket width
+    if (width == 0) {
+      if (value == origin) {
+        buckets[0]++;
+        return;
+      }
+
+      double first = origin;
+
+      // Place both values at the ends of the range
+      origin = Math.min(first, value);
+      width = Math.abs(value - first) / (buckets.length - 1);
+      buckets[0] = 0;
+      buckets[bucketOf(first)] = count - 1;
+      buckets[bucketOf(value)]++;
+      return;
+    }
+
+    while (value < origin) {
+      grow(false);
+    }
+
+    while (value >= origin + width * buckets.length) {
+      grow(true);
+    }
+
+    buckets[bucketOf(value)]++;
+  }
+
+  /**
+   * Double the range of the buckets.
+   *
+   * @param up
+   *          grow towards higher values if true and towards lower values otherwise
+   */
+  private void grow(boolean up) {
+    int numBuckets = buckets.length;
+    // Old bucket i starts at newOrigin + shift + i * width
+    int shift = up ? 0 : numBuckets;
+
+    long[] merged = new long[numBuckets];
+
+    for (int i = 0; i < numBuckets; i++) {
+      merged[(shift + i) / 2] += buckets[i];
+    }
+
+    System.arraycopy(merged, 0, buckets, 0, numBuckets);
+
+    if (!up) {
+      origin -= width * numBuckets;
+    }
+
+    width *= 2;
+  }
+
+  /**
+   * Get the bucket of a value within the range.
+   *
+   * @param value
+   *          value
+   * @return bucket index
+   */
+  private int bucketOf(double value) {
+    int bucket = (int) ((value - origin) / width);
+
+    // Guard against rounding at the upper bound
+    return Math.min(Math.max(bucket, 0), buckets.length - 1);
+  }
+
+  /**
+   * Get the number of buckets.
+   *
+   * @return number of buckets
+   */
+  public int getNumberOfBuckets() {
+    return buckets.length;
+  }
+
+  /**
+   * Get the frequency of a bucket.
+   *
+   * @param bucket
+   *          bucket index
+   * @return number of values in the bucket
+   */
+  public long getFrequency(int bucket) {
+    return buckets[bucket];
+  }
+
+  /**
+   * Get the center value of a bucket.
+   *
+   * @param bucket
+   *          bucket index
+   * @return center of the bucket
+   */
+  public double getBucketCenter(int bucket) {
+    return origin + width * (bucket + 0.5);
+  }
+
+  /**
+   * Get the number of values.
+   *
+   * @return number of values
+   */
+  public long getCount() {
+    return count;
+  }
+
+  /**
+   * Get the minimum value.
+   *
+   * @return minimum value
+   */
+  public double getMin() {
+    return min;
+  }
+
+  /**
+   * Get the maximum value.
+   *
+   * @return maximum value
+   */
+  public double getMax() {
+    return max;
+  }
+
+  /**
+   * Get the mean value.
+   *
+   * @return mean value
+   */
+  public double getMean() {
+    return mean;
+  }
+
+  /**
+   * Get the sample variance.
+   *
+   * @return sample variance (zero for less than two values)
+   */
+  public double getVariance() {
+    if (count < 2) {
+      return 0;
+    }
+
+    return sumSquares / (count - 1);
+  }
+
+}
@@ -0,0 +1,248 @@
+/*
+ * Genetic Algorithm for Load Balancing
+ * Copyright (c) 2016-2017 Pedro Cuadra & Sudheera Reddy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Pedro Cuadra (pjcuadra@gmail.com)
+ *    Sudheera Reddy
+ */
+
+
+package de.dortmund.fh.pimes.gitlab.galob.alg.util;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * Sparse adjacency lists of tasks. Every task keeps growable primitive arrays of adjacent task IDs
+ * and their communication costs, so memory is proportional to the number of dependencies.
+ *
+ * @author Pedro Cuadra
+ *
+ */
+class TaskAdjacency implements Serializable {
+  /**
+   * Serial Version UID.
+   */
+  private static final long serialVersionUID = 1L;
+  /**
+   * Initial capacity of the list of a task.
+   */
+  private static final int INITIAL_CAPACITY = 4;
+  /**
+   * Adjacent task IDs of every task (null until the first dependency is added).
+   */
+  private final int[][] tasks;
+  /**
+   * Communication costs of every adjacency.
+   */
+  private final double[][] costs;
+  /**
+   * Number of adjacent tasks of every task.
+   */
+  private final int[] count;
+  /**
+   * Total number of adjacencies.
+   */
+  private int size;
+
+  /**
+   * Constructor.
+   *
+   * @param numTasks
+   *          number of tasks
+   */
+  TaskAdjacency(int numTasks) {
+    this.tasks = new int[numTasks][];
+    this.costs = new double[numTasks][];
+    this.count = new int[numTasks];
+  }
+
+  /**
+   * Add an adjacency. Multiple adjacencies between the same tasks are merged together summing
+   * their costs.
+   *
+   * @param task
+   *          task ID
+   * @param other
+   *          adjacent task ID
+   * @param cost
+   *          communication cost
+   */
+  void add(int task, int other, double cost) {
+    int index = indexOf(task, other);
+
+    if (index >= 0) {
+      costs[task][index] += cost;
+      return;
+    }
+
+    append(task, other, cost);
+  }
+
+  /**
+   * Append an adjacency without looking for an existing one between the same tasks. Used for bulk
+   * loads, {@link #mergeDuplicates()} shall be called once all adjacencies are appended.
+   *
+   * @param task
+   *          task ID
+   * @param other
+   *          adjacent task ID
+   * @param cost
+   *          communication cost
+   */
+  void append(int task, int other, double cost) {
+    // Grow the arrays if needed
+    if (tasks[task] == null) {
+      tasks[task] = new int[INITIAL_CAPACITY];
+      costs[task] = new double[INITIAL_CAPACITY];
+    } else if (count[task] == tasks[task].length) {
+      tasks[task] = Arrays.copyOf(tasks[task], 2 * count[task]);
+      costs[task] = Arrays.copyOf(costs[task], 2 * count[task]);
+    }
+
+    tasks[task][count[task]] = other;
+    costs[task][count[task]] = cost;
+    count[task]++;
+    size++;
+  }
+
+  /**
+   * Merge the adjacencies between the same tasks summing their costs, as {@link #add} does. The
+   * merged adjacency keeps the position of the first one. Linear in the number of adjacencies.
+   */
+  void mergeDuplicates() {
+    // Task whose list last saw every adjacent task and where it was kept
+    int[] seenBy = new int[count.length];
+    int[] seenAt = new int[count.length];
+
+    Arrays.fill(seenBy, -1);
+
+    for (int task = 0; task < count.length; task++) {
+      int kept = 0;
+
+      for (int i = 0; i < count[task]; i++) {
+        int other = tasks[task][i];
+
+        if (seenBy[other] == task) {
+          costs[task][seenAt[other]] += costs[task][i];
+          continue;
+        }
+
+        seenBy[other] = task;
+        seenAt[other] = kept;
+        tasks[task][kept] = other;
+        costs[task][kept] = costs[task][i];
+        kept++;
+      }
+
+      size -= count[task] - kept;
+      count[task] = kept;
+    }
+  }
+
+  /**
+   * Remove an adjacency keeping the insertion order of the rest.
+   *
+   * @param task
+   *          task ID
+   * @param other
+   *          adjacent task ID
+   */
+  void remove(int task, int other) {
+    int index = indexOf(task, other);
+
+    if (index < 0) {
+      return;
+    }
+
+    int tail = count[task] - index - 1;
+
+    System.arraycopy(tasks[task], index + 1, tasks[task], index, tail);
+    System.arraycopy(costs[task], index + 1, costs[task], index, tail);
+    count[task]--;
+    size--;
+  }
+
+  /**
+   * Get the index of an adjacent task.
+   *
+   * @param task
+   *          task ID
+   * @param other
+   *          adjacent task ID
+   * @return index of the adjacent task or -1 if not adjacent
+   */
+  int indexOf(int task, int other) {
+    for (int i = 0; i < count[task]; i++) {
+      if (tasks[task][i] == other) {
+        return i;
+      }
+    }
+
+    return -1;
+  }
+
+  /**
+   * Get the number of adjacent tasks of a task.
+   *
+   * @param task
+   *          task ID
+   * @return number of adjacent tasks
+   */
+  int size(int task) {
+    return count[task];
+  }
+
+  /**
+   * Get the total number of adjacencies.
+   *
+   * @return total number of adjacencies
+   */
+  int size() {
+    return size;
+  }
+
+  /**
+   * Get an adjacent task.
+   *
+   * @param task
+   *          task ID
+   * @param index
+   *          index of the adjacency
+   * @return adjacent task ID
+   */
+  int getTask(int task, int index) {
+    assert index < count[task] : "Adjacency index out of bound";
+
+    return tasks[task][index];
+  }
+
+  /**
+   * Get the communication cost of an adjacency.
+   *
+   * @param task
+   *          task ID
+   * @param index
+   *          index of the adjacency
+   * @return communication cost
+   */
+  double getCost(int task, int index) {
+    assert index < count[task] : "Adjacency index out of bound";
+
+    return costs[task][index];
+  }
+
+}
@@ -0,0 +1,861 @@
+/*
+ * Genetic Algorithm for Load Balancing
+ * Copyright (c) 2016-2017 Pedro Cuadra & Sudheera Reddy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Pedro Cuadra (pjcuadra@gmail.com)
+ *    Sudheera Reddy
+ */
+
+
+package de.dortmund.fh.pimes.gitlab.galob.alg.util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Streaming importer of task graphs in Standard Task Graph (STG) and Graphviz DOT formats.
+ *
+ * <p>Graphs are tokenized character by character and collected into primitive arrays, which are
+ * then handed to {@link HeterogeneousComputingEnv#builder()}. The expected time to compute matrix
+ * is either read from a separate file or derived from the task workloads and a speed factor per
+ * executor (ETC = workload / speed).
+ *
+ * <p>STG files have the number of tasks in the first line followed by one line per task (including
+ * the dummy entry and exit tasks) with its id, processing time, number of predecessors and
+ * predecessor ids. STG doesn't define communication costs, so they are set to zero.
+ *
+ * <p>DOT files shall contain a digraph. The workload of a node and the communication cost of an
+ * edge are taken from their {@code size} or {@code weight} attribute and default to 1 and 0
+ * respectively. Tasks are numbered in order of first appearance.
+ *
+ * <p>ETC files have one row per task with the expected time to compute on every executor,
+ * separated by white spaces. Lines starting with {@code #} are ignored.
+ *
+ * @author Pedro Cuadra
+ *
+ */
+public class TaskGraphReader {
+  /**
+   * Parse exception.
+   */
+  public static class ParseException extends IOException {
+    /**
+     * Serial Version UID.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Constructor.
+     *
+     * @param line
+     *          line where the problem was found
+     * @param message
+     *          description of the problem
+     */
+    public ParseException(int line, String message) {
+      super("Line " + line + ": " + message);
+    }
+  }
+
+  /**
+   * Task graph collected into primitive arrays.
+   */
+  private static class TaskGraph {
+    /**
+     * Workload of every task.
+     */
+    private final GrowableDoubleArray workloads = new GrowableDoubleArray();
+    /**
+     * Source task of every dependency.
+     */
+    private final GrowableIntArray sources = new GrowableIntArray();
+    /**
+     * Destination task of every dependency.
+     */
+    private final GrowableIntArray destinations = new GrowableIntArray();
+    /**
+     * Communication cost of every dependency.
+     */
+    private final GrowableDoubleArray costs = new GrowableDoubleArray();
+
+    /**
+     * Build the HCE.
+     *
+     * @param etc
+     *          expected time to compute matrix
+     * @return heterogeneous computing environment
+     */
+    public HeterogeneousComputingEnv toEnv(double[][] etc) {
+      return HeterogeneousComputingEnv.builder()
+          .etc(etc)
+          .dependencies(sources.toArray(), destinations.toArray(), costs.toArray())
+          .build();
+    }
+
+    /**
+     * Build the HCE from speed factors.
+     *
+     * @param speeds
+     *          speed factor of every executor
+     * @return heterogeneous computing environment
+     * @throws IllegalArgumentException
+     *           if no speed factors are provided or any of them isn't greater than 0
+     */
+    public HeterogeneousComputingEnv toEnv(double[] speeds) {
+      if (speeds == null || speeds.length == 0) {
+        throw new IllegalArgumentException("No executors provided");
+      }
+
+      for (double speed : speeds) {
+        // Also rejects NaN
+        if (!(speed > 0)) {
+          throw new IllegalArgumentException("Speed factors shall be greater than 0");
+        }
+      }
+
+      double[][] etc = new double[workloads.size()][speeds.length];
+
+      for (int task = 0; task < etc.length; task++) {
+        for (int executor = 0; executor < speeds.length; executor++) {
+          etc[task][executor] = workloads.get(task) / speeds[executor];
+        }
+      }
+
+      return toEnv(etc);
+    }
+
+    /**
+     * Build the HCE from an ETC file.
+     *
+     * @param etcReader
+     *          ETC file reader
+     * @return heterogeneous computing environment
+     * @throws IOException
+     *           if the ETC file can't be read or doesn't match the graph
+     */
+    public HeterogeneousComputingEnv toEnv(Reader etcReader) throws IOException {
+      return toEnv(readEtc(etcReader, workloads.size()));
+    }
+  }
+
+  /**
+   * End of stream token.
+   */
+  private static final int EOF = -1;
+  /**
+   * Identifier or number token. Its text is available at {@link Tokenizer#text}.
+   */
+  private static final int ID = -2;
+  /**
+   * Directed edge operator token ({@code ->}).
+   */
+  private static final int ARROW = -3;
+  /**
+   * Undirected edge operator token ({@code --}).
+   */
+  private static final int UNDIRECTED = -4;
+
+  /**
+   * Tokenizer reading one character at a time. Punctuation tokens are returned as their own
+   * character.
+   */
+  private static class Tokenizer {
+    /**
+     * Input.
+     */
+    private final Reader in;
+    /**
+     * Support DOT syntax (C comments and edge operators).
+     */
+    private final boolean dot;
+    /**
+     * Text of the last identifier token.
+     */
+    private final StringBuilder text = new StringBuilder();
+    /**
+     * Next character.
+     */
+    private int next;
+    /**
+     * Current line.
+     */
+    private int line = 1;
+    /**
+     * Token pushed back.
+     */
+    private int pushedBack = EOF;
+    /**
+     * A token was pushed back.
+     */
+    private boolean hasPushedBack = false;
+
+    /**
+     * Constructor.
+     *
+     * @param in
+     *          input
+     * @param dot
+     *          support DOT syntax
+     * @throws IOException
+     *           if the input can't be read
+     */
+    public Tokenizer(Reader in, boolean dot) throws IOException {
+      this.in = in instanceof BufferedReader ? in : new BufferedReader(in);
+      this.dot = dot;
+      this.next = this.in.read();
+    }
+
+    /**
+     * Move to the next character.
+     *
+     * @throws IOException
+     *           if the input can't be read
+     */
+    private void advance() throws IOException {
+      if (next == '\n') {
+        line++;
+      }
+
+      next = in.read();
+    }
+
+    /**
+     * Check if a character can be part of a bare identifier.
+     *
+     * @param ch
+     *          character
+     * @return true if it can be part of a bare identifier, false otherwise
+     */
+    private boolean isIdChar(int ch) {
+      return Character.isLetterOrDigit(ch) || ch == '_' || ch == '.' || ch == '+'
+          || (!dot && ch == '-');
+    }
+
+    /**
+     * Skip white spaces and comments.
+     *
+     * @throws IOException
+     *           if the input can't be read
+     */
+    private void skipBlanks() throws IOException {
+      while (next != EOF) {
+        if (Character.isWhitespace(next)) {
+          advance();
+        } else if (next == '#') {
+          // Line comment
+          while (next != EOF && next != '\n') {
+            advance();
+          }
+        } else if (dot && next == '/') {
+          advance();
+
+          if (next == '/') {
+            while (next != EOF && next != '\n') {
+              advance();
+            }
+          } else if (next == '*') {
+            advance();
+            int prev = 0;
+
+            while (next != EOF && !(prev == '*' && next == '/')) {
+              prev = next;
+              advance();
+            }
+
+            advance();
+          } else {
+            throw new ParseException(line, "Unexpected '/'");
+          }
+        } else {
+          return;
+        }
+      }
+    }
+
+    /**
+     * Push a token back, so it's returned again by {@link #next()}.
+     *
+     * @param token
+     *          token
+     */
+    public void pushBack(int token) {
+      assert !hasPushedBack : "Only one token can be pushed back";
+
+      pushedBack = token;
+      hasPushedBack = true;
+    }
+
+    /**
+     * Read the next token.
+     *
+     * @return token type or punctuation character
+     * @throws IOException
+     *           if the input can't be read
+     */
+    public int next() throws IOException {
+      if (hasPushedBack) {
+        hasPushedBack = false;
+        return pushedBack;
+      }
+
+      skipBlanks();
+
+      if (next == EOF) {
+        return EOF;
+      }
+
+      text.setLength(0);
+
+      // Quoted identifier
+      if (next == '"') {
+        advance();
+
+        while (next != '"') {
+          if (next == EOF) {
+            throw new ParseException(line, "Unterminated string");
+          }
+
+          if (next == '\\') {
+            advance();
+          }
+
+          text.append((char) next);
+          advance();
+        }
+
+        advance();
+        return ID;
+      }
+
+      // Edge operators or negative numbers
+      if (dot && next == '-') {
+        advance();
+
+        if (next == '>') {
+          advance();
+          return ARROW;
+        }
+
+        if (next == '-') {
+          advance();
+          return UNDIRECTED;
+        }
+
+        text.append('-');
+      }
+
+      if (isIdChar(next)) {
+        while (isIdChar(next)) {
+          text.append((char) next);
+          advance();
+        }
+
+        return ID;
+      }
+
+      if (text.length() > 0) {
+        throw new ParseException(line, "Unexpected '-'");
+      }
+
+      int punctuation = next;
+      advance();
+
+      return punctuation;
+    }
+
+    /**
+     * Read an identifier.
+     *
+     * @param what
+     *          description of the expected value for error messages
+     * @throws IOException
+     *           if the input can't be read or the next token isn't an identifier
+     */
+    public void expectId(String what) throws IOException {
+      if (next() != ID) {
+        throw new ParseException(line, "Expected " + what);
+      }
+    }
+
+    /**
+     * Read an integer.
+     *
+     * @param what
+     *          description of the expected value for error messages
+     * @return integer
+     * @throws IOException
+     *           if the input can't be read or the next token isn't an integer
+     */
+    public int nextInt(String what) throws IOException {
+      expectId(what);
+
+      // Parse in place to avoid creating a string per number
+      int value = 0;
+      boolean negative = text.charAt(0) == '-';
+
+      for (int i = negative ? 1 : 0; i < text.length(); i++) {
+        char ch = text.charAt(i);
+
+        if (ch < '0' || ch > '9' || value > (Integer.MAX_VALUE - 9) / 10) {
+          throw new ParseException(line, "Expected " + what + " but found " + text);
+        }
+
+        value = value * 10 + (ch - '0');
+      }
+
+      return negative ? -value : value;
+    }
+
+    /**
+     * Read a number.
+     *
+     * @param what
+     *          description of the expected value for error messages
+     * @return number
+     * @throws IOException
+     *           if the input can't be read or the next token isn't a number
+     */
+    public double nextDouble(String what) throws IOException {
+      expectId(what);
+
+      return parseDouble(what);
+    }
+
+    /**
+     * Parse the text of the last identifier as a number.
+     *
+     * @param what
+     *          description of the expected value for error messages
+     * @return number
+     * @throws ParseException
+     *           if the text isn't a number
+     */
+    public double parseDouble(String what) throws ParseException {
+      try {
+        return Double.parseDouble(text.toString());
+      } catch (NumberFormatException e) {
+        throw new ParseException(line, "Expected " + what + " but found " + text);
+      }
+    }
+  }
+
+  /**
+   * Constructor.
+   */
+  private TaskGraphReader() {
+  }
+
+  /**
+   * Read a STG file with ETC derived from executor speed factors.
+   *
+   * @param graph
+   *          STG file reader
+   * @param speeds
+   *          speed factor of every executor
+   * @return heterogeneous computing environment
+   * @throws IOException
+   *           if the file can't be read or isn't a valid STG file
+   */
+  public static HeterogeneousComputingEnv readStg(Reader graph, double[] speeds)
+      throws IOException {
+    return parseStg(graph).toEnv(speeds);
+  }
+
+  /**
+   * Read a STG file with ETC from an ETC file.
+   *
+   * @param graph
+   *          STG file reader
+   * @param etc
+   *          ETC file reader
+   * @return heterogeneous computing environment
+   * @throws IOException
+   *           if the files can't be read or aren't valid
+   */
+  public static HeterogeneousComputingEnv readStg(Reader graph, Reader etc) throws IOException {
+    return parseStg(graph).toEnv(etc);
+  }
+
+  /**
+   * Read a DOT file with ETC derived from executor speed factors.
+   *
+   * @param graph
+   *          DOT file reader
+   * @param speeds
+   *          speed factor of every executor
+   * @return heterogeneous computing environment
+   * @throws IOException
+   *           if the file can't be read or isn't a valid DOT file
+   */
+  public static HeterogeneousComputingEnv readDot(Reader graph, double[] speeds)
+      throws IOException {
+    return parseDot(graph).toEnv(speeds);
+  }
+
+  /**
+   * Read a DOT file with ETC from an ETC file.
+   *
+   * @param graph
+   *          DOT file reader
+   * @param etc
+   *          ETC file reader
+   * @return heterogeneous computing environment
+   * @throws IOException
+   *           if the files can't be read or aren't valid
+   */
+  public static HeterogeneousComputingEnv readDot(Reader graph, Reader etc) throws IOException {
+    return parseDot(graph).toEnv(etc);
+  }
+
+  /**
+   * Parse a STG file.
+   *
+   * @param in
+   *          STG file reader
+   * @return task graph
+   * @throws IOException
+   *           if the file can't be read or isn't a valid STG file
+   */
+  private static TaskGraph parseStg(Reader in) throws IOException {
+    Tokenizer tokenizer = new Tokenizer(in, false);
+    TaskGraph graph = new TaskGraph();
+
+    // Dummy entry and exit tasks aren't counted
+    int numTasks = tokenizer.nextInt("number of tasks") + 2;
+
+    if (numTasks <= 2) {
+      throw new ParseException(tokenizer.line, "Invalid number of tasks");
+    }
+
+    for (int task = 0; task < numTasks; task++) {
+      if (tokenizer.nextInt("task id") != task) {
+        throw new ParseException(tokenizer.line, "Expected task " + task);
+      }
+
+      graph.workloads.add(tokenizer.nextDouble("processing time"));
+      int numPredecessors = tokenizer.nextInt("number of predecessors");
+
+      for (int i = 0; i < numPredecessors; i++) {
+        int predecessor = tokenizer.nextInt("predecessor id");
+
+        if (predecessor < 0 || predecessor >= numTasks) {
+          throw new ParseException(tokenizer.line, "Invalid predecessor " + predecessor);
+        }
+
+        graph.sources.add(predecessor);
+        graph.destinations.add(task);
+        graph.costs.add(0);
+      }
+    }
+
+    return graph;
+  }
+
+  /**
+   * Parse a DOT file.
+   *
+   * @param in
+   *          DOT file reader
+   * @return task graph
+   * @throws IOException
+   *           if the file can't be read or isn't a valid DOT file
+   */
+  private static TaskGraph parseDot(Reader in) throws IOException {
+    Tokenizer tokenizer = new Tokenizer(in, true);
+    TaskGraph graph = new TaskGraph();
+    Map<String, Integer> taskIds = new HashMap<>();
+
+    // Header
+    tokenizer.expectId("digraph");
+
+    if (tokenizer.text.toString().equalsIgnoreCase("strict")) {
+      tokenizer.expectId("digraph");
+    }
+
+    if (!tokenizer.text.toString().equalsIgnoreCase("digraph")) {
+      throw new ParseException(tokenizer.line, "Only digraphs are supported");
+    }
+
+    int token = tokenizer.next();
+
+    if (token == ID) {
+      token = tokenizer.next();
+    }
+
+    if (token != '{') {
+      throw new ParseException(tokenizer.line, "Expected '{'");
+    }
+
+    // Statements
+    int depth = 0;
+
+    while (true) {
+      token = tokenizer.next();
+
+      if (token == EOF) {
+        throw new ParseException(tokenizer.line, "Unexpected end of file");
+      }
+
+      if (token == '}') {
+        if (depth == 0) {
+          break;
+        }
+
+        depth--;
+        continue;
+      }
+
+      if (token == '{') {
+        depth++;
+        continue;
+      }
+
+      if (token == ';' || token == ',') {
+        continue;
+      }
+
+      if (token != ID) {
+        throw new ParseException(tokenizer.line, "Unexpected '" + (char) token + "'");
+      }
+
+      String name = tokenizer.text.toString();
+
+      // Subgraphs are flattened
+      if (name.equalsIgnoreCase("subgraph")) {
+        token = tokenizer.next();
+
+        if (token == ID) {
+          token = tokenizer.next();
+        }
+
+        if (token != '{') {
+          throw new ParseException(tokenizer.line, "Expected '{'");
+        }
+
+        depth++;
+        continue;
+      }
+
+      // Default attributes are ignored
+      if (name.equalsIgnoreCase("graph") || name.equalsIgnoreCase("node")
+          || name.equalsIgnoreCase("edge")) {
+        parseWeight(tokenizer);
+        continue;
+      }
+
+      token = tokenizer.next();
+
+      // Graph attribute
+      if (token == '=') {
+        tokenizer.expectId("attribute value");
+        continue;
+      }
+
+      int task = getTaskId(graph, taskIds, name);
+
+      if (token == UNDIRECTED) {
+        throw new ParseException(tokenizer.line, "Undirected edges aren't supported");
+      }
+
+      if (token != ARROW) {
+        // Node statement
+        tokenizer.pushBack(token);
+        double workload = parseWeight(tokenizer);
+
+        if (!Double.isNaN(workload)) {
+          graph.workloads.set(task, workload);
+        }
+
+        continue;
+      }
+
+      // Edge statement, possibly a chain of edges
+      int firstEdge = graph.sources.size();
+
+      while (token == ARROW) {
+        tokenizer.expectId("node");
+        int successor = getTaskId(graph, taskIds, tokenizer.text.toString());
+
+        graph.sources.add(task);
+        graph.destinations.add(successor);
+        graph.costs.add(0);
+
+        task = successor;
+        token = tokenizer.next();
+      }
+
+      tokenizer.pushBack(token);
+      double cost = parseWeight(tokenizer);
+
+      if (!Double.isNaN(cost)) {
+        for (int edge = firstEdge; edge < graph.costs.size(); edge++) {
+          graph.costs.set(edge, cost);
+        }
+      }
+    }
+
+    if (graph.workloads.size() == 0) {
+      throw new ParseException(tokenizer.line, "No tasks");
+    }
+
+    return graph;
+  }
+
+  /**
+   * Get the task id of a DOT node, adding the task if it wasn't seen before.
+   *
+   * @param graph
+   *          task graph
+   * @param taskIds
+   *          task id of every node name
+   * @param name
+   *          node name
+   * @return task id
+   */
+  private static int getTaskId(TaskGraph graph, Map<String, Integer> taskIds, String name) {
+    Integer task = taskIds.get(name);
+
+    if (task == null) {
+      task = graph.workloads.size();
+      taskIds.put(name, task);
+      graph.workloads.add(1);
+    }
+
+    return task;
+  }
+
+  /**
+   * Parse the optional attribute lists of a DOT statement.
+   *
+   * @param tokenizer
+   *          tokenizer
+   * @return value of the size or weight attribute or NaN if not present
+   * @throws IOException
+   *           if the input can't be read or the attributes are invalid
+   */
+  private static double parseWeight(Tokenizer tokenizer) throws IOException {
+    double weight = Double.NaN;
+    int token = tokenizer.next();
+
+    while (token == '[') {
+      token = tokenizer.next();
+
+      while (token != ']') {
+        if (token == ',' || token == ';') {
+          token = tokenizer.next();
+          continue;
+        }
+
+        if (token != ID) {
+          throw new ParseException(tokenizer.line, "Expected attribute name");
+        }
+
+        String key = tokenizer.text.toString();
+
+        if (tokenizer.next() != '=') {
+          throw new ParseException(tokenizer.line, "Expected '='");
+        }
+
+        tokenizer.expectId("attribute value");
+
+        if (key.equals("size") || key.equals("weight")) {
+          weight = tokenizer.parseDouble(key);
+        }
+
+        token = tokenizer.next();
+      }
+
+      token = tokenizer.next();
+    }
+
+    tokenizer.pushBack(token);
+
+    return weight;
+  }
+
+  /**
+   * Read an ETC file.
+   *
+   * @param in
+   *          ETC file reader
+   * @param numTasks
+   *          expected number of tasks
+   * @return expected time to compute matrix
+   * @throws IOException
+   *           if the file can't be read or doesn't match the number of tasks
+   */
+  private static double[][] readEtc(Reader in, int numTasks) throws IOException {
+    BufferedReader reader = in instanceof BufferedReader
+        ? (BufferedReader) in : new BufferedReader(in);
+    double[][] etc = new double[numTasks][];
+    int task = 0;
+    int lineNumber = 0;
+    String line;
+
+    while ((line = reader.readLine()) != null) {
+      lineNumber++;
+      line = line.trim();
+
+      if (line.isEmpty() || line.startsWith("#")) {
+        continue;
+      }
+
+      if (task == numTasks) {
+        throw new ParseException(lineNumber, "More ETC rows than tasks");
+      }
+
+      // Split the values in place
+      GrowableDoubleArray row = new GrowableDoubleArray(task == 0 ? 16 : etc[0].length);
+      int start = 0;
+
+      while (start < line.length()) {
+        int end = start;
+
+        while (end < line.length() && !Character.isWhitespace(line.charAt(end))) {
+          end++;
+        }
+
+        try {
+          row.add(Double.parseDouble(line.substring(start, end)));
+        } catch (NumberFormatException e) {
+          throw new ParseException(lineNumber, "Invalid ETC value");
+        }
+
+        start = end;
+
+        while (start < line.length() && Character.isWhitespace(line.charAt(start))) {
+          start++;
+        }
+      }
+
+      if (task > 0 && row.size() != etc[0].length) {
+        throw new ParseException(lineNumber, "ETC rows with different sizes");
+      }
+
+      etc[task++] = row.toArray();
+    }
+
+    if (task != numTasks) {
+      throw new ParseException(lineNumber, "Expected " + numTasks + " ETC rows");
+    }
+
+    return etc;
+  }
+
+}
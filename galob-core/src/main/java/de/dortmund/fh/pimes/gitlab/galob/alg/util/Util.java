@@ -25,6 +25,7 @@ import de.dortmund.fh.pimes.gitlab.galob.alg.util.graph.GraphNode;
 
 import java.util.Arrays;
 import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.stream.DoubleStream;
 
 /**
@@ -149,7 +150,22 @@ public class Util {
    * @return communication cost matrix
    */
   public static double[][] createRandomCommunicationCostsMatrix(double[][] delta) {
-    return matrixParallelMultiply(createRandomMatrix(delta.length, delta[0].length), delta);
+    return createRandomCommunicationCostsMatrix(delta, ThreadLocalRandom.current());
+  }
+
+  /**
+   * Get a random Communication cost matrix out of a dependency matrix.
+   *
+   * @param delta
+   *          the dependency matrix
+   * @param randomGen
+   *          random generator
+   * @return communication cost matrix
+   */
+  public static double[][] createRandomCommunicationCostsMatrix(double[][] delta,
+      Random randomGen) {
+    return matrixParallelMultiply(createRandomMatrix(delta.length, delta[0].length, randomGen),
+        delta);
   }
 
   /**
@@ -160,8 +176,19 @@ public class Util {
    * @return dependency matrix
    */
   public static double[][] createRandomDependencyMatrix(int numTasks) {
-    Random randomGen = new Random();
+    return createRandomDependencyMatrix(numTasks, ThreadLocalRandom.current());
+  }
 
+  /**
+   * Get a random dependency matrix of size rows*cols which is an upper triangular matrix.
+   *
+   * @param numTasks
+   *          number of tasks
+   * @param randomGen
+   *          random generator
+   * @return dependency matrix
+   */
+  public static double[][] createRandomDependencyMatrix(int numTasks, Random randomGen) {
     double[][] depend = new double[numTasks][numTasks];
     // Initialize the upper triangular matrix with ones randomly
 
@@ -183,14 +210,15 @@ public class Util {
    *          number of cores
    * @param maxProvided
    *          numTasks and numCores are maximum values if true or exact values if false
+   * @param randomGen
+   *          random generator
    * @return empty HCE.
    */
   private static HeterogeneousComputingEnv createRandomEnv(
       int numTasks,
       int numCores,
-      boolean maxProvided) {
-
-    Random randomGen = new Random();
+      boolean maxProvided,
+      Random randomGen) {
 
     int actualNumTasks = numTasks;
     int actualNumCores = numCores;
@@ -216,6 +244,21 @@ public class Util {
    * @return matrix with random values
    */
   public static double[][] createRandomMatrix(int numRows, int numCols) {
+    return createRandomMatrix(numRows, numCols, ThreadLocalRandom.current());
+  }
+
+  /**
+   * Get a matrix with random values.
+   *
+   * @param numRows
+   *          number of rows
+   * @param numCols
+   *          number of columns
+   * @param randomGen
+   *          random generator
+   * @return matrix with random values
+   */
+  public static double[][] createRandomMatrix(int numRows, int numCols, Random randomGen) {
     // Verify
     assert numRows > 0;
     assert numCols > 0;
@@ -223,7 +266,7 @@ public class Util {
     double[][] randMatrix = new double[numRows][];
 
     for (int currRow = 0; currRow < numRows; currRow++) {
-      randMatrix[currRow] = createRandomRow(numCols);
+      randMatrix[currRow] = createRandomRow(numCols, randomGen);
     }
 
     return randMatrix;
@@ -237,9 +280,19 @@ public class Util {
    * @return random matrix row
    */
   public static double[] createRandomRow(int columns) {
+    return createRandomRow(columns, ThreadLocalRandom.current());
+  }
 
-    Random randomGen = new Random();
-
+  /**
+   * Create a random matrix row.
+   *
+   * @param columns
+   *          number of columns
+   * @param randomGen
+   *          random generator
+   * @return random matrix row
+   */
+  public static double[] createRandomRow(int columns, Random randomGen) {
     return randomGen.doubles(columns).toArray();
   }
 
@@ -313,7 +366,9 @@ public class Util {
       tasks[i] = env.addTask(etc[i]);
     }
 
-    // Add dependencies
+    // Add dependencies checking for cycles only once
+    env.startBulkLoad();
+
     for (int i = 0; i < env.getNumberOfTasks(); i++) {
       for (int j = 0; j < env.getNumberOfTasks(); j++) {
         if (delta[i][j] == 0) {
@@ -326,6 +381,8 @@ public class Util {
       }
     }
 
+    env.finishBulkLoad();
+
   }
 
   /**
@@ -364,22 +421,27 @@ public class Util {
    *          number of cores
    * @param maxProvided
    *          numTasks and numCores are maximum values if true or exact values if false
+   * @param randomProvider
+   *          random numbers provider, also set as the provider of the HCE
    * @return random heterogeneous computing environment
    */
   protected static HeterogeneousComputingEnv ofRandom(
       int numTasks,
       int numCores,
-      boolean maxProvided) {
-
-    HeterogeneousComputingEnv env = createRandomEnv(numTasks, numCores, maxProvided);
+      boolean maxProvided,
+      RandomProvider randomProvider) {
+    Random randomGen = randomProvider.getRandom();
+    HeterogeneousComputingEnv env = createRandomEnv(numTasks, numCores, maxProvided, randomGen);
 
     // Create random dependencies, communication costs and etc matrices
-    double[][] delta = createRandomDependencyMatrix(env.getNumberOfTasks());
-    double[][] commCost = createRandomCommunicationCostsMatrix(delta);
-    double[][] etc = createRandomMatrix(env.getNumberOfTasks(), env.getNumberOfExecutors());
+    double[][] delta = createRandomDependencyMatrix(env.getNumberOfTasks(), randomGen);
+    double[][] commCost = createRandomCommunicationCostsMatrix(delta, randomGen);
+    double[][] etc =
+        createRandomMatrix(env.getNumberOfTasks(), env.getNumberOfExecutors(), randomGen);
 
     // Build the graph
     graphBuilder(env, delta, commCost, etc);
+    env.setRandomProvider(randomProvider);
 
     return env;
 
@@ -393,21 +455,28 @@ public class Util {
    *          number of tasks
    * @param numCores
    *          number of cores
+   * @param maxProvided
+   *          numTasks and numCores are maximum values if true or exact values if false
+   * @param randomProvider
+   *          random numbers provider, also set as the provider of the HCE
    * @return random heterogeneous computing environment
    */
   protected static HeterogeneousComputingEnv ofRandomUnitary(
       int numTasks,
       int numCores,
-      boolean maxProvided) {
-    HeterogeneousComputingEnv env = createRandomEnv(numTasks, numCores, maxProvided);
+      boolean maxProvided,
+      RandomProvider randomProvider) {
+    Random randomGen = randomProvider.getRandom();
+    HeterogeneousComputingEnv env = createRandomEnv(numTasks, numCores, maxProvided, randomGen);
 
     // Create random dependencies, communication costs and etc matrices
-    double[][] delta = createRandomDependencyMatrix(env.getNumberOfTasks());
+    double[][] delta = createRandomDependencyMatrix(env.getNumberOfTasks(), randomGen);
     double[][] commCost = copyMatrix(delta);
     double[][] etc = createOnesMatrix(env.getNumberOfTasks(), env.getNumberOfExecutors());
 
     // Build the graph
     graphBuilder(env, delta, commCost, etc);
+    env.setRandomProvider(randomProvider);
 
     return env;
 
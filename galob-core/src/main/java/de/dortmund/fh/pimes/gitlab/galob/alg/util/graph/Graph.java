@@ -0,0 +1,552 @@
+/*
+ * Genetic Algorithm for Load Balancing
+ * Copyright (c) 2016-2017 Pedro Cuadra & Sudheera Reddy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Pedro Cuadra (pjcuadra@gmail.com)
+ *    Sudheera Reddy
+ */
+
+package de.dortmund.fh.pimes.gitlab.galob.alg.util.graph;
+
+import org.jgrapht.alg.CycleDetector;
+import org.jgrapht.experimental.dag.DirectedAcyclicGraph.CycleFoundException;
+import org.jgrapht.graph.DefaultDirectedGraph;
+import org.jgrapht.graph.DefaultWeightedEdge;
+import org.jgrapht.traverse.TopologicalOrderIterator;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+
+/**
+ * Graph representation of a HCE.
+ *
+ * @author Pedro Cuadra
+ *
+ */
+public class Graph extends DefaultDirectedGraph<GraphNode, DefaultWeightedEdge> {
+  /**
+   * Cycle found exception.
+   */
+  public static class CycleException extends RuntimeException {
+    /**
+     * Serial Version UID.
+     */
+    private static final long serialVersionUID = 1L;
+
+  }
+
+  /**
+   * Panel class to handle graphical representation of graph.
+   *
+   * @author Pedro Cuadra
+   *
+   */
+
+  /**
+   * Serial version UID.
+   */
+  private static final long serialVersionUID = 1L;
+  /**
+   * Topological levels (built on demand).
+   */
+  private transient volatile TopologicalLevels levels;
+  /**
+   * Id to nod map.
+   */
+  private HashMap<Integer, GraphNode> nodeId;
+  /**
+   * Has cycles flag.
+   */
+  private boolean hasCycles;
+  /**
+   * Position of every node in a topological order. It's kept up to date incrementally on every
+   * dependency insertion and is only meaningful while the graph has no cycles.
+   */
+  private HashMap<GraphNode, Integer> topologicalOrder;
+  /**
+   * Next free position in the topological order.
+   */
+  private int nextOrder;
+  /**
+   * Bulk load flag. Cycle checks are deferred until the bulk load finishes.
+   */
+  private boolean bulkLoad;
+
+  /**
+   * Constructor.
+   */
+  public Graph() {
+    super(new GraphEdgeFactory());
+
+    nodeId = new HashMap<Integer, GraphNode>();
+
+    topologicalOrder = new HashMap<GraphNode, Integer>();
+
+  }
+
+  /**
+   * Add dependency between nodes with custom communication cost.
+   *
+   * @param nodeSrc
+   *          source node
+   * @param nodeDst
+   *          destination node
+   * @param cost
+   *          communication cost
+   * @throws CycleFoundException
+   *           cycle found
+   */
+  public void addDependency(GraphNode nodeSrc, GraphNode nodeDst, double cost) {
+    addDependencySafe(nodeSrc, nodeDst, cost);
+
+    // Force topological level rebuild
+    levels = null;
+
+    // Adding dependencies can't break an existing cycle and bulk loads are checked at the end
+    if (bulkLoad || hasCycles) {
+      return;
+    }
+
+    hasCycles = !updateTopologicalOrder(nodeSrc, nodeDst);
+
+  }
+
+  /**
+   * Start loading dependencies in bulk. Cycles aren't checked while loading, so
+   * {@link #checkCycles()} isn't reliable until {@link #finishBulkLoad()} is called.
+   */
+  public void startBulkLoad() {
+    bulkLoad = true;
+  }
+
+  /**
+   * Check if dependencies are being loaded in bulk.
+   *
+   * @return true between {@link #startBulkLoad()} and {@link #finishBulkLoad()}
+   */
+  protected boolean isBulkLoading() {
+    return bulkLoad;
+  }
+
+  /**
+   * Finish loading dependencies in bulk and check for cycles once for the whole graph.
+   */
+  public void finishBulkLoad() {
+    bulkLoad = false;
+
+    detectCycles();
+
+    // Force topological level rebuild
+    levels = null;
+  }
+
+  /**
+   * Check the whole graph for cycles and rebuild the topological order if it's acyclic.
+   */
+  private void detectCycles() {
+    CycleDetector<GraphNode, DefaultWeightedEdge> cd =
+        new CycleDetector<GraphNode, DefaultWeightedEdge>(this);
+
+    hasCycles = cd.detectCycles();
+
+    if (hasCycles) {
+      return;
+    }
+
+    TopologicalOrderIterator<GraphNode, DefaultWeightedEdge> iterator =
+        new TopologicalOrderIterator<GraphNode, DefaultWeightedEdge>(this);
+
+    nextOrder = 0;
+
+    while (iterator.hasNext()) {
+      topologicalOrder.put(iterator.next(), nextOrder++);
+    }
+  }
+
+  /**
+   * Update the topological order after adding a dependency. Pearce-Kelly online algorithm, only
+   * the nodes between the destination and the source in the current order are visited and
+   * reordered.
+   *
+   * @param nodeSrc
+   *          source node
+   * @param nodeDst
+   *          destination node
+   * @return false if the dependency closes a cycle and true otherwise
+   */
+  private boolean updateTopologicalOrder(GraphNode nodeSrc, GraphNode nodeDst) {
+    int lowerBound = topologicalOrder.get(nodeDst);
+    int upperBound = topologicalOrder.get(nodeSrc);
+
+    // The current order already satisfies the dependency
+    if (lowerBound > upperBound) {
+      return true;
+    }
+
+    // Self loop
+    if (lowerBound == upperBound) {
+      return false;
+    }
+
+    // Nodes reachable from the destination that are ordered before the source
+    ArrayList<GraphNode> forward = new ArrayList<GraphNode>();
+
+    if (!collectAffectedNodes(nodeDst, nodeSrc, upperBound, true, forward)) {
+      return false;
+    }
+
+    // Nodes reaching the source that are ordered after the destination
+    ArrayList<GraphNode> backward = new ArrayList<GraphNode>();
+    collectAffectedNodes(nodeSrc, null, lowerBound, false, backward);
+
+    Comparator<GraphNode> byOrder = Comparator.comparingInt(node -> topologicalOrder.get(node));
+    forward.sort(byOrder);
+    backward.sort(byOrder);
+
+    // Reuse the positions of the affected nodes placing the backward ones first
+    int[] positions = new int[forward.size() + backward.size()];
+    int idx = 0;
+
+    for (GraphNode node : backward) {
+      positions[idx++] = topologicalOrder.get(node);
+    }
+
+    for (GraphNode node : forward) {
+      positions[idx++] = topologicalOrder.get(node);
+    }
+
+    Arrays.sort(positions);
+    idx = 0;
+
+    for (GraphNode node : backward) {
+      topologicalOrder.put(node, positions[idx++]);
+    }
+
+    for (GraphNode node : forward) {
+      topologicalOrder.put(node, positions[idx++]);
+    }
+
+    return true;
+  }
+
+  /**
+   * Collect the nodes affected by a new dependency with a depth first search bounded by the
+   * topological order.
+   *
+   * @param start
+   *          node to start the search from
+   * @param target
+   *          node that closes a cycle if reached (null for none)
+   * @param bound
+   *          only nodes before (forward) or after (backward) this position are visited
+   * @param forward
+   *          follow outgoing dependencies if true and incoming otherwise
+   * @param visited
+   *          list to store the visited nodes
+   * @return false if the target was reached and true otherwise
+   */
+  private boolean collectAffectedNodes(GraphNode start, GraphNode target, int bound,
+      boolean forward, ArrayList<GraphNode> visited) {
+    HashSet<GraphNode> seen = new HashSet<GraphNode>();
+    ArrayDeque<GraphNode> stack = new ArrayDeque<GraphNode>();
+
+    seen.add(start);
+    stack.push(start);
+
+    while (!stack.isEmpty()) {
+      GraphNode node = stack.pop();
+      visited.add(node);
+
+      for (DefaultWeightedEdge edge : forward ? outgoingEdgesOf(node) : incomingEdgesOf(node)) {
+        GraphNode next = forward ? getEdgeTarget(edge) : getEdgeSource(edge);
+
+        if (next.equals(target)) {
+          return false;
+        }
+
+        int order = topologicalOrder.get(next);
+        boolean inBound = forward ? order < bound : order > bound;
+
+        if (inBound && seen.add(next)) {
+          stack.push(next);
+        }
+      }
+    }
+
+    return true;
+  }
+
+  /**
+   * Add dependency without checking for cycles.
+   *
+   * @param nodeSrc
+   *          source node
+   * @param nodeDst
+   *          destination node
+   * @param cost
+   *          communication cost
+   */
+  private void addDependencySafe(GraphNode nodeSrc, GraphNode nodeDst, double cost) {
+    DefaultWeightedEdge edge = this.getEdge(nodeSrc, nodeDst);
+
+    // Multiple edges are merged together summing their costs
+    if (edge != null) {
+      setEdgeWeight(edge, getEdgeWeight(edge) + cost);
+      return;
+    }
+
+    edge = this.getEdgeFactory().createEdge(nodeSrc, nodeDst);
+    addEdge(nodeSrc, nodeDst, edge);
+    setEdgeWeight(edge, cost);
+
+  }
+
+  /**
+   * Add a dependency known not to exist yet while loading in bulk. Unlike
+   * {@link #addDependency(GraphNode, GraphNode, double)} it doesn't look for an existing
+   * dependency to merge with, so callers shall merge multiple dependencies beforehand.
+   *
+   * @param nodeSrc
+   *          source node
+   * @param nodeDst
+   *          destination node
+   * @param cost
+   *          communication cost
+   */
+  protected void addUniqueDependency(GraphNode nodeSrc, GraphNode nodeDst, double cost) {
+    assert bulkLoad : "Unique dependencies can only be added in bulk loads";
+
+    DefaultWeightedEdge edge = this.getEdgeFactory().createEdge(nodeSrc, nodeDst);
+
+    addEdge(nodeSrc, nodeDst, edge);
+    setEdgeWeight(edge, cost);
+
+    // Force topological level rebuild
+    levels = null;
+  }
+
+  /*
+   * (non-Javadoc)
+   *
+   * @see org.jgrapht.graph.AbstractBaseGraph#addVertex(java.lang.Object)
+   */
+  @Override
+  public boolean addVertex(GraphNode node) {
+
+    nodeId.put(node.getTaskId(), node);
+
+    // New nodes have no dependencies so they go at the end of the order
+    if (!topologicalOrder.containsKey(node)) {
+      topologicalOrder.put(node, nextOrder++);
+    }
+
+    // Force topological level rebuild
+    levels = null;
+
+    return super.addVertex(node);
+
+  }
+
+  /**
+   * Get the topological levels of the graph. They're computed once and shared until the graph
+   * changes.
+   *
+   * @return topological levels
+   */
+  public TopologicalLevels getTopologicalLevels() {
+    TopologicalLevels result = levels;
+
+    if (result != null) {
+      return result;
+    }
+
+    // Check for cycles before
+    if (checkCycles()) {
+      throw new CycleException();
+    }
+
+    // Only publish the fully built levels
+    result = TopologicalLevels.of(this);
+    levels = result;
+
+    return result;
+  }
+
+  /**
+   * Check if there are cycles in the graph.
+   *
+   * @return true if the graph has cycles and false otherwise
+   */
+  public boolean checkCycles() {
+    return this.hasCycles;
+  }
+
+  /*
+   * (non-Javadoc)
+   *
+   * @see org.jgrapht.graph.AbstractBaseGraph#clone()
+   */
+  @Override
+  public Graph clone() {
+    Graph graph = new Graph();
+
+    assert !this.hasCycles;
+
+    // Copy all vertex
+    for (GraphNode node : this.vertexSet()) {
+      GraphNode newNode = node.clone();
+
+      graph.addVertex(newNode);
+      graph.topologicalOrder.put(newNode, topologicalOrder.get(node));
+    }
+
+    graph.nextOrder = nextOrder;
+
+    // Copy all edges
+    for (DefaultWeightedEdge edge : this.edgeSet()) {
+      GraphNode src = this.getEdgeSource(edge);
+      GraphNode dst = this.getEdgeTarget(edge);
+
+      double weight = this.getEdgeWeight(edge);
+
+      // Get the actual nodes in the current graph
+      src = graph.getGraphNodeById(src.getTaskId());
+      dst = graph.getGraphNodeById(dst.getTaskId());
+
+      graph.addDependencySafe(src, dst, weight);
+
+    }
+
+    // This shouldn't be created again.
+    graph.levels = levels;
+
+    return graph;
+  }
+
+  /**
+   * Get communication cost between to tasks.
+   *
+   * @param nodeSrc
+   *          source node
+   * @param nodeDst
+   *          destination node
+   * @return communication cost (zero for non-existing edges)
+   */
+  public double getCommunicationCost(GraphNode nodeSrc, GraphNode nodeDst) {
+    if (this.getEdge(nodeSrc, nodeDst) == null) {
+      return 0;
+    }
+    return this.getEdgeWeight(this.getEdge(nodeSrc, nodeDst));
+  }
+
+  /**
+   * Remove dependency.
+   *
+   * @param nodeSrc
+   *          source node
+   * @param nodeDst
+   *          destination node
+   */
+  public void removeDependency(GraphNode nodeSrc, GraphNode nodeDst) {
+    // Assert that the vertexes are part of the Graph
+    assert this.containsVertex(nodeSrc);
+    assert this.containsVertex(nodeDst);
+
+    DefaultWeightedEdge edge = this.getEdge(nodeSrc, nodeDst);
+
+    if (edge == null) {
+      return;
+    }
+
+    // Remove edge from graph
+    this.removeEdge(edge);
+
+    // Removing a dependency keeps an acyclic graph acyclic, only existing cycles are rechecked
+    if (hasCycles && !bulkLoad) {
+      detectCycles();
+    }
+
+    // Force topological level rebuild
+    levels = null;
+
+  }
+
+  /**
+   * Get the graph object.
+   *
+   * @return graph object
+   */
+  protected Graph getGraph() {
+    return this;
+  }
+
+  /**
+   * Get graph node by it's internal id. (For testing)
+   *
+   * @param id
+   *          id of the task
+   * @return graph node with given id
+   */
+  public GraphNode getGraphNodeById(int id) {
+    return nodeId.get(new Integer(id));
+  }
+
+  /**
+   * Get the maximum topological level.
+   *
+   * @return maximum topological level
+   */
+  public int getMaxTopologicalLevel() {
+    return getTopologicalLevels().getNumberOfLevels();
+  }
+
+  /**
+   * Get topological level of a node.
+   *
+   * @param taskId
+   *          task id
+   * @return topological level of given node
+   */
+  public int getNodeTopologicalLevel(int taskId) {
+    return getTopologicalLevels().getLevel(taskId);
+  }
+
+  /**
+   * Get the list of nodes in a given topological level.
+   *
+   * @param topoIndex
+   *          topological level index
+   * @return new list of nodes in the topological level
+   */
+  public ArrayList<GraphNode> getTologicalLevelNodes(int topoIndex) {
+    TopologicalLevels topoLevels = getTopologicalLevels();
+
+    assert topoIndex < topoLevels.getNumberOfLevels() : "Out of bound topological level";
+
+    ArrayList<GraphNode> nodes = new ArrayList<GraphNode>(topoLevels.getLevelSize(topoIndex));
+
+    for (int i = 0; i < topoLevels.getLevelSize(topoIndex); i++) {
+      nodes.add(getGraphNodeById(topoLevels.getMember(topoIndex, i)));
+    }
+
+    return nodes;
+  }
+
+}
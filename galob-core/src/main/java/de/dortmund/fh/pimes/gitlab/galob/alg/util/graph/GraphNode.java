@@ -21,7 +21,6 @@
 
 package de.dortmund.fh.pimes.gitlab.galob.alg.util.graph;
 
-import java.util.Arrays;
 import java.util.HashMap;
 
 /**
@@ -54,7 +53,7 @@ public class GraphNode {
    */
   public GraphNode(int taskId, double[] etcRow) {
     this.setTaskId(taskId);
-    this.setEtcRow(Arrays.stream(etcRow).toArray());
+    this.setEtcRow(etcRow.clone());
     cookieHash = new HashMap<Object, Object>();
   }
 
@@ -83,7 +82,7 @@ public class GraphNode {
    * @return expected time to compute for all cores
    */
   public double[] getEtcRow() {
-    return Arrays.stream(etcRow).toArray();
+    return etcRow.clone();
   }
 
   /**
@@ -170,4 +169,10 @@ public class GraphNode {
 
     return true;
   }
+
+  @Override
+  public int hashCode() {
+    // Consistent with equals, nodes with different task IDs are never equal
+    return Integer.hashCode(getTaskId());
+  }
 }
@@ -0,0 +1,200 @@
+/*
+ * Genetic Algorithm for Load Balancing
+ * Copyright (c) 2016-2017 Pedro Cuadra & Sudheera Reddy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Pedro Cuadra (pjcuadra@gmail.com)
+ *    Sudheera Reddy
+ */
+
+
+package de.dortmund.fh.pimes.gitlab.galob.alg.util.graph;
+
+import org.jgrapht.graph.DefaultWeightedEdge;
+
+import java.util.Arrays;
+
+/**
+ * Topological levels of a graph. The level of a node is the length of the longest dependency
+ * path reaching it. Levels are stored in flat arrays, the members of level l are
+ * levelMembers[levelOffsets[l]] to levelMembers[levelOffsets[l + 1] - 1]. Instances are
+ * immutable and can be safely shared between threads.
+ *
+ * @author Pedro Cuadra
+ *
+ */
+public final class TopologicalLevels {
+  /**
+   * Topological level of every task (-1 for task IDs without node).
+   */
+  private final int[] levelOfTask;
+  /**
+   * Offset of every level in the members array.
+   */
+  private final int[] levelOffsets;
+  /**
+   * Task IDs grouped by level.
+   */
+  private final int[] levelMembers;
+
+  /**
+   * Constructor.
+   *
+   * @param levelOfTask
+   *          topological level of every task
+   * @param levelOffsets
+   *          offset of every level in the members array
+   * @param levelMembers
+   *          task IDs grouped by level
+   */
+  private TopologicalLevels(int[] levelOfTask, int[] levelOffsets, int[] levelMembers) {
+    this.levelOfTask = levelOfTask;
+    this.levelOffsets = levelOffsets;
+    this.levelMembers = levelMembers;
+  }
+
+  /**
+   * Compute the topological levels of an acyclic graph. Kahn's algorithm visits every node and
+   * dependency once.
+   *
+   * @param graph
+   *          acyclic graph
+   * @return topological levels of the graph
+   */
+  static TopologicalLevels of(Graph graph) {
+    int numTasks = 0;
+
+    for (GraphNode node : graph.vertexSet()) {
+      numTasks = Math.max(numTasks, node.getTaskId() + 1);
+    }
+
+    int[] levelOfTask = new int[numTasks];
+    int[] inDegree = new int[numTasks];
+    int[] queue = new int[numTasks];
+    int head = 0;
+    int tail = 0;
+
+    Arrays.fill(levelOfTask, -1);
+
+    // Start with the nodes without dependencies
+    for (GraphNode node : graph.vertexSet()) {
+      int taskId = node.getTaskId();
+
+      inDegree[taskId] = graph.inDegreeOf(node);
+      levelOfTask[taskId] = 0;
+
+      if (inDegree[taskId] == 0) {
+        queue[tail++] = taskId;
+      }
+    }
+
+    int numLevels = 0;
+
+    while (head < tail) {
+      int taskId = queue[head++];
+      int level = levelOfTask[taskId];
+
+      numLevels = Math.max(numLevels, level + 1);
+
+      // Successors are at least one level deeper
+      for (DefaultWeightedEdge edge : graph.outgoingEdgesOf(graph.getGraphNodeById(taskId))) {
+        int succId = graph.getEdgeTarget(edge).getTaskId();
+
+        levelOfTask[succId] = Math.max(levelOfTask[succId], level + 1);
+
+        if (--inDegree[succId] == 0) {
+          queue[tail++] = succId;
+        }
+      }
+    }
+
+    assert tail == graph.vertexSet().size() : "Cycle found!";
+
+    // Counting sort of the tasks by level
+    int[] levelOffsets = new int[numLevels + 1];
+
+    for (int taskId = 0; taskId < numTasks; taskId++) {
+      if (levelOfTask[taskId] >= 0) {
+        levelOffsets[levelOfTask[taskId] + 1]++;
+      }
+    }
+
+    for (int level = 0; level < numLevels; level++) {
+      levelOffsets[level + 1] += levelOffsets[level];
+    }
+
+    int[] levelMembers = new int[tail];
+    int[] next = Arrays.copyOf(levelOffsets, numLevels);
+
+    for (int taskId = 0; taskId < numTasks; taskId++) {
+      if (levelOfTask[taskId] >= 0) {
+        levelMembers[next[levelOfTask[taskId]]++] = taskId;
+      }
+    }
+
+    return new TopologicalLevels(levelOfTask, levelOffsets, levelMembers);
+  }
+
+  /**
+   * Get the number of topological levels.
+   *
+   * @return number of topological levels
+   */
+  public int getNumberOfLevels() {
+    return levelOffsets.length - 1;
+  }
+
+  /**
+   * Get the topological level of a task.
+   *
+   * @param taskId
+   *          task ID
+   * @return topological level of the task
+   */
+  public int getLevel(int taskId) {
+    assert taskId < levelOfTask.length && levelOfTask[taskId] >= 0 : "Invalid task ID";
+
+    return levelOfTask[taskId];
+  }
+
+  /**
+   * Get the number of tasks in a topological level.
+   *
+   * @param level
+   *          topological level
+   * @return number of tasks in the level
+   */
+  public int getLevelSize(int level) {
+    assert level < getNumberOfLevels() : "Out of bound topological level";
+
+    return levelOffsets[level + 1] - levelOffsets[level];
+  }
+
+  /**
+   * Get a task of a topological level.
+   *
+   * @param level
+   *          topological level
+   * @param index
+   *          index of the task within the level
+   * @return task ID
+   */
+  public int getMember(int level, int index) {
+    assert index < getLevelSize(level) : "Out of bound level member";
+
+    return levelMembers[levelOffsets[level] + index];
+  }
+
+}
@@ -0,0 +1,114 @@
+/*
+ * Genetic Algorithm for Load Balancing
+ * Copyright (c) 2016-2017 Pedro Cuadra & Sudheera Reddy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Pedro Cuadra (pjcuadra@gmail.com)
+ *    Sudheera Reddy
+ */
+
+
+package de.dortmund.fh.pimes.gitlab.galob.alg.util.jenetics;
+
+import de.dortmund.fh.pimes.gitlab.galob.alg.LoadBalancingFitnessCalculator;
+import de.dortmund.fh.pimes.gitlab.galob.alg.util.HeterogeneousComputingEnv;
+import de.dortmund.fh.pimes.gitlab.galob.alg.util.SimulatedAnnealing;
+
+import org.jenetics.Optimize;
+import org.jenetics.engine.Engine;
+
+/**
+ * Factory of load balancing engines for the islands of an {@link IslandRunner}. Every engine gets
+ * its own fitness calculator, operators and simulated annealing, and evaluates its population in
+ * the island's thread.
+ *
+ * @author Pedro Cuadra
+ *
+ */
+public final class IslandEngineFactory {
+  /**
+   * Default gamma value of simulated annealing.
+   */
+  public static final double DEFAULT_SA_GAMMA_COOLING_FACTOR = 0.9;
+  /**
+   * Default initial temperature of simulated annealing.
+   */
+  public static final double DEFAULT_SA_INITIAL_TEMPERATURE = 900;
+  /**
+   * Default mutation probability.
+   */
+  public static final double DEFAULT_MUTATION_PROBABILITY = 0.01;
+  /**
+   * Default crossover probability.
+   */
+  public static final double DEFAULT_CROSSOVER_PROBABILITY = 0.50;
+  /**
+   * Default population size of every island.
+   */
+  public static final int DEFAULT_POPULATION_SIZE = 15;
+
+  /**
+   * Constructor.
+   */
+  private IslandEngineFactory() {
+  }
+
+  /**
+   * Create the engine of an island with the default settings.
+   *
+   * @param env
+   *          heterogeneous computing environment
+   * @return evolution engine
+   */
+  public static Engine<ScheduleGene, Double> createEngine(HeterogeneousComputingEnv env) {
+    return createEngine(env, DEFAULT_POPULATION_SIZE, DEFAULT_MUTATION_PROBABILITY,
+        DEFAULT_CROSSOVER_PROBABILITY, DEFAULT_SA_GAMMA_COOLING_FACTOR,
+        DEFAULT_SA_INITIAL_TEMPERATURE);
+  }
+
+  /**
+   * Create the engine of an island.
+   *
+   * @param env
+   *          heterogeneous computing environment
+   * @param populationSize
+   *          population size
+   * @param mutationProbability
+   *          mutation probability
+   * @param crossoverProbability
+   *          crossover probability
+   * @param gamma
+   *          gamma value of simulated annealing
+   * @param initialTemperature
+   *          initial temperature of simulated annealing
+   * @return evolution engine
+   */
+  public static Engine<ScheduleGene, Double> createEngine(HeterogeneousComputingEnv env,
+      int populationSize, double mutationProbability, double crossoverProbability, double gamma,
+      double initialTemperature) {
+    LoadBalancingFitnessCalculator loadBal = new LoadBalancingFitnessCalculator(env);
+    SimulatedAnnealing simAnn =
+        new SimulatedAnnealing(gamma, initialTemperature, loadBal, Optimize.MINIMUM);
+
+    return Engine.builder(loadBal::getFitness, new ScheduleCodec(env).ofChromosome())
+        .populationSize(populationSize)
+        .optimize(Optimize.MINIMUM)
+        .executor(Runnable::run)
+        .alterers(new ScheduleMutator(env, mutationProbability, simAnn),
+            new ScheduleCrossover(env, crossoverProbability, simAnn))
+        .build();
+  }
+
+}
@@ -0,0 +1,494 @@
+/*
+ * Genetic Algorithm for Load Balancing
+ * Copyright (c) 2016-2017 Pedro Cuadra & Sudheera Reddy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Pedro Cuadra (pjcuadra@gmail.com)
+ *    Sudheera Reddy
+ */
+
+
+package de.dortmund.fh.pimes.gitlab.galob.alg.util.jenetics;
+
+import de.dortmund.fh.pimes.gitlab.galob.alg.util.HeterogeneousComputingEnv;
+import de.dortmund.fh.pimes.gitlab.galob.alg.util.RandomProvider;
+
+import org.jenetics.Genotype;
+import org.jenetics.Optimize;
+import org.jenetics.Phenotype;
+import org.jenetics.Population;
+import org.jenetics.engine.Engine;
+import org.jenetics.engine.EvolutionResult;
+import org.jenetics.engine.EvolutionStream;
+import org.jenetics.util.RandomRegistry;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+
+/**
+ * Island model runner. Evolves several engines (islands) in parallel against the same HCE, each on
+ * its own thread, and migrates the best individuals of every island to another island every
+ * given number of generations.
+ *
+ * <p>Every island has its own random stream, split from the HCE's random provider in island order
+ * when the runner is created. The stream is bound to the thread evolving the island, both for the
+ * scheduling operators and for jenetics' {@code RandomRegistry}, so runs with a seeded provider
+ * are reproducible. Every engine should have its own operators and simulated annealing (see
+ * {@link ScheduleMutator#ScheduleMutator(HeterogeneousComputingEnv, double,
+ * de.dortmund.fh.pimes.gitlab.galob.alg.util.SimulatedAnnealing)}) and evaluate its population in
+ * the island's thread (e.g. {@code executor(Runnable::run)}).
+ *
+ * <p>With a {@link MigrationTransport} the runner also exchanges migrants with islands running in
+ * other processes: on every migration it sends its best individuals and spreads the received
+ * schedules over its islands, and it sends its best individual once the run finishes.
+ *
+ * @author Pedro Cuadra
+ *
+ */
+public class IslandRunner {
+  /**
+   * Migration topologies.
+   */
+  public enum Migration {
+    /**
+     * Every island sends its migrants to the next island.
+     */
+    RING,
+    /**
+     * Every island sends its migrants to a randomly chosen island.
+     */
+    RANDOM
+  }
+
+  /**
+   * Island state.
+   */
+  private static class Island {
+    /**
+     * Evolution engine.
+     */
+    private final Engine<ScheduleGene, Double> engine;
+    /**
+     * Current population or null if the island didn't evolve yet.
+     */
+    private Population<ScheduleGene, Double> population;
+    /**
+     * Next generation.
+     */
+    private long generation = 1;
+    /**
+     * Best phenotype found by the island.
+     */
+    private Phenotype<ScheduleGene, Double> best;
+    /**
+     * Random stream of the island.
+     */
+    private final Random random;
+
+    /**
+     * Constructor.
+     *
+     * @param engine
+     *          evolution engine
+     * @param random
+     *          random stream of the island
+     */
+    Island(Engine<ScheduleGene, Double> engine, Random random) {
+      this.engine = engine;
+      this.random = random;
+    }
+
+    /**
+     * Evolve the island in the current thread with the island's random stream.
+     *
+     * @param provider
+     *          random provider the island's stream was split from
+     * @param generations
+     *          number of generations
+     */
+    void evolve(RandomProvider provider, long generations) {
+      provider.setRandom(random);
+
+      EvolutionResult<ScheduleGene, Double> last = RandomRegistry.with(random, r -> {
+        EvolutionStream<ScheduleGene, Double> stream =
+            population == null ? engine.stream() : engine.stream(population, generation);
+
+        return stream.limit(generations)
+            .peek(result -> best = best(engine.getOptimize(), best, result.getBestPhenotype()))
+            .reduce((first, second) -> second)
+            .get();
+      });
+
+      population = last.getPopulation().copy();
+      generation = last.getGeneration() + 1;
+    }
+
+    /**
+     * Get the best individuals of the island.
+     *
+     * @param count
+     *          number of individuals
+     * @return best individuals, best first
+     */
+    List<Phenotype<ScheduleGene, Double>> getBest(int count) {
+      Population<ScheduleGene, Double> sorted = population.copy();
+
+      sorted.sortWith(engine.getOptimize().<Double>descending());
+
+      return new ArrayList<>(sorted.subList(0, Math.min(count, sorted.size())));
+    }
+
+    /**
+     * Replace the worst individuals of the island with migrants.
+     *
+     * @param migrants
+     *          incoming individuals
+     */
+    void receive(List<Phenotype<ScheduleGene, Double>> migrants) {
+      population.sortWith(engine.getOptimize().<Double>descending());
+
+      for (int i = 0; i < Math.min(migrants.size(), population.size()); i++) {
+        population.set(population.size() - 1 - i, migrants.get(i));
+      }
+    }
+  }
+
+  /**
+   * Heterogeneous computing environment.
+   */
+  private final HeterogeneousComputingEnv env;
+  /**
+   * Islands.
+   */
+  private final List<Island> islands;
+  /**
+   * Migration topology.
+   */
+  private final Migration migration;
+  /**
+   * Number of generations between migrations.
+   */
+  private final long interval;
+  /**
+   * Number of individuals every island sends on each migration.
+   */
+  private final int numMigrants;
+  /**
+   * Random stream of the random migration topology.
+   */
+  private final Random migrationRandom;
+  /**
+   * Transport to islands of other processes or null.
+   */
+  private MigrationTransport transport = null;
+
+  /**
+   * Constructor.
+   *
+   * @param env
+   *          heterogeneous computing environment shared by all islands
+   * @param numIslands
+   *          number of islands
+   * @param engineFactory
+   *          creates the engine of every island given its index
+   * @param migration
+   *          migration topology
+   * @param interval
+   *          number of generations between migrations
+   * @param numMigrants
+   *          number of individuals every island sends on each migration
+   */
+  public IslandRunner(HeterogeneousComputingEnv env, int numIslands,
+      IntFunction<Engine<ScheduleGene, Double>> engineFactory, Migration migration,
+      long interval, int numMigrants) {
+    assert numIslands > 0 : "Number of islands shall be greater than 0";
+    assert interval > 0 : "Migration interval shall be greater than 0";
+    assert numMigrants >= 0 : "Number of migrants shall be positive";
+
+    this.env = env;
+    this.migration = migration;
+    this.interval = interval;
+    this.numMigrants = numMigrants;
+    this.islands = new ArrayList<>(numIslands);
+
+    // Streams are split in island order so seeded runs are reproducible
+    for (int i = 0; i < numIslands; i++) {
+      islands.add(new Island(engineFactory.apply(i), env.getRandomProvider().newRandom()));
+    }
+
+    this.migrationRandom = env.getRandomProvider().newRandom();
+  }
+
+  /**
+   * Evolve all islands. Consecutive runs continue from the current populations.
+   *
+   * @param generations
+   *          number of generations evolved by every island
+   * @return best phenotype of all islands
+   * @throws InterruptedException
+   *           if interrupted while waiting for the islands
+   */
+  public Phenotype<ScheduleGene, Double> run(long generations) throws InterruptedException {
+    final RandomProvider provider = env.getRandomProvider();
+    List<ExecutorService> threads = new ArrayList<>(islands.size());
+
+    // One thread per island, islands bind their own random stream to it
+    for (int i = 0; i < islands.size(); i++) {
+      threads.add(Executors.newSingleThreadExecutor());
+    }
+
+    try {
+      long evolved = 0;
+
+      while (evolved < generations) {
+        final long steps = Math.min(interval, generations - evolved);
+        List<Future<?>> futures = new ArrayList<>(islands.size());
+
+        for (int i = 0; i < islands.size(); i++) {
+          Island island = islands.get(i);
+          futures.add(threads.get(i).submit(() -> island.evolve(provider, steps)));
+        }
+
+        for (Future<?> future : futures) {
+          waitFor(future);
+        }
+
+        evolved += steps;
+
+        // Populations are final after the last generation
+        if (evolved < generations) {
+          migrate();
+        }
+      }
+
+      if (transport != null) {
+        send(Collections.singletonList(getBestPhenotype()));
+      }
+    } finally {
+      for (ExecutorService thread : threads) {
+        thread.shutdownNow();
+      }
+    }
+
+    return getBestPhenotype();
+  }
+
+  /**
+   * Wait for an island to finish, propagating its failure.
+   *
+   * @param future
+   *          island evolution
+   * @throws InterruptedException
+   *           if interrupted while waiting
+   */
+  private static void waitFor(Future<?> future) throws InterruptedException {
+    try {
+      future.get();
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof Error) {
+        throw (Error) e.getCause();
+      }
+
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+
+      throw new IllegalStateException(e.getCause());
+    }
+  }
+
+  /**
+   * Migrate the best individuals of every island.
+   */
+  private void migrate() {
+    final int numIslands = islands.size();
+
+    if (numMigrants == 0) {
+      return;
+    }
+
+    if (transport != null) {
+      exchange();
+    }
+
+    if (numIslands < 2) {
+      return;
+    }
+
+    Random randomGen = migrationRandom;
+    List<List<Phenotype<ScheduleGene, Double>>> incoming = new ArrayList<>(numIslands);
+
+    for (int i = 0; i < numIslands; i++) {
+      incoming.add(new ArrayList<>());
+    }
+
+    // Select all migrants before any island is modified
+    for (int source = 0; source < numIslands; source++) {
+      int destination;
+
+      if (migration == Migration.RING) {
+        destination = (source + 1) % numIslands;
+      } else {
+        // Any island but the source
+        destination = randomGen.nextInt(numIslands - 1);
+
+        if (destination >= source) {
+          destination++;
+        }
+      }
+
+      incoming.get(destination).addAll(islands.get(source).getBest(numMigrants));
+    }
+
+    for (int i = 0; i < numIslands; i++) {
+      islands.get(i).receive(incoming.get(i));
+    }
+  }
+
+  /**
+   * Exchange migrants with the islands of other processes.
+   */
+  private void exchange() {
+    final Optimize opt = islands.get(0).engine.getOptimize();
+    Population<ScheduleGene, Double> emigrants = new Population<>();
+
+    for (Island island : islands) {
+      emigrants.addAll(island.getBest(numMigrants));
+    }
+
+    emigrants.sortWith(opt.<Double>descending());
+    send(emigrants.subList(0, Math.min(numMigrants, emigrants.size())));
+
+    List<ScheduleChromosome> immigrants;
+
+    try {
+      immigrants = transport.receive();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+
+    List<List<Phenotype<ScheduleGene, Double>>> incoming = new ArrayList<>(islands.size());
+
+    for (int i = 0; i < islands.size(); i++) {
+      incoming.add(new ArrayList<>());
+    }
+
+    // Spread the immigrants over the islands, the engines evaluate them on the next generation
+    for (int i = 0; i < immigrants.size(); i++) {
+      Island island = islands.get(i % islands.size());
+      Phenotype<ScheduleGene, Double> template = island.population.get(0);
+
+      incoming.get(i % islands.size())
+          .add(template.newInstance(Genotype.of(immigrants.get(i)), island.generation));
+    }
+
+    for (int i = 0; i < islands.size(); i++) {
+      islands.get(i).receive(incoming.get(i));
+    }
+  }
+
+  /**
+   * Send migrants through the transport.
+   *
+   * @param emigrants
+   *          outgoing individuals
+   */
+  private void send(List<Phenotype<ScheduleGene, Double>> emigrants) {
+    try {
+      transport.send(emigrants);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Get the best of two phenotypes.
+   *
+   * @param opt
+   *          optimization strategy
+   * @param first
+   *          first phenotype or null
+   * @param second
+   *          second phenotype or null
+   * @return best phenotype or null if both are null
+   */
+  private static Phenotype<ScheduleGene, Double> best(Optimize opt,
+      Phenotype<ScheduleGene, Double> first, Phenotype<ScheduleGene, Double> second) {
+    if (first == null) {
+      return second;
+    }
+
+    if (second == null) {
+      return first;
+    }
+
+    return opt.compare(second.getFitness(), first.getFitness()) > 0 ? second : first;
+  }
+
+  /**
+   * Get the best phenotype found by any island.
+   *
+   * @return best phenotype or null if the islands didn't evolve yet
+   */
+  public Phenotype<ScheduleGene, Double> getBestPhenotype() {
+    Phenotype<ScheduleGene, Double> best = null;
+
+    for (Island island : islands) {
+      best = best(island.engine.getOptimize(), best, island.best);
+    }
+
+    return best;
+  }
+
+  /**
+   * Get the best phenotype found by an island.
+   *
+   * @param index
+   *          island index
+   * @return best phenotype or null if the island didn't evolve yet
+   */
+  public Phenotype<ScheduleGene, Double> getBestPhenotype(int index) {
+    return islands.get(index).best;
+  }
+
+  /**
+   * Set the transport to islands of other processes.
+   *
+   * @param transport
+   *          migration transport or null to only migrate between local islands
+   */
+  public void setMigrationTransport(MigrationTransport transport) {
+    this.transport = transport;
+  }
+
+  /**
+   * Get the number of islands.
+   *
+   * @return number of islands
+   */
+  public int getNumberOfIslands() {
+    return islands.size();
+  }
+
+}
@@ -0,0 +1,200 @@
+/*
+ * Genetic Algorithm for Load Balancing
+ * Copyright (c) 2016-2017 Pedro Cuadra & Sudheera Reddy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Pedro Cuadra (pjcuadra@gmail.com)
+ *    Sudheera Reddy
+ */
+
+
+package de.dortmund.fh.pimes.gitlab.galob.alg.util.jenetics;
+
+import de.dortmund.fh.pimes.gitlab.galob.alg.LoadBalancingFitnessCalculator;
+import de.dortmund.fh.pimes.gitlab.galob.alg.util.HeterogeneousComputingEnv;
+
+import org.jenetics.Optimize;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs a multi-process island model on the local machine. Starts a {@link MigrationCoordinator} on
+ * the loopback interface and forks worker JVMs with the current class path.
+ *
+ * <p>The worker main class is run with the arguments {@code <host> <port> <hce file> <generations>
+ * <islands> <interval> <migrants>}. It shall load the HCE file, connect a
+ * {@link SocketMigrationTransport} to the coordinator and run an {@link IslandRunner}, exiting with
+ * a non-zero code on failure.
+ *
+ * @author Pedro Cuadra
+ *
+ */
+public class LocalIslandLauncher {
+  /**
+   * Time given to the coordinator to account for the workers' last frames, in milliseconds.
+   */
+  static final long DISCONNECT_TIMEOUT = 10000;
+
+  /**
+   * Heterogeneous computing environment.
+   */
+  private final HeterogeneousComputingEnv env;
+  /**
+   * Main class of the workers.
+   */
+  private final Class<?> workerMain;
+  /**
+   * Number of worker processes.
+   */
+  private final int numWorkers;
+  /**
+   * Number of islands per worker.
+   */
+  private final int numIslands;
+  /**
+   * Number of generations between migrations.
+   */
+  private final long interval;
+  /**
+   * Number of migrants.
+   */
+  private final int numMigrants;
+  /**
+   * Best fitness of the last run.
+   */
+  private double bestFitness = Double.NaN;
+  /**
+   * Number of migrants the coordinator received on the last run.
+   */
+  private long numReceivedMigrants = 0;
+
+  /**
+   * Constructor.
+   *
+   * @param env
+   *          heterogeneous computing environment
+   * @param workerMain
+   *          main class of the workers
+   * @param numWorkers
+   *          number of worker processes
+   * @param numIslands
+   *          number of islands per worker
+   * @param interval
+   *          number of generations between migrations
+   * @param numMigrants
+   *          number of migrants
+   */
+  public LocalIslandLauncher(HeterogeneousComputingEnv env, Class<?> workerMain, int numWorkers,
+      int numIslands, long interval, int numMigrants) {
+    assert workerMain != null : "Worker main class shall be given";
+    assert numWorkers > 0 : "Number of workers shall be greater than 0";
+    assert numIslands > 0 : "Number of islands shall be greater than 0";
+    assert interval > 0 : "Migration interval shall be greater than 0";
+    assert numMigrants >= 0 : "Number of migrants shall be positive";
+
+    this.env = env;
+    this.workerMain = workerMain;
+    this.numWorkers = numWorkers;
+    this.numIslands = numIslands;
+    this.interval = interval;
+    this.numMigrants = numMigrants;
+  }
+
+  /**
+   * Run all workers until they finish.
+   *
+   * @param generations
+   *          number of generations evolved by every island
+   * @return best schedule found by any worker or null if none was received
+   * @throws IOException
+   *           if a worker couldn't be started or failed
+   * @throws InterruptedException
+   *           if interrupted while waiting for the workers
+   */
+  public ScheduleChromosome run(long generations) throws IOException, InterruptedException {
+    Path envFile = Files.createTempFile("galob", ".hce");
+
+    // Re-evaluate the best schedules with the workers' fitness
+    try (MigrationCoordinator coordinator = new MigrationCoordinator(
+        new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), Optimize.MINIMUM, env,
+        new LoadBalancingFitnessCalculator(env))) {
+      env.toFile(envFile);
+
+      final InetSocketAddress address = coordinator.getAddress();
+      final String java =
+          Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+      List<Process> workers = new ArrayList<>(numWorkers);
+
+      try {
+        for (int i = 0; i < numWorkers; i++) {
+          workers.add(new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+              workerMain.getName(), address.getHostString(),
+              Integer.toString(address.getPort()), envFile.toString(),
+              Long.toString(generations), Integer.toString(numIslands),
+              Long.toString(interval), Integer.toString(numMigrants))
+                  .inheritIO()
+                  .start());
+        }
+
+        for (Process worker : workers) {
+          if (worker.waitFor() != 0) {
+            throw new IOException("Island worker failed with exit code " + worker.exitValue());
+          }
+        }
+      } finally {
+        for (Process worker : workers) {
+          worker.destroy();
+        }
+      }
+
+      if (!coordinator.awaitDisconnections(numWorkers, DISCONNECT_TIMEOUT)) {
+        throw new IOException("Island workers didn't disconnect");
+      }
+
+      bestFitness = coordinator.getBestFitness();
+      numReceivedMigrants = coordinator.getNumberOfMigrants();
+
+      return coordinator.getBestChromosome(env);
+    } finally {
+      Files.deleteIfExists(envFile);
+    }
+  }
+
+  /**
+   * Get the best fitness of the last run.
+   *
+   * @return best fitness or NaN if nothing was received
+   */
+  public double getBestFitness() {
+    return bestFitness;
+  }
+
+  /**
+   * Get the number of migrants the coordinator received on the last run.
+   *
+   * @return number of migrants
+   */
+  public long getNumberOfReceivedMigrants() {
+    return numReceivedMigrants;
+  }
+
+}
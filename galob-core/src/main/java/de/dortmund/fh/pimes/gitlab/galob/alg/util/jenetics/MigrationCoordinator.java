@@ -0,0 +1,588 @@
+/*
+ * Genetic Algorithm for Load Balancing
+ * Copyright (c) 2016-2017 Pedro Cuadra & Sudheera Reddy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Pedro Cuadra (pjcuadra@gmail.com)
+ *    Sudheera Reddy
+ */
+
+
+package de.dortmund.fh.pimes.gitlab.galob.alg.util.jenetics;
+
+import de.dortmund.fh.pimes.gitlab.galob.alg.util.FitnessCalculator;
+import de.dortmund.fh.pimes.gitlab.galob.alg.util.HeterogeneousComputingEnv;
+
+import org.jenetics.Optimize;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Coordinator of a multi-process island model. Island workers connect to it with a
+ * {@link SocketMigrationTransport}; every migrants frame a worker sends is forwarded to the next
+ * connected worker (ring topology) and the coordinator keeps the best schedule seen so far.
+ *
+ * <p>All connections are served by a single thread with a non-blocking selector. Migration is
+ * lossy: frames to a worker that doesn't keep up are dropped once {@link #MAX_PENDING_FRAMES} are
+ * queued.
+ *
+ * <p>Workers report the fitness of their migrants. Unless the coordinator is given a fitness
+ * calculator, the global best relies on those reports, so only trusted workers should connect.
+ *
+ * @author Pedro Cuadra
+ *
+ */
+public class MigrationCoordinator implements Closeable {
+  /**
+   * Maximum number of frames queued for a single worker.
+   */
+  public static final int MAX_PENDING_FRAMES = 64;
+
+  /**
+   * Worker connection state.
+   */
+  private static class Connection {
+    /**
+     * Worker channel.
+     */
+    private final SocketChannel channel;
+    /**
+     * Read buffer, in write mode.
+     */
+    private ByteBuffer input = ByteBuffer.allocate(MigrationProtocol.BUFFER_SIZE);
+    /**
+     * Frames pending to be written.
+     */
+    private final Deque<ByteBuffer> output = new ArrayDeque<>();
+    /**
+     * Whether the worker already sent its greeting.
+     */
+    private boolean greeted = false;
+
+    /**
+     * Constructor.
+     *
+     * @param channel
+     *          worker channel
+     */
+    Connection(SocketChannel channel) {
+      this.channel = channel;
+    }
+  }
+
+  /**
+   * Optimization strategy of the islands.
+   */
+  private final Optimize optimize;
+  /**
+   * Heterogeneous computing environment of the workers or null.
+   */
+  private final HeterogeneousComputingEnv env;
+  /**
+   * Fitness calculator re-evaluating the reported best schedules or null.
+   */
+  private final FitnessCalculator fitnessCalculator;
+  /**
+   * Server channel.
+   */
+  private final ServerSocketChannel server;
+  /**
+   * Selector serving all channels.
+   */
+  private final Selector selector;
+  /**
+   * Connected workers, in ring order. Only accessed by the coordinator thread.
+   */
+  private final List<Connection> workers = new ArrayList<>();
+  /**
+   * Coordinator thread.
+   */
+  private final Thread thread;
+  /**
+   * Whether the coordinator is closing.
+   */
+  private volatile boolean closing = false;
+  /**
+   * Number of tasks of the HCE, -1 until the first worker greets.
+   */
+  private int numTasks = -1;
+  /**
+   * Number of executors of the HCE, -1 until the first worker greets.
+   */
+  private int numExecutors = -1;
+  /**
+   * Number of workers that ever connected.
+   */
+  private int numConnections = 0;
+  /**
+   * Number of workers that disconnected.
+   */
+  private int numDisconnections = 0;
+  /**
+   * Number of migrants received.
+   */
+  private long numMigrants = 0;
+  /**
+   * Best fitness received.
+   */
+  private double bestFitness = Double.NaN;
+  /**
+   * Best schedule received, encoded.
+   */
+  private int[] bestSchedule = null;
+
+  /**
+   * Constructor. Binds the server and starts the coordinator thread.
+   *
+   * @param address
+   *          address to listen at, port 0 picks a free port
+   * @param optimize
+   *          optimization strategy of the islands
+   * @throws IOException
+   *           if the server couldn't be bound
+   */
+  public MigrationCoordinator(InetSocketAddress address, Optimize optimize) throws IOException {
+    this(address, optimize, null, null);
+  }
+
+  /**
+   * Constructor. Binds the server and starts the coordinator thread. Schedules reported better
+   * than the current best are re-evaluated, so the global best doesn't rely on the workers'
+   * fitness.
+   *
+   * @param address
+   *          address to listen at, port 0 picks a free port
+   * @param optimize
+   *          optimization strategy of the islands
+   * @param env
+   *          heterogeneous computing environment of the workers
+   * @param fitnessCalculator
+   *          fitness calculator of the workers
+   * @throws IOException
+   *           if the server couldn't be bound
+   */
+  public MigrationCoordinator(InetSocketAddress address, Optimize optimize,
+      HeterogeneousComputingEnv env, FitnessCalculator fitnessCalculator) throws IOException {
+    assert (env == null) == (fitnessCalculator == null) : "HCE and fitness calculator go together";
+
+    this.optimize = optimize;
+    this.env = env;
+    this.fitnessCalculator = fitnessCalculator;
+    this.selector = Selector.open();
+    this.server = ServerSocketChannel.open();
+
+    try {
+      server.bind(address);
+      server.configureBlocking(false);
+      server.register(selector, SelectionKey.OP_ACCEPT);
+    } catch (IOException e) {
+      server.close();
+      selector.close();
+      throw e;
+    }
+
+    this.thread = new Thread(this::serve, "galob-migration-coordinator");
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+  /**
+   * Serve all connections until closed.
+   */
+  private void serve() {
+    try {
+      while (!closing) {
+        selector.select();
+
+        Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+
+        while (keys.hasNext()) {
+          SelectionKey key = keys.next();
+          keys.remove();
+
+          if (!key.isValid()) {
+            continue;
+          }
+
+          if (key.isAcceptable()) {
+            accept();
+            continue;
+          }
+
+          Connection connection = (Connection) key.attachment();
+
+          try {
+            if (key.isReadable()) {
+              read(connection);
+            }
+
+            if (key.isValid() && key.isWritable()) {
+              flush(connection);
+            }
+          } catch (IOException e) {
+            // A broken worker doesn't stop the others
+            disconnect(connection);
+          }
+        }
+      }
+    } catch (IOException e) {
+      // Selector failure, nothing else to serve
+      closing = true;
+    }
+  }
+
+  /**
+   * Accept a worker connection.
+   *
+   * @throws IOException
+   *           if the connection couldn't be accepted
+   */
+  private void accept() throws IOException {
+    SocketChannel channel = server.accept();
+
+    if (channel == null) {
+      return;
+    }
+
+    Connection connection = new Connection(channel);
+
+    channel.configureBlocking(false);
+    channel.register(selector, SelectionKey.OP_READ, connection);
+    workers.add(connection);
+
+    synchronized (this) {
+      numConnections++;
+    }
+  }
+
+  /**
+   * Read and handle the frames of a worker.
+   *
+   * @param connection
+   *          worker connection
+   * @throws IOException
+   *           if the connection failed or the worker broke the protocol
+   */
+  private void read(Connection connection) throws IOException {
+    int read;
+
+    do {
+      connection.input = MigrationProtocol.ensureSpace(connection.input);
+      read = connection.channel.read(connection.input);
+
+      // Take frames out as they arrive, so a burst doesn't grow the buffer
+      ByteBuffer frame;
+
+      while ((frame = MigrationProtocol.nextFrame(connection.input)) != null) {
+        handle(connection, frame);
+      }
+    } while (read > 0);
+
+    if (read < 0) {
+      disconnect(connection);
+    }
+  }
+
+  /**
+   * Handle a frame of a worker.
+   *
+   * @param connection
+   *          worker connection
+   * @param frame
+   *          frame type and payload
+   * @throws IOException
+   *           if the worker broke the protocol
+   */
+  private void handle(Connection connection, ByteBuffer frame) throws IOException {
+    byte type = frame.get();
+
+    if (type == MigrationProtocol.HELLO) {
+      greet(connection, frame.getInt(), frame.getInt());
+    } else if (type == MigrationProtocol.MIGRANTS && connection.greeted) {
+      track(frame.duplicate());
+      forward(connection, frame);
+    } else {
+      throw new IOException("Unexpected frame type " + type);
+    }
+  }
+
+  /**
+   * Handle a worker greeting. All workers shall share the shape of the HCE.
+   *
+   * @param connection
+   *          worker connection
+   * @param tasks
+   *          number of tasks of the worker's HCE
+   * @param executors
+   *          number of executors of the worker's HCE
+   * @throws IOException
+   *           if the HCE doesn't match the other workers'
+   */
+  private synchronized void greet(Connection connection, int tasks, int executors)
+      throws IOException {
+    if (numTasks < 0 && env != null) {
+      numTasks = env.getNumberOfTasks();
+      numExecutors = env.getNumberOfExecutors();
+    } else if (numTasks < 0) {
+      numTasks = tasks;
+      numExecutors = executors;
+    }
+
+    if (tasks != numTasks || executors != numExecutors) {
+      throw new IOException("HCE doesn't match the other workers");
+    }
+
+    connection.greeted = true;
+  }
+
+  /**
+   * Update the best schedule with the migrants of a frame.
+   *
+   * @param frame
+   *          migrants frame payload
+   * @throws IOException
+   *           if the frame is malformed or holds an invalid schedule
+   */
+  private synchronized void track(ByteBuffer frame) throws IOException {
+    final int count = frame.getInt();
+    final int tasks = frame.getInt();
+
+    if (tasks != numTasks || count < 0 || frame.remaining() != count * (8 + 8L * tasks)) {
+      throw new IOException("Malformed migrants frame");
+    }
+
+    for (int i = 0; i < count; i++) {
+      double fitness = frame.getDouble();
+
+      if (bestSchedule == null || optimize.compare(fitness, bestFitness) > 0) {
+        int[] schedule = new int[2 * tasks];
+
+        frame.asIntBuffer().get(schedule);
+
+        if (fitnessCalculator != null) {
+          ScheduleChromosome chromosome = ScheduleEncoding.decode(env, schedule);
+
+          if (chromosome == null || !chromosome.isValid()) {
+            throw new IOException("Invalid schedule");
+          }
+
+          fitness = fitnessCalculator.getFitness(chromosome);
+        }
+
+        if (bestSchedule == null || optimize.compare(fitness, bestFitness) > 0) {
+          bestFitness = fitness;
+          bestSchedule = schedule;
+        }
+      }
+
+      frame.position(frame.position() + 8 * tasks);
+    }
+
+    numMigrants += count;
+  }
+
+  /**
+   * Forward a migrants frame to the next worker in the ring.
+   *
+   * @param source
+   *          sending worker
+   * @param frame
+   *          frame type and payload
+   */
+  private void forward(Connection source, ByteBuffer frame) {
+    if (workers.size() < 2) {
+      return;
+    }
+
+    Connection destination = workers.get((workers.indexOf(source) + 1) % workers.size());
+
+    if (destination.output.size() >= MAX_PENDING_FRAMES) {
+      return;
+    }
+
+    destination.output.add(MigrationProtocol.toWritable(frame));
+
+    SelectionKey key = destination.channel.keyFor(selector);
+    key.interestOps(key.interestOps() | SelectionKey.OP_WRITE);
+  }
+
+  /**
+   * Write the pending frames of a worker.
+   *
+   * @param connection
+   *          worker connection
+   * @throws IOException
+   *           if the connection failed
+   */
+  private void flush(Connection connection) throws IOException {
+    while (!connection.output.isEmpty()) {
+      ByteBuffer frame = connection.output.peek();
+
+      connection.channel.write(frame);
+
+      if (frame.hasRemaining()) {
+        return;
+      }
+
+      connection.output.poll();
+    }
+
+    SelectionKey key = connection.channel.keyFor(selector);
+    key.interestOps(SelectionKey.OP_READ);
+  }
+
+  /**
+   * Drop a worker connection.
+   *
+   * @param connection
+   *          worker connection
+   */
+  private void disconnect(Connection connection) {
+    workers.remove(connection);
+
+    try {
+      connection.channel.close();
+    } catch (IOException e) {
+      // Nothing left to release
+    }
+
+    synchronized (this) {
+      numDisconnections++;
+      notifyAll();
+    }
+  }
+
+  /**
+   * Wait until a number of workers disconnected. Everything a worker sent before disconnecting is
+   * already accounted for once it's counted as disconnected.
+   *
+   * @param count
+   *          number of disconnected workers
+   * @param timeout
+   *          maximum time to wait in milliseconds
+   * @return true if the workers disconnected, false on timeout
+   * @throws InterruptedException
+   *           if interrupted while waiting
+   */
+  public synchronized boolean awaitDisconnections(int count, long timeout)
+      throws InterruptedException {
+    final long deadline = System.currentTimeMillis() + timeout;
+
+    while (numDisconnections < count) {
+      long remaining = deadline - System.currentTimeMillis();
+
+      if (remaining <= 0) {
+        return false;
+      }
+
+      wait(remaining);
+    }
+
+    return true;
+  }
+
+  /**
+   * Get the address the coordinator listens at.
+   *
+   * @return bound address
+   * @throws IOException
+   *           if the server is closed
+   */
+  public InetSocketAddress getAddress() throws IOException {
+    return (InetSocketAddress) server.getLocalAddress();
+  }
+
+  /**
+   * Get the number of workers that ever connected.
+   *
+   * @return number of connections
+   */
+  public synchronized int getNumberOfConnections() {
+    return numConnections;
+  }
+
+  /**
+   * Get the number of migrants received.
+   *
+   * @return number of migrants
+   */
+  public synchronized long getNumberOfMigrants() {
+    return numMigrants;
+  }
+
+  /**
+   * Get the best fitness received, as reported by the workers unless the coordinator re-evaluates
+   * them.
+   *
+   * @return best fitness or NaN if no migrant was received yet
+   */
+  public synchronized double getBestFitness() {
+    return bestFitness;
+  }
+
+  /**
+   * Get the best schedule received.
+   *
+   * @return encoded schedule (see {@link ScheduleEncoding}) or null if no migrant was received yet
+   */
+  public synchronized int[] getBestSchedule() {
+    return bestSchedule == null ? null : bestSchedule.clone();
+  }
+
+  /**
+   * Get the best schedule received as chromosome.
+   *
+   * @param env
+   *          heterogeneous computing environment of the workers
+   * @return schedule chromosome or null if no migrant was received yet or it doesn't match the HCE
+   */
+  public ScheduleChromosome getBestChromosome(HeterogeneousComputingEnv env) {
+    int[] schedule = getBestSchedule();
+
+    return schedule == null ? null : ScheduleEncoding.decode(env, schedule);
+  }
+
+  @Override
+  public void close() throws IOException {
+    closing = true;
+    selector.wakeup();
+
+    try {
+      thread.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+
+    for (Connection connection : workers) {
+      connection.channel.close();
+    }
+
+    server.close();
+    selector.close();
+  }
+
+}
@@ -0,0 +1,240 @@
+/*
+ * Genetic Algorithm for Load Balancing
+ * Copyright (c) 2016-2017 Pedro Cuadra & Sudheera Reddy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Pedro Cuadra (pjcuadra@gmail.com)
+ *    Sudheera Reddy
+ */
+
+
+package de.dortmund.fh.pimes.gitlab.galob.alg.util.jenetics;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Frames exchanged between island workers and the migration coordinator. Every frame is its length
+ * in bytes, a type byte and the payload, all big-endian;
+ *
+ * <ul>
+ * <li>{@link #HELLO}: number of tasks and number of executors of the worker's HCE.</li>
+ * <li>{@link #MIGRANTS}: number of migrants and number of tasks, followed by the fitness and the
+ * encoded schedule (see {@link ScheduleEncoding}) of every migrant.</li>
+ * </ul>
+ *
+ * @author Pedro Cuadra
+ *
+ */
+final class MigrationProtocol {
+  /**
+   * Worker greeting frame type.
+   */
+  static final byte HELLO = 1;
+  /**
+   * Migrants frame type.
+   */
+  static final byte MIGRANTS = 2;
+  /**
+   * Maximum frame length in bytes.
+   */
+  static final int MAX_FRAME_LENGTH = 64 << 20;
+  /**
+   * Initial size of the read buffers.
+   */
+  static final int BUFFER_SIZE = 64 << 10;
+
+  /**
+   * Constructor.
+   */
+  private MigrationProtocol() {
+  }
+
+  /**
+   * Create a greeting frame.
+   *
+   * @param numTasks
+   *          number of tasks
+   * @param numExecutors
+   *          number of executors
+   * @return frame ready to be written
+   */
+  static ByteBuffer hello(int numTasks, int numExecutors) {
+    ByteBuffer frame = ByteBuffer.allocate(4 + 1 + 8);
+
+    frame.putInt(1 + 8).put(HELLO).putInt(numTasks).putInt(numExecutors);
+    frame.flip();
+
+    return frame;
+  }
+
+  /**
+   * Create the migrants frames. Migrants are split over as many frames as needed to keep every
+   * frame within {@link #MAX_FRAME_LENGTH}.
+   *
+   * @param numTasks
+   *          number of tasks
+   * @param fitness
+   *          fitness of every migrant
+   * @param schedules
+   *          encoded schedule of every migrant
+   * @return frames ready to be written
+   * @throws IOException
+   *           if a single migrant doesn't fit in a frame
+   */
+  static List<ByteBuffer> migrants(int numTasks, double[] fitness, int[][] schedules)
+      throws IOException {
+    return migrants(numTasks, fitness, schedules, MAX_FRAME_LENGTH);
+  }
+
+  /**
+   * Create the migrants frames with a custom maximum frame length.
+   *
+   * @param numTasks
+   *          number of tasks
+   * @param fitness
+   *          fitness of every migrant
+   * @param schedules
+   *          encoded schedule of every migrant
+   * @param maxFrameLength
+   *          maximum frame length in bytes
+   * @return frames ready to be written
+   * @throws IOException
+   *           if a single migrant doesn't fit in a frame
+   */
+  static List<ByteBuffer> migrants(int numTasks, double[] fitness, int[][] schedules,
+      int maxFrameLength) throws IOException {
+    final long migrantLength = 8 + 8L * numTasks;
+    final long perFrame = (maxFrameLength - 1 - 8) / migrantLength;
+
+    if (perFrame < 1) {
+      throw new IOException("Migrant of " + numTasks + " tasks exceeds the maximum frame length");
+    }
+
+    List<ByteBuffer> frames = new ArrayList<>();
+
+    for (int first = 0; first < schedules.length; first += (int) perFrame) {
+      int count = (int) Math.min(perFrame, schedules.length - first);
+      // Fits in an int since it's bounded by the maximum frame length
+      int length = (int) (1 + 8 + count * migrantLength);
+      ByteBuffer frame = ByteBuffer.allocate(4 + length);
+
+      frame.putInt(length).put(MIGRANTS).putInt(count).putInt(numTasks);
+
+      for (int i = first; i < first + count; i++) {
+        frame.putDouble(fitness[i]);
+        frame.asIntBuffer().put(schedules[i]);
+        frame.position(frame.position() + 4 * schedules[i].length);
+      }
+
+      frame.flip();
+      frames.add(frame);
+    }
+
+    return frames;
+  }
+
+  /**
+   * Prepend the length to a frame read with {@link #nextFrame(ByteBuffer)}.
+   *
+   * @param frame
+   *          type and payload of the frame
+   * @return frame ready to be written
+   */
+  static ByteBuffer toWritable(ByteBuffer frame) {
+    ByteBuffer writable = ByteBuffer.allocate(4 + frame.limit());
+    ByteBuffer content = frame.duplicate();
+
+    content.rewind();
+    writable.putInt(frame.limit()).put(content);
+    writable.flip();
+
+    return writable;
+  }
+
+  /**
+   * Take the next complete frame out of a read buffer.
+   *
+   * @param buffer
+   *          read buffer, in write mode
+   * @return type and payload of the frame or null if no complete frame was read yet
+   * @throws IOException
+   *           if the frame length is invalid
+   */
+  static ByteBuffer nextFrame(ByteBuffer buffer) throws IOException {
+    buffer.flip();
+
+    try {
+      if (buffer.remaining() < 4) {
+        return null;
+      }
+
+      int length = buffer.getInt(buffer.position());
+
+      if (length < 1 || length > MAX_FRAME_LENGTH) {
+        throw new IOException("Invalid frame length " + length);
+      }
+
+      if (buffer.remaining() < 4 + length) {
+        return null;
+      }
+
+      buffer.getInt();
+      ByteBuffer frame = ByteBuffer.allocate(length);
+
+      // Copy the frame out of the shared buffer
+      ByteBuffer content = buffer.slice();
+      content.limit(length);
+      frame.put(content);
+      frame.flip();
+      buffer.position(buffer.position() + length);
+
+      return frame;
+    } finally {
+      buffer.compact();
+    }
+  }
+
+  /**
+   * Grow a read buffer if it's full. Complete frames shall be taken out with
+   * {@link #nextFrame(ByteBuffer)} first, so the buffer never grows past the largest frame.
+   *
+   * @param buffer
+   *          read buffer, in write mode
+   * @return buffer with free space
+   * @throws IOException
+   *           if the buffer is already as large as the largest frame
+   */
+  static ByteBuffer ensureSpace(ByteBuffer buffer) throws IOException {
+    if (buffer.hasRemaining()) {
+      return buffer;
+    }
+
+    if (buffer.capacity() >= 4 + MAX_FRAME_LENGTH) {
+      throw new IOException("Frame exceeds the maximum length");
+    }
+
+    ByteBuffer grown =
+        ByteBuffer.allocate((int) Math.min(2L * buffer.capacity(), 4 + MAX_FRAME_LENGTH));
+
+    buffer.flip();
+    grown.put(buffer);
+
+    return grown;
+  }
+
+}
@@ -0,0 +1,57 @@
+/*
+ * Genetic Algorithm for Load Balancing
+ * Copyright (c) 2016-2017 Pedro Cuadra & Sudheera Reddy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Pedro Cuadra (pjcuadra@gmail.com)
+ *    Sudheera Reddy
+ */
+
+
+package de.dortmund.fh.pimes.gitlab.galob.alg.util.jenetics;
+
+import org.jenetics.Phenotype;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Exchanges migrants between an {@link IslandRunner} and islands running in other processes.
+ *
+ * @author Pedro Cuadra
+ *
+ */
+public interface MigrationTransport {
+
+  /**
+   * Send migrants to the other islands.
+   *
+   * @param emigrants
+   *          outgoing individuals, best first
+   * @throws IOException
+   *           if the migrants couldn't be sent
+   */
+  void send(List<Phenotype<ScheduleGene, Double>> emigrants) throws IOException;
+
+  /**
+   * Take the migrants received since the last call. Never blocks.
+   *
+   * @return incoming schedules, possibly empty
+   * @throws IOException
+   *           if the migrants couldn't be received
+   */
+  List<ScheduleChromosome> receive() throws IOException;
+
+}
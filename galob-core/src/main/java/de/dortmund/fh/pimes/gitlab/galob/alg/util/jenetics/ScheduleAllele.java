@@ -26,13 +26,14 @@ import de.dortmund.fh.pimes.gitlab.galob.alg.util.HeterogeneousComputingEnv;
 import java.util.Random;
 
 /**
- * Genetics algorithm's gene.
+ * Genetics algorithm's gene. Alleles are immutable and interned per environment, see
+ * {@link ScheduleAlleleTable}.
  *
  * @author Pedro Cuadra
  * @author Sudheera Bandi
  *
  */
-public class ScheduleAllele {
+public final class ScheduleAllele {
   /**
    * Allele builder.
    *
@@ -45,13 +46,7 @@ public class ScheduleAllele {
    * @return allele with the provided executor ID
    */
   public static ScheduleAllele of(HeterogeneousComputingEnv env, int taskId, int executorId) {
-    ScheduleAllele allele = new ScheduleAllele();
-
-    // Set values
-    allele.executorId = executorId;
-    allele.taskId = taskId;
-
-    return allele;
+    return env.getAlleleTable().get(taskId, executorId);
   }
 
   /**
@@ -64,14 +59,9 @@ public class ScheduleAllele {
    * @return allele with the provided executor ID
    */
   public static ScheduleAllele ofExecutor(HeterogeneousComputingEnv env, int executorId) {
-    ScheduleAllele allele = new ScheduleAllele();
-    Random randGen = new Random();
-
-    // Set values
-    allele.executorId = executorId;
-    allele.taskId = randGen.nextInt(env.getNumberOfTasks());
+    Random randGen = env.getRandomProvider().getRandom();
 
-    return allele;
+    return of(env, randGen.nextInt(env.getNumberOfTasks()), executorId);
   }
 
   /**
@@ -82,14 +72,10 @@ public class ScheduleAllele {
    * @return allele with the provided executor ID
    */
   public static ScheduleAllele ofRandom(HeterogeneousComputingEnv env) {
-    ScheduleAllele allele = new ScheduleAllele();
-    Random randGen = new Random();
+    Random randGen = env.getRandomProvider().getRandom();
+    int executorId = randGen.nextInt(env.getNumberOfExecutors());
 
-    // Set values
-    allele.executorId = randGen.nextInt(env.getNumberOfExecutors());
-    allele.taskId = randGen.nextInt(env.getNumberOfTasks());
-
-    return allele;
+    return of(env, randGen.nextInt(env.getNumberOfTasks()), executorId);
   }
 
   /**
@@ -102,25 +88,33 @@ public class ScheduleAllele {
    * @return allele with the provided task ID
    */
   public static ScheduleAllele ofTask(HeterogeneousComputingEnv env, int taskId) {
-    ScheduleAllele allele = new ScheduleAllele();
-    Random randGen = new Random();
-
-    // Set values
-    allele.executorId = randGen.nextInt(env.getNumberOfExecutors());
-    allele.taskId = taskId;
+    Random randGen = env.getRandomProvider().getRandom();
 
-    return allele;
+    return of(env, taskId, randGen.nextInt(env.getNumberOfExecutors()));
   }
 
   /**
    * ID of the task.
    */
-  private int taskId;
+  private final int taskId;
 
   /**
    * ID of the executor.
    */
-  private int executorId;
+  private final int executorId;
+
+  /**
+   * Constructor. Use the static builders to get interned instances.
+   *
+   * @param taskId
+   *          task ID
+   * @param executorId
+   *          executor ID
+   */
+  ScheduleAllele(int taskId, int executorId) {
+    this.taskId = taskId;
+    this.executorId = executorId;
+  }
 
   /*
    * (non-Javadoc)
@@ -131,6 +125,10 @@ public class ScheduleAllele {
   public boolean equals(Object object) {
     ScheduleAllele allele;
 
+    if (object == this) {
+      return true;
+    }
+
     if (!(object instanceof ScheduleAllele)) {
       return false;
     }
@@ -149,6 +147,16 @@ public class ScheduleAllele {
 
   }
 
+  /*
+   * (non-Javadoc)
+   *
+   * @see java.lang.Object#hashCode()
+   */
+  @Override
+  public int hashCode() {
+    return 31 * taskId + executorId;
+  }
+
   /**
    * Get executor ID.
    *
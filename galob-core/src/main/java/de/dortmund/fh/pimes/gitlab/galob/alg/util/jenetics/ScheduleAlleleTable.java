@@ -0,0 +1,88 @@
+/*
+ * Genetic Algorithm for Load Balancing
+ * Copyright (c) 2016-2017 Pedro Cuadra & Sudheera Reddy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Pedro Cuadra (pjcuadra@gmail.com)
+ *    Sudheera Reddy
+ */
+
+
+package de.dortmund.fh.pimes.gitlab.galob.alg.util.jenetics;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Flyweight table of alleles. Holds a single immutable instance of every (task ID, executor ID)
+ * pair of a heterogeneous computing environment, created on first use.
+ *
+ * @author Pedro Cuadra
+ *
+ */
+public class ScheduleAlleleTable {
+  /**
+   * Number of tasks.
+   */
+  private final int numTasks;
+  /**
+   * Number of executors.
+   */
+  private final int numExecutors;
+  /**
+   * Interned alleles (row major, numTasks x numExecutors).
+   */
+  private final AtomicReferenceArray<ScheduleAllele> alleles;
+
+  /**
+   * Constructor.
+   *
+   * @param numTasks
+   *          number of tasks
+   * @param numExecutors
+   *          number of executors
+   */
+  public ScheduleAlleleTable(int numTasks, int numExecutors) {
+    this.numTasks = numTasks;
+    this.numExecutors = numExecutors;
+    this.alleles = new AtomicReferenceArray<ScheduleAllele>(numTasks * numExecutors);
+  }
+
+  /**
+   * Get the interned allele of a task and executor pair.
+   *
+   * @param taskId
+   *          task ID
+   * @param executorId
+   *          executor ID
+   * @return allele
+   */
+  public ScheduleAllele get(int taskId, int executorId) {
+    // Pairs out of the environment's range aren't interned
+    if (taskId < 0 || taskId >= numTasks || executorId < 0 || executorId >= numExecutors) {
+      return new ScheduleAllele(taskId, executorId);
+    }
+
+    int index = taskId * numExecutors + executorId;
+    ScheduleAllele allele = alleles.get(index);
+
+    if (allele == null) {
+      alleles.compareAndSet(index, null, new ScheduleAllele(taskId, executorId));
+      allele = alleles.get(index);
+    }
+
+    return allele;
+  }
+
+}
@@ -0,0 +1,373 @@
+/*
+ * Genetic Algorithm for Load Balancing
+ * Copyright (c) 2016-2017 Pedro Cuadra & Sudheera Reddy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Pedro Cuadra (pjcuadra@gmail.com)
+ *    Sudheera Reddy
+ */
+
+
+package de.dortmund.fh.pimes.gitlab.galob.alg.util.jenetics;
+
+import de.dortmund.fh.pimes.gitlab.galob.alg.util.HeterogeneousComputingEnv;
+
+import org.jenetics.Genotype;
+import org.jenetics.Phenotype;
+import org.jenetics.engine.Engine;
+import org.jenetics.engine.EvolutionResult;
+import org.jenetics.engine.EvolutionStream;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Snapshot of an evolution run: the population, the generation, the master seed of the HCE's
+ * random provider and the simulated annealing temperature. Chromosomes are stored with
+ * {@link ScheduleEncoding}.
+ *
+ * <p>Taking a checkpoint reseeds the random provider of the HCE, so a run resumed from the
+ * checkpoint draws the same random numbers for the scheduling operators as the original run.
+ * Selectors draw from jenetics' {@code RandomRegistry}, which isn't part of the checkpoint.
+ *
+ * @author Pedro Cuadra
+ *
+ */
+public class ScheduleCheckpoint {
+  /**
+   * Invalid checkpoint exception.
+   */
+  public static class InvalidCheckpointException extends IOException {
+    /**
+     * Serial Version UID.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Constructor.
+     *
+     * @param message
+     *          description of the problem
+     */
+    public InvalidCheckpointException(String message) {
+      super(message);
+    }
+  }
+
+  /**
+   * Magic number ("GACP").
+   */
+  public static final int MAGIC = 0x47414350;
+  /**
+   * Current format version.
+   */
+  public static final int VERSION = 1;
+  /**
+   * Size of the header in bytes.
+   */
+  private static final int HEADER_SIZE = 44;
+
+  /**
+   * Number of tasks.
+   */
+  private final int numTasks;
+  /**
+   * Number of executors.
+   */
+  private final int numExecutors;
+  /**
+   * Generation of the population.
+   */
+  private final long generation;
+  /**
+   * Simulated annealing temperature or NaN if simulated annealing isn't enabled.
+   */
+  private final double temperature;
+  /**
+   * Master seed of the random provider.
+   */
+  private final long seed;
+  /**
+   * Encoded individuals (see {@link ScheduleEncoding}).
+   */
+  private final int[][] population;
+
+  /**
+   * Constructor.
+   *
+   * @param numTasks
+   *          number of tasks
+   * @param numExecutors
+   *          number of executors
+   * @param generation
+   *          generation of the population
+   * @param temperature
+   *          simulated annealing temperature
+   * @param seed
+   *          master seed of the random provider
+   * @param population
+   *          encoded individuals
+   */
+  private ScheduleCheckpoint(int numTasks, int numExecutors, long generation, double temperature,
+      long seed, int[][] population) {
+    this.numTasks = numTasks;
+    this.numExecutors = numExecutors;
+    this.generation = generation;
+    this.temperature = temperature;
+    this.seed = seed;
+    this.population = population;
+  }
+
+  /**
+   * Take a checkpoint of an evolution result. Reseeds the random provider of the HCE.
+   *
+   * @param env
+   *          heterogeneous computing environment
+   * @param result
+   *          evolution result
+   * @return checkpoint
+   */
+  public static ScheduleCheckpoint of(HeterogeneousComputingEnv env,
+      EvolutionResult<ScheduleGene, Double> result) {
+    int[][] population = new int[result.getPopulation().size()][];
+    int index = 0;
+
+    for (Phenotype<ScheduleGene, Double> pt : result.getPopulation()) {
+      population[index++] =
+          ScheduleEncoding.encode((ScheduleChromosome) pt.getGenotype().getChromosome());
+    }
+
+    double temperature =
+        env.getSimulatedAnnealingEnabled() ? env.getSimulatedAnnealing().getTemp() : Double.NaN;
+
+    return new ScheduleCheckpoint(env.getNumberOfTasks(), env.getNumberOfExecutors(),
+        result.getGeneration(), temperature, env.getRandomProvider().reseed(), population);
+  }
+
+  /**
+   * Write the checkpoint. The file is first written and synced to a temporary file, which then
+   * replaces the given file atomically, so a crash never leaves a partial checkpoint behind.
+   *
+   * @param path
+   *          checkpoint file
+   * @throws IOException
+   *           if the checkpoint can't be written
+   */
+  public void write(Path path) throws IOException {
+    Path tmpPath = path.resolveSibling(path.getFileName() + ".tmp");
+
+    try (FileChannel channel = FileChannel.open(tmpPath, StandardOpenOption.CREATE,
+        StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+      DataOutputStream out =
+          new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)));
+
+      out.writeInt(MAGIC);
+      out.writeInt(VERSION);
+      out.writeInt(numTasks);
+      out.writeInt(numExecutors);
+      out.writeLong(generation);
+      out.writeDouble(temperature);
+      out.writeLong(seed);
+      out.writeInt(population.length);
+
+      for (int[] individual : population) {
+        for (int value : individual) {
+          out.writeInt(value);
+        }
+      }
+
+      out.flush();
+      channel.force(true);
+    }
+
+    try {
+      Files.move(tmpPath, path, StandardCopyOption.ATOMIC_MOVE,
+          StandardCopyOption.REPLACE_EXISTING);
+    } catch (AtomicMoveNotSupportedException e) {
+      Files.move(tmpPath, path, StandardCopyOption.REPLACE_EXISTING);
+    }
+  }
+
+  /**
+   * Read a checkpoint.
+   *
+   * @param path
+   *          checkpoint file
+   * @return checkpoint
+   * @throws IOException
+   *           if the checkpoint can't be read or is invalid
+   */
+  public static ScheduleCheckpoint read(Path path) throws IOException {
+    final long fileSize = Files.size(path);
+
+    try (DataInputStream in =
+        new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+      if (in.readInt() != MAGIC) {
+        throw new InvalidCheckpointException("Not a checkpoint file");
+      }
+
+      int version = in.readInt();
+
+      if (version != VERSION) {
+        throw new InvalidCheckpointException("Unsupported version " + version);
+      }
+
+      final int numTasks = in.readInt();
+      final int numExecutors = in.readInt();
+      final long generation = in.readLong();
+      final double temperature = in.readDouble();
+      final long seed = in.readLong();
+      final int populationSize = in.readInt();
+
+      if (numTasks <= 0 || numTasks > Integer.MAX_VALUE / 2 || numExecutors <= 0
+          || generation <= 0 || populationSize <= 0) {
+        throw new InvalidCheckpointException("Invalid header");
+      }
+
+      // Check the size before allocating the population so a corrupt header can't exhaust memory
+      if ((long) populationSize * 2 * numTasks * Integer.BYTES + HEADER_SIZE != fileSize) {
+        throw new InvalidCheckpointException("Checkpoint size doesn't match its header");
+      }
+
+      int[][] population = new int[populationSize][2 * numTasks];
+
+      for (int[] individual : population) {
+        for (int i = 0; i < individual.length; i++) {
+          individual[i] = in.readInt();
+        }
+      }
+
+      return new ScheduleCheckpoint(numTasks, numExecutors, generation, temperature, seed,
+          population);
+    } catch (EOFException e) {
+      throw new InvalidCheckpointException("Truncated checkpoint");
+    }
+  }
+
+  /**
+   * Decode the population of the checkpoint.
+   *
+   * @param env
+   *          heterogeneous computing environment the checkpoint was taken from
+   * @return genotypes of the population
+   * @throws InvalidCheckpointException
+   *           if the checkpoint doesn't match the HCE
+   */
+  public List<Genotype<ScheduleGene>> getGenotypes(HeterogeneousComputingEnv env)
+      throws InvalidCheckpointException {
+    if (env.getNumberOfTasks() != numTasks || env.getNumberOfExecutors() != numExecutors) {
+      throw new InvalidCheckpointException("Checkpoint doesn't match the HCE");
+    }
+
+    List<Genotype<ScheduleGene>> genotypes = new ArrayList<>(population.length);
+
+    for (int[] individual : population) {
+      ScheduleChromosome chromosome = ScheduleEncoding.decode(env, individual);
+
+      if (chromosome == null || !chromosome.isValid()) {
+        throw new InvalidCheckpointException("Invalid schedule");
+      }
+
+      genotypes.add(Genotype.of(chromosome));
+    }
+
+    return genotypes;
+  }
+
+  /**
+   * Restore the random provider seed and simulated annealing temperature of the HCE.
+   *
+   * @param env
+   *          heterogeneous computing environment the checkpoint was taken from
+   */
+  public void restore(HeterogeneousComputingEnv env) {
+    env.getRandomProvider().reseed(seed);
+
+    if (env.getSimulatedAnnealingEnabled() && !Double.isNaN(temperature)) {
+      env.getSimulatedAnnealing().setTemp(temperature);
+    }
+  }
+
+  /**
+   * Resume an evolution run from the checkpoint. Restores the HCE state and continues from the
+   * generation following the checkpoint.
+   *
+   * @param engine
+   *          evolution engine configured as the original run
+   * @param env
+   *          heterogeneous computing environment the checkpoint was taken from
+   * @return evolution stream
+   * @throws InvalidCheckpointException
+   *           if the checkpoint doesn't match the HCE
+   */
+  public EvolutionStream<ScheduleGene, Double> resume(Engine<ScheduleGene, Double> engine,
+      HeterogeneousComputingEnv env) throws InvalidCheckpointException {
+    List<Genotype<ScheduleGene>> genotypes = getGenotypes(env);
+
+    restore(env);
+
+    return engine.stream(genotypes, generation + 1);
+  }
+
+  /**
+   * Get the generation of the population.
+   *
+   * @return generation of the population
+   */
+  public long getGeneration() {
+    return generation;
+  }
+
+  /**
+   * Get the simulated annealing temperature.
+   *
+   * @return simulated annealing temperature or NaN if simulated annealing wasn't enabled
+   */
+  public double getTemperature() {
+    return temperature;
+  }
+
+  /**
+   * Get the master seed of the random provider.
+   *
+   * @return master seed
+   */
+  public long getSeed() {
+    return seed;
+  }
+
+  /**
+   * Get the population size.
+   *
+   * @return population size
+   */
+  public int getPopulationSize() {
+    return population.length;
+  }
+
+}
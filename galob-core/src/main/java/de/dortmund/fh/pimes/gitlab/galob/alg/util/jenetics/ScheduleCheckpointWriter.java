@@ -0,0 +1,107 @@
+/*
+ * Genetic Algorithm for Load Balancing
+ * Copyright (c) 2016-2017 Pedro Cuadra & Sudheera Reddy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Pedro Cuadra (pjcuadra@gmail.com)
+ *    Sudheera Reddy
+ */
+
+
+package de.dortmund.fh.pimes.gitlab.galob.alg.util.jenetics;
+
+import de.dortmund.fh.pimes.gitlab.galob.alg.util.HeterogeneousComputingEnv;
+
+import org.jenetics.engine.EvolutionResult;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.function.Consumer;
+
+/**
+ * Evolution stream consumer writing a checkpoint every given number of generations. Add it to the
+ * stream with {@code peek} and resume with {@link ScheduleCheckpoint#resume}.
+ *
+ * @author Pedro Cuadra
+ *
+ */
+public class ScheduleCheckpointWriter implements Consumer<EvolutionResult<ScheduleGene, Double>> {
+  /**
+   * Heterogeneous computing environment.
+   */
+  private final HeterogeneousComputingEnv env;
+  /**
+   * Checkpoint file.
+   */
+  private final Path path;
+  /**
+   * Number of generations between checkpoints.
+   */
+  private final long interval;
+  /**
+   * Generation of the last checkpoint written.
+   */
+  private long lastGeneration;
+
+  /**
+   * Constructor.
+   *
+   * @param env
+   *          heterogeneous computing environment
+   * @param path
+   *          checkpoint file, replaced by every new checkpoint
+   * @param interval
+   *          number of generations between checkpoints
+   */
+  public ScheduleCheckpointWriter(HeterogeneousComputingEnv env, Path path, long interval) {
+    assert interval > 0 : "Interval shall be greater than 0";
+
+    this.env = env;
+    this.path = path;
+    this.interval = interval;
+    this.lastGeneration = 0;
+  }
+
+  /*
+   * (non-Javadoc)
+   *
+   * @see java.util.function.Consumer#accept(java.lang.Object)
+   */
+  @Override
+  public void accept(EvolutionResult<ScheduleGene, Double> result) {
+    if (result.getGeneration() % interval != 0) {
+      return;
+    }
+
+    try {
+      ScheduleCheckpoint.of(env, result).write(path);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+
+    lastGeneration = result.getGeneration();
+  }
+
+  /**
+   * Get the generation of the last checkpoint written.
+   *
+   * @return generation of the last checkpoint or 0 if none was written
+   */
+  public long getLastGeneration() {
+    return lastGeneration;
+  }
+
+}
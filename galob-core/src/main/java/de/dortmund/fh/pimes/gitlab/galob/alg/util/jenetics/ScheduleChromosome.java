@@ -0,0 +1,465 @@
+/*
+ * Genetic Algorithm for Load Balancing
+ * Copyright (c) 2016-2017 Pedro Cuadra & Sudheera Reddy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Pedro Cuadra (pjcuadra@gmail.com)
+ *    Sudheera Reddy
+ */
+
+package de.dortmund.fh.pimes.gitlab.galob.alg.util.jenetics;
+
+import de.dortmund.fh.pimes.gitlab.galob.alg.util.HeterogeneousComputingEnv;
+import de.dortmund.fh.pimes.gitlab.galob.alg.util.Stats;
+import de.dortmund.fh.pimes.gitlab.galob.alg.util.graph.Graph;
+import de.dortmund.fh.pimes.gitlab.galob.alg.util.jenetics.ScheduleChromosome;
+
+import org.jenetics.Chromosome;
+import org.jenetics.util.ISeq;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Random;
+
+/**
+ * Genetic algorithm's chromosome.
+ * 
+ * @author Pedro Cuadra
+ * @author Sudheera Bandi
+ * 
+ */
+public class ScheduleChromosome implements Chromosome<ScheduleGene> {
+  /**
+   * Scheduling sequence of ScheduleItem's genes.
+   */
+  private ISeq<ScheduleGene> scheduleSeq;
+  /**
+   * Heterogeneous computing environment.
+   */
+  private HeterogeneousComputingEnv env;
+  /**
+   * The statistics of the chromosome.
+   */
+  private volatile Stats stats;
+  /**
+   * Executor ID of every task, indexed by task ID (built on demand).
+   */
+  private volatile int[] executorOfTask;
+  /**
+   * Locus of every task in the sequence, indexed by task ID (built on demand).
+   */
+  private volatile int[] positionOfTask;
+  /**
+   * Rolling hash of the (task ID, executor ID) sequence (valid once scheduleHashed is set).
+   */
+  private long scheduleHash;
+  /**
+   * Whether the schedule hash was already computed.
+   */
+  private volatile boolean scheduleHashed;
+
+  /**
+   * Constructor. Creates a random valid schedule.
+   * 
+   * @param env
+   *          heterogeneous computing environment
+   */
+  public ScheduleChromosome(HeterogeneousComputingEnv env) {
+    this(env, env.getRandomProvider().getRandom());
+  }
+
+  /**
+   * Constructor. Creates a random valid schedule by Kahn's algorithm, picking every next task
+   * randomly from the set of tasks with no pending dependencies and allocating it to a random
+   * executor, in O(n+e).
+   * 
+   * @param env
+   *          heterogeneous computing environment
+   * @param random
+   *          random generator (seeded for reproducible schedules)
+   */
+  public ScheduleChromosome(HeterogeneousComputingEnv env, Random random) {
+    final int numTasks = env.getNumberOfTasks();
+    final int numExecutors = env.getNumberOfExecutors();
+    ScheduleGene[] genes = new ScheduleGene[numTasks];
+    int[] pendingDeps = new int[numTasks];
+    int[] ready = new int[numTasks];
+    int readyCount = 0;
+    this.env = env;
+
+    // Check for cycles first!
+    if (env.checkCycles()) {
+      throw new Graph.CycleException();
+    }
+
+    // Initialize the in-degree counters and the ready set
+    for (int taskId = 0; taskId < numTasks; taskId++) {
+      pendingDeps[taskId] = env.getNumberOfPredecessors(taskId);
+
+      if (pendingDeps[taskId] == 0) {
+        ready[readyCount++] = taskId;
+      }
+    }
+
+    // Finish until everything is allocated (assuming no cycles)
+    for (int locus = 0; locus < numTasks; locus++) {
+      // Randomly pick an allocable task and remove it from the ready set
+      int index = random.nextInt(readyCount);
+      int taskId = ready[index];
+      ready[index] = ready[--readyCount];
+
+      genes[locus] = ScheduleGene.ofAllele(env,
+          ScheduleAllele.of(env, taskId, random.nextInt(numExecutors)));
+
+      // Release the successors
+      for (int i = 0; i < env.getNumberOfSuccessors(taskId); i++) {
+        int succ = env.getSuccessor(taskId, i);
+
+        if (--pendingDeps[succ] == 0) {
+          ready[readyCount++] = succ;
+        }
+      }
+    }
+
+    // Convert to Sequence
+    scheduleSeq = ISeq.of(genes);
+
+  }
+
+  /**
+   * Constructor.
+   * 
+   * @param env
+   *          heterogeneous computing environment
+   * @param genes
+   *          sequence of already created genes
+   */
+  public ScheduleChromosome(HeterogeneousComputingEnv env, ISeq<ScheduleGene> genes) {
+
+    this.env = env;
+
+    scheduleSeq = genes;
+
+  }
+
+  /**
+   * Constructor.
+   * 
+   * @param chromosome
+   *          already existing chromosome
+   */
+  public ScheduleChromosome(ScheduleChromosome chromosome) {
+
+    this.env = chromosome.env;
+
+    scheduleSeq = chromosome.toSeq().copy().toISeq();
+
+  }
+
+  /*
+   * (non-Javadoc)
+   * 
+   * @see org.jenetics.util.Verifiable#isValid()
+   */
+  @Override
+  public boolean isValid() {
+    int[] positions = positionOfTask;
+
+    // Reuse the task to locus lookup table, built in O(n)
+    if (positions == null) {
+      buildIndex();
+      positions = positionOfTask;
+    }
+
+    for (int locus = 0; locus < scheduleSeq.length(); locus++) {
+      int taskId = scheduleSeq.get(locus).getAllele().getTaskId();
+
+      // Repeated tasks only map to their first locus
+      if (positions[taskId] != locus) {
+        return false;
+      }
+
+      // Every predecessor has to be scheduled before the task
+      for (int i = 0; i < env.getNumberOfPredecessors(taskId); i++) {
+        int predLocus = positions[env.getPredecessor(taskId, i)];
+
+        if (predLocus < 0 || predLocus > locus) {
+          return false;
+        }
+      }
+    }
+
+    return true;
+  }
+
+  /*
+   * (non-Javadoc)
+   * 
+   * @see java.lang.Iterable#iterator()
+   */
+  @Override
+  public Iterator<ScheduleGene> iterator() {
+    return scheduleSeq.iterator();
+  }
+
+  /*
+   * (non-Javadoc)
+   * 
+   * @see org.jenetics.util.Factory#newInstance()
+   */
+  @Override
+  public ScheduleChromosome newInstance() {
+    return new ScheduleChromosome(env);
+
+  }
+
+  /*
+   * (non-Javadoc)
+   * 
+   * @see org.jenetics.Chromosome#newInstance(org.jenetics.util.ISeq)
+   */
+  @Override
+  public ScheduleChromosome newInstance(ISeq<ScheduleGene> genes) {
+    return new ScheduleChromosome(env, genes);
+  }
+
+  /*
+   * (non-Javadoc)
+   * 
+   * @see org.jenetics.Chromosome#getGene(int)
+   */
+  @Override
+  public ScheduleGene getGene(int index) {
+    return scheduleSeq.get(index);
+  }
+
+  /*
+   * (non-Javadoc)
+   * 
+   * @see org.jenetics.Chromosome#length()
+   */
+  @Override
+  public int length() {
+    return scheduleSeq.length();
+  }
+
+  /*
+   * (non-Javadoc)
+   * 
+   * @see org.jenetics.Chromosome#toSeq()
+   */
+  @Override
+  public ISeq<ScheduleGene> toSeq() {
+    return scheduleSeq;
+  }
+
+  /**
+   * Get the executor a task is allocated to.
+   *
+   * @param taskId
+   *          task ID
+   * @return executor ID (0 if the task isn't part of the sequence)
+   */
+  public int getExecutorOfTask(int taskId) {
+    int[] executors = executorOfTask;
+
+    if (executors == null) {
+      executors = buildIndex();
+    }
+
+    return executors[taskId];
+  }
+
+  /**
+   * Get the locus of a task in the sequence.
+   *
+   * @param taskId
+   *          task ID
+   * @return locus of the task (-1 if the task isn't part of the sequence)
+   */
+  public int getPositionOfTask(int taskId) {
+    int[] positions = positionOfTask;
+
+    if (positions == null) {
+      buildIndex();
+      positions = positionOfTask;
+    }
+
+    return positions[taskId];
+  }
+
+  /**
+   * Build the task to executor and task to locus lookup tables. The sequence of a chromosome
+   * doesn't change (new sequences are new instances), so the tables are built only once. Concurrent
+   * builds produce identical tables, so no locking is required.
+   *
+   * @return task to executor lookup table
+   */
+  private int[] buildIndex() {
+    int[] executors = new int[env.getNumberOfTasks()];
+    int[] positions = new int[env.getNumberOfTasks()];
+
+    Arrays.fill(positions, -1);
+
+    for (int locus = scheduleSeq.length() - 1; locus >= 0; locus--) {
+      ScheduleAllele allele = scheduleSeq.get(locus).getAllele();
+
+      // Iterate backwards so repeated tasks resolve to their first locus
+      executors[allele.getTaskId()] = allele.getExecutorId();
+      positions[allele.getTaskId()] = locus;
+    }
+
+    positionOfTask = positions;
+    executorOfTask = executors;
+
+    return executors;
+  }
+
+  /**
+   * Get the heterogeneous computing environment of the chromosome.
+   *
+   * @return heterogeneous computing environment
+   */
+  public HeterogeneousComputingEnv getEnvironment() {
+    return env;
+  }
+
+  /**
+   * Get a 64-bit rolling hash of the (task ID, executor ID) sequence. Chromosomes with the same
+   * schedule have the same hash, so it can be used as fitness cache key.
+   *
+   * @return schedule hash
+   */
+  public long getScheduleHash() {
+    if (scheduleHashed) {
+      return scheduleHash;
+    }
+
+    long hash = 1125899906842597L;
+
+    for (ScheduleGene gene : scheduleSeq) {
+      ScheduleAllele allele = gene.getAllele();
+      long item = ((long) allele.getTaskId() << 32) | (allele.getExecutorId() & 0xffffffffL);
+
+      hash = 31 * hash + item;
+    }
+
+    // Final avalanche mixing (MurmurHash3 fmix64)
+    hash ^= hash >>> 33;
+    hash *= 0xff51afd7ed558ccdL;
+    hash ^= hash >>> 33;
+    hash *= 0xc4ceb9fe1a85ec53L;
+    hash ^= hash >>> 33;
+
+    scheduleHash = hash;
+    scheduleHashed = true;
+
+    return hash;
+  }
+
+  /**
+   * Static constructor.
+   * 
+   * @param env
+   *          heterogeneous computing environment
+   * @return newly created chromosome
+   */
+  public static ScheduleChromosome of(HeterogeneousComputingEnv env) {
+    return new ScheduleChromosome(env);
+  }
+
+  /**
+   * Static constructor from an already created sequence of genes. It only wraps the sequence, so
+   * it costs O(1) and doesn't generate a random schedule.
+   * 
+   * @param env
+   *          heterogeneous computing environment
+   * @param genes
+   *          sequence of already created genes
+   * @return newly created chromosome
+   */
+  public static ScheduleChromosome of(HeterogeneousComputingEnv env, ISeq<ScheduleGene> genes) {
+    return new ScheduleChromosome(env, genes);
+  }
+
+  /**
+   * Static constructor with a given random generator.
+   * 
+   * @param env
+   *          heterogeneous computing environment
+   * @param random
+   *          random generator (seeded for reproducible schedules)
+   * @return newly created chromosome
+   */
+  public static ScheduleChromosome of(HeterogeneousComputingEnv env, Random random) {
+    return new ScheduleChromosome(env, random);
+  }
+
+  /*
+   * (non-Javadoc)
+   * 
+   * @see java.lang.Object#toString()
+   */
+  @Override
+  public String toString() {
+    return scheduleSeq.toString();
+  }
+
+  /**
+   * Create an exact copy of the chromosome.
+   * 
+   * @return chromosome copy
+   */
+  public ScheduleChromosome clone() {
+    ArrayList<ScheduleGene> genesList = new ArrayList<ScheduleGene>();
+
+    for (ScheduleGene gene : scheduleSeq) {
+      genesList.add(gene.newInstance(gene.getAllele()));
+    }
+
+    return new ScheduleChromosome(env, ISeq.of(genesList));
+
+  }
+
+  /**
+   * Set statistics object.
+   * 
+   * @param stats
+   *          statistics object
+   */
+  public void setStats(Stats stats) {
+    this.stats = stats;
+  }
+
+  /**
+   * Get statistics object.
+   * 
+   * @return return statistics object
+   */
+  public Stats getStats() {
+    return this.stats;
+  }
+
+  /**
+   * Check if the chromosome has statistics set.
+   * 
+   * @return true if the chromosome has statistics set false otherwise
+   */
+  public boolean hasStats() {
+    return (this.stats != null);
+  }
+
+}
@@ -24,6 +24,7 @@ package de.dortmund.fh.pimes.gitlab.galob.alg.util.jenetics;
 import static java.lang.Math.min;
 
 import de.dortmund.fh.pimes.gitlab.galob.alg.util.HeterogeneousComputingEnv;
+import de.dortmund.fh.pimes.gitlab.galob.alg.util.SimulatedAnnealing;
 
 import org.jenetics.SinglePointCrossover;
 import org.jenetics.util.MSeq;
@@ -41,6 +42,10 @@ public class ScheduleCrossover extends SinglePointCrossover<ScheduleGene, Double
    * Heterogeneous computing environment.
    */
   private HeterogeneousComputingEnv env;
+  /**
+   * Simulated annealing of the operator or null to use the one of the HCE.
+   */
+  private SimulatedAnnealing simAnn;
 
   /**
    * Constructor.
@@ -55,6 +60,23 @@ public class ScheduleCrossover extends SinglePointCrossover<ScheduleGene, Double
     this.env = env;
   }
 
+  /**
+   * Constructor with its own simulated annealing, e.g. for operators of different engines
+   * sharing the same HCE.
+   * 
+   * @param env
+   *          heterogeneous computing environment
+   * @param probCrossover
+   *          crossing over probability
+   * @param simAnn
+   *          simulated annealing
+   */
+  public ScheduleCrossover(HeterogeneousComputingEnv env, double probCrossover,
+      SimulatedAnnealing simAnn) {
+    this(env, probCrossover);
+    this.simAnn = simAnn;
+  }
+
   /*
    * (non-Javadoc)
    * 
@@ -63,11 +85,10 @@ public class ScheduleCrossover extends SinglePointCrossover<ScheduleGene, Double
    */
   @Override
   public int crossover(MSeq<ScheduleGene> that, MSeq<ScheduleGene> other) {
-    Random randomGen = new Random();
+    Random randomGen = env.getRandomProvider().getRandom();
     MSeq<ScheduleGene> tempother = other.copy();
     MSeq<ScheduleGene> tempthat = that.copy();
     int crossoverSiteLocus = randomGen.nextInt(min(that.length(), other.length()));
-    ScheduleChromosome chrFac = new ScheduleChromosome(env);
     int modified = 0;
     int thatTopLevel =
         env.getNodeTopologicalLevel(that.get(crossoverSiteLocus).getAllele().getTaskId());
@@ -82,22 +103,30 @@ public class ScheduleCrossover extends SinglePointCrossover<ScheduleGene, Double
     that.swap(crossoverSiteLocus, min(that.length(), other.length()), other, crossoverSiteLocus);
 
     if ((!that.equals(tempthat)) && (!that.equals(other)) && (!other.equals(tempother))) {
-      if (env.getSimulatedAnnealingEnabled()) {
+      SimulatedAnnealing annealing = getSimulatedAnnealing();
+
+      if (annealing != null) {
         // temp: parent sequence, that : child sequemce
-        if (env.getSimulatedAnnealing().checkCriteria(chrFac.newInstance(tempthat.toISeq()),
-            chrFac.newInstance(that.toISeq()))) {
+        ScheduleChromosome thatParent = ScheduleChromosome.of(env, tempthat.toISeq());
+        ScheduleChromosome otherParent = ScheduleChromosome.of(env, tempother.toISeq());
+        ScheduleChromosome thatChild = ScheduleChromosome.of(env, that.toISeq());
+        ScheduleChromosome otherChild = ScheduleChromosome.of(env, other.toISeq());
+
+        // Invalid children can't be simulated and invalid parents are always replaced
+        if (thatChild.isValid() && (!thatParent.isValid()
+            || annealing.checkCriteria(thatParent, thatChild))) {
           modified++;
         } else {
           // unswap: return the original chromosome as the criteria failed.
-          that = tempthat.copy();
+          that.setAll(tempthat);
         }
 
-        if (env.getSimulatedAnnealing().checkCriteria(chrFac.newInstance(tempother.toISeq()),
-            chrFac.newInstance(other.toISeq()))) {
+        if (otherChild.isValid() && (!otherParent.isValid()
+            || annealing.checkCriteria(otherParent, otherChild))) {
           modified++;
         } else {
           // unswap: return the original chromosome as the criteria failed.
-          other = tempother.copy();
+          other.setAll(tempother);
         }
       } else {
         modified = 2;
@@ -108,4 +137,13 @@ public class ScheduleCrossover extends SinglePointCrossover<ScheduleGene, Double
     return modified;
   }
 
+  /**
+   * Get the simulated annealing used by the operator.
+   * 
+   * @return simulated annealing or null if simulated annealing isn't enabled
+   */
+  private SimulatedAnnealing getSimulatedAnnealing() {
+    return simAnn != null ? simAnn : env.getSimulatedAnnealing();
+  }
+
 }
@@ -0,0 +1,99 @@
+/*
+ * Genetic Algorithm for Load Balancing
+ * Copyright (c) 2016-2017 Pedro Cuadra & Sudheera Reddy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Pedro Cuadra (pjcuadra@gmail.com)
+ *    Sudheera Reddy
+ */
+
+
+package de.dortmund.fh.pimes.gitlab.galob.alg.util.jenetics;
+
+import de.dortmund.fh.pimes.gitlab.galob.alg.util.HeterogeneousComputingEnv;
+
+import org.jenetics.util.ISeq;
+
+/**
+ * Compact encoding of schedules as integer arrays: the task order followed by the executor of
+ * every position. Used to store and transfer schedules without object serialization.
+ *
+ * @author Pedro Cuadra
+ *
+ */
+public final class ScheduleEncoding {
+
+  /**
+   * Constructor.
+   */
+  private ScheduleEncoding() {
+  }
+
+  /**
+   * Encode a chromosome.
+   *
+   * @param chromosome
+   *          schedule chromosome
+   * @return task order followed by executors
+   */
+  public static int[] encode(ScheduleChromosome chromosome) {
+    final int numTasks = chromosome.length();
+    int[] schedule = new int[2 * numTasks];
+
+    for (int locus = 0; locus < numTasks; locus++) {
+      ScheduleAllele allele = chromosome.getGene(locus).getAllele();
+
+      schedule[locus] = allele.getTaskId();
+      schedule[numTasks + locus] = allele.getExecutorId();
+    }
+
+    return schedule;
+  }
+
+  /**
+   * Decode a chromosome. Only the range of the ids is checked, use
+   * {@link ScheduleChromosome#isValid()} to check the task order.
+   *
+   * @param env
+   *          heterogeneous computing environment
+   * @param schedule
+   *          task order followed by executors
+   * @return schedule chromosome or null if the encoding doesn't match the HCE
+   */
+  public static ScheduleChromosome decode(HeterogeneousComputingEnv env, int[] schedule) {
+    final int numTasks = env.getNumberOfTasks();
+
+    if (schedule.length != 2 * numTasks) {
+      return null;
+    }
+
+    ScheduleGene[] genes = new ScheduleGene[numTasks];
+
+    for (int locus = 0; locus < numTasks; locus++) {
+      int taskId = schedule[locus];
+      int executorId = schedule[numTasks + locus];
+
+      if (taskId < 0 || taskId >= numTasks || executorId < 0
+          || executorId >= env.getNumberOfExecutors()) {
+        return null;
+      }
+
+      genes[locus] = ScheduleGene.ofAllele(env, ScheduleAllele.of(env, taskId, executorId));
+    }
+
+    return ScheduleChromosome.of(env, ISeq.of(genes));
+  }
+
+}
@@ -133,7 +133,11 @@ public class ScheduleGene implements Gene<ScheduleAllele, ScheduleGene> {
    * 
    * @param allele
    *          new allele
+   * @deprecated chromosomes holding the gene keep their task index, schedule hash and stats,
+   *             which go stale. Use {@link #newInstance(ScheduleAllele)} and create a new
+   *             chromosome instead.
    */
+  @Deprecated
   public void mutate(ScheduleAllele allele) {
     this.allele = allele;
   }
@@ -157,4 +161,14 @@ public class ScheduleGene implements Gene<ScheduleAllele, ScheduleGene> {
 
   }
 
+  /*
+   * (non-Javadoc)
+   * 
+   * @see java.lang.Object#hashCode()
+   */
+  @Override
+  public int hashCode() {
+    return allele == null ? 0 : allele.hashCode();
+  }
+
 }
@@ -0,0 +1,217 @@
+/*
+ * Genetic Algorithm for Load Balancing
+ * Copyright (c) 2016-2017 Pedro Cuadra & Sudheera Reddy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Pedro Cuadra (pjcuadra@gmail.com)
+ *    Sudheera Reddy
+ */
+
+package de.dortmund.fh.pimes.gitlab.galob.alg.util.jenetics;
+
+import de.dortmund.fh.pimes.gitlab.galob.alg.util.HeterogeneousComputingEnv;
+import de.dortmund.fh.pimes.gitlab.galob.alg.util.SimulatedAnnealing;
+import de.dortmund.fh.pimes.gitlab.galob.alg.util.graph.TopologicalLevels;
+
+import org.jenetics.Chromosome;
+import org.jenetics.Genotype;
+import org.jenetics.Phenotype;
+import org.jenetics.Population;
+import org.jenetics.SwapMutator;
+import org.jenetics.util.MSeq;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+/**
+ * Genetic Mutator of ScheduleChromosomes.
+ * 
+ * @author Pedro Cuadra
+ * @author Sudheera Bandi
+ *
+ */
+public class ScheduleMutator extends SwapMutator<ScheduleGene, Double> {
+  /**
+   * Heterogeneous computing environment.
+   */
+  private HeterogeneousComputingEnv env;
+  /**
+   * Simulated annealing of the operator or null to use the one of the HCE.
+   */
+  private SimulatedAnnealing simAnn;
+
+  /**
+   * Constructor.
+   * 
+   * @param env
+   *          heterogeneous computing environment
+   * @param probMutator
+   *          mutating probability
+   */
+  public ScheduleMutator(HeterogeneousComputingEnv env, double probMutator) {
+    super(probMutator);
+    this.env = env;
+  }
+
+  /**
+   * Constructor with its own simulated annealing, e.g. for operators of different engines
+   * sharing the same HCE.
+   * 
+   * @param env
+   *          heterogeneous computing environment
+   * @param probMutator
+   *          mutating probability
+   * @param simAnn
+   *          simulated annealing
+   */
+  public ScheduleMutator(HeterogeneousComputingEnv env, double probMutator,
+      SimulatedAnnealing simAnn) {
+    this(env, probMutator);
+    this.simAnn = simAnn;
+  }
+
+  /*
+   * (non-Javadoc)
+   * 
+   * @see org.jenetics.Mutator#alter(org.jenetics.Population, long)
+   */
+  @Override
+  public int alter(final Population<ScheduleGene, Double> population, final long generation) {
+    final double prob = Math.pow(getProbability(), 1.0 / 3.0);
+    final Random randomGen = env.getRandomProvider().getRandom();
+    int alterations = 0;
+
+    for (int individual = 0; individual < population.size(); individual++) {
+      if (randomGen.nextDouble() >= prob) {
+        continue;
+      }
+
+      Phenotype<ScheduleGene, Double> pt = population.get(individual);
+      Genotype<ScheduleGene> gt = pt.getGenotype();
+      ArrayList<Chromosome<ScheduleGene>> chromosomes =
+          new ArrayList<Chromosome<ScheduleGene>>(gt.toSeq().asList());
+
+      for (int i = 0; i < chromosomes.size(); i++) {
+        if (randomGen.nextDouble() >= prob) {
+          continue;
+        }
+
+        // Work on the chromosome so its task lookup tables can be used
+        ScheduleChromosome chromosome = (ScheduleChromosome) chromosomes.get(i);
+        MSeq<ScheduleGene> genes = chromosome.toSeq().copy();
+        int mutations = mutate(chromosome, genes, prob);
+
+        if (mutations > 0) {
+          alterations += mutations;
+          chromosomes.set(i, chromosome.newInstance(genes.toISeq()));
+        }
+      }
+
+      population.set(individual, pt.newInstance(Genotype.of(chromosomes), generation));
+    }
+
+    return alterations;
+  }
+
+  /*
+   * (non-Javadoc)
+   * 
+   * @see org.jenetics.SwapMutator#mutate(org.jenetics.util.MSeq, double)
+   */
+  @Override
+  public int mutate(final MSeq<ScheduleGene> genes, final double prob) {
+    return mutate(ScheduleChromosome.of(env, genes.toISeq()), genes, prob);
+  }
+
+  /**
+   * Mutate the genes of a chromosome by swapping two tasks of the same topological level.
+   * 
+   * @param chromosome
+   *          original chromosome
+   * @param genes
+   *          mutable copy of the chromosome's genes
+   * @param prob
+   *          mutation probability
+   * @return number of altered genes
+   */
+  private int mutate(final ScheduleChromosome chromosome, final MSeq<ScheduleGene> genes,
+      final double prob) {
+    Random randomGen = env.getRandomProvider().getRandom();
+
+    // If probability not meet return and don't mutate
+    if (randomGen.nextDouble() < prob) {
+      return 0;
+    }
+
+    // Immutable level index, safe to share with other threads
+    TopologicalLevels levels = env.getTopologicalLevels();
+    int randLevel = randomGen.nextInt(levels.getNumberOfLevels());
+    int levelSize = levels.getLevelSize(randLevel);
+
+    if (levelSize < 2) {
+      return 0;
+    }
+
+    // Pick two distinct members of the level
+    int firstMember = randomGen.nextInt(levelSize);
+    int secondMember = randomGen.nextInt(levelSize - 1);
+
+    if (secondMember >= firstMember) {
+      secondMember++;
+    }
+
+    // Get the locus of the genes
+    final int firstGeneLocus =
+        chromosome.getPositionOfTask(levels.getMember(randLevel, firstMember));
+    final int secondGeneLocus =
+        chromosome.getPositionOfTask(levels.getMember(randLevel, secondMember));
+
+    // Tasks of the same level can still be separated by the predecessors of the latter one
+    if (secondGeneLocus == firstGeneLocus
+        || !env.getScheduleEvaluator().isValidSwap(chromosome, firstGeneLocus, secondGeneLocus)) {
+      return 0;
+    }
+
+    // Apply mutation
+    genes.swap(firstGeneLocus, secondGeneLocus);
+
+    SimulatedAnnealing annealing = getSimulatedAnnealing();
+
+    // check if simulated annealing is required
+    if (annealing == null) {
+      return 2;
+    }
+
+    // Only the suffix from the first swapped locus is re-simulated
+    if (annealing.checkCriteria(chromosome, ScheduleChromosome.of(env, genes.toISeq()),
+        firstGeneLocus, secondGeneLocus)) {
+      return 2;
+    }
+
+    // If criteria not meet unswap genes
+    genes.swap(firstGeneLocus, secondGeneLocus);
+    return 0;
+  }
+
+  /**
+   * Get the simulated annealing used by the operator.
+   * 
+   * @return simulated annealing or null if simulated annealing isn't enabled
+   */
+  private SimulatedAnnealing getSimulatedAnnealing() {
+    return simAnn != null ? simAnn : env.getSimulatedAnnealing();
+  }
+
+}
@@ -0,0 +1,422 @@
+/*
+ * Genetic Algorithm for Load Balancing
+ * Copyright (c) 2016-2017 Pedro Cuadra & Sudheera Reddy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Pedro Cuadra (pjcuadra@gmail.com)
+ *    Sudheera Reddy
+ */
+
+
+package de.dortmund.fh.pimes.gitlab.galob.alg.util.jenetics;
+
+import de.dortmund.fh.pimes.gitlab.galob.alg.util.HeterogeneousComputingEnv;
+
+import org.jenetics.Phenotype;
+import org.jenetics.engine.EvolutionDurations;
+import org.jenetics.engine.EvolutionResult;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.function.Consumer;
+
+/**
+ * Headless evolution stream statistics. Streams the metrics of every generation as CSV or JSON
+ * lines and exports the best schedule, without any graphical dependency.
+ *
+ * @author Pedro Cuadra
+ *
+ */
+public class ScheduleStatisticsWriter
+    implements Consumer<EvolutionResult<ScheduleGene, Double>>, Closeable {
+  /**
+   * Output formats.
+   */
+  public enum Format {
+    /**
+     * Comma separated values with a header line.
+     */
+    CSV,
+    /**
+     * One JSON object per line.
+     */
+    JSON_LINES
+  }
+
+  /**
+   * Heterogeneous computing environment.
+   */
+  private final HeterogeneousComputingEnv env;
+  /**
+   * Output format.
+   */
+  private final Format format;
+  /**
+   * Buffered output.
+   */
+  private final BufferedWriter writer;
+  /**
+   * Reused line buffer.
+   */
+  private final StringBuilder line = new StringBuilder();
+  /**
+   * Currently best phenotype.
+   */
+  private Phenotype<ScheduleGene, Double> bestPt;
+  /**
+   * Whether the CSV header was already written.
+   */
+  private boolean headerWritten;
+
+  /**
+   * Constructor. Creates or truncates the output file.
+   *
+   * @param env
+   *          heterogeneous computing environment
+   * @param path
+   *          output file
+   * @param format
+   *          output format
+   * @throws IOException
+   *           if the file can't be opened
+   */
+  public ScheduleStatisticsWriter(HeterogeneousComputingEnv env, Path path, Format format)
+      throws IOException {
+    this(env, Files.newBufferedWriter(path, StandardCharsets.UTF_8), format);
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param env
+   *          heterogeneous computing environment
+   * @param writer
+   *          output
+   * @param format
+   *          output format
+   */
+  public ScheduleStatisticsWriter(HeterogeneousComputingEnv env, Writer writer, Format format) {
+    this.env = env;
+    this.format = format;
+    this.writer =
+        writer instanceof BufferedWriter ? (BufferedWriter) writer : new BufferedWriter(writer);
+  }
+
+  /*
+   * (non-Javadoc)
+   *
+   * @see java.util.function.Consumer#accept(java.lang.Object)
+   */
+  @Override
+  public void accept(EvolutionResult<ScheduleGene, Double> result) {
+    Phenotype<ScheduleGene, Double> generationBest = result.getBestPhenotype();
+
+    // Keep the best phenotype of the whole stream
+    if (bestPt == null || result.getOptimize().compare(generationBest.getFitness(),
+        bestPt.getFitness()) > 0) {
+      bestPt = generationBest;
+    }
+
+    double meanFitness = 0;
+
+    for (Phenotype<ScheduleGene, Double> currPt : result.getPopulation()) {
+      meanFitness += currPt.getFitness();
+    }
+
+    meanFitness /= result.getPopulation().size();
+
+    double[] makespanK = getMakespanK(
+        (ScheduleChromosome) generationBest.getGenotype().getChromosome());
+    double makespan = 0;
+
+    for (double executorMakespan : makespanK) {
+      makespan = Math.max(makespan, executorMakespan);
+    }
+
+    Double saTemp =
+        env.getSimulatedAnnealingEnabled() ? env.getSimulatedAnnealing().getTemp() : null;
+    EvolutionDurations durations = result.getDurations();
+    Duration selection = durations.getOffspringSelectionDuration()
+        .plus(durations.getSurvivorsSelectionDuration());
+
+    try {
+      if (format == Format.CSV && !headerWritten) {
+        writeCsvHeader();
+      }
+
+      line.setLength(0);
+
+      startRecord();
+      appendField("generation", result.getGeneration());
+      appendField("best_fitness", generationBest.getFitness());
+      appendField("mean_fitness", meanFitness);
+      appendField("makespan", makespan);
+      appendArray("makespan_k", makespanK);
+      appendField("sa_temperature", saTemp);
+      appendField("evaluation_s", toSeconds(durations.getEvaluationDuration()));
+      appendField("alter_s", toSeconds(durations.getOffspringAlterDuration()));
+      appendField("selection_s", toSeconds(selection));
+      appendField("evolve_s", toSeconds(durations.getEvolveDuration()));
+      endRecord();
+
+      writer.append(line);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Get the best phenotype seen so far.
+   *
+   * @return best phenotype (null if no result was accepted)
+   */
+  public Phenotype<ScheduleGene, Double> getBestPhenotype() {
+    return bestPt;
+  }
+
+  /**
+   * Export the best schedule seen so far. One record per task in schedule order with its
+   * executor, start time and finish time.
+   *
+   * @param path
+   *          output file
+   * @throws IOException
+   *           if the file can't be written
+   */
+  public void exportBestSchedule(Path path) throws IOException {
+    assert bestPt != null : "No evolution result accepted";
+
+    try (Writer scheduleWriter = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+      writeSchedule((ScheduleChromosome) bestPt.getGenotype().getChromosome(), scheduleWriter,
+          format);
+    }
+  }
+
+  /**
+   * Write a schedule. One record per task in schedule order with its executor, start time and
+   * finish time.
+   *
+   * @param chromosome
+   *          schedule
+   * @param output
+   *          output
+   * @param format
+   *          output format
+   * @throws IOException
+   *           if the schedule can't be written
+   */
+  public static void writeSchedule(ScheduleChromosome chromosome, Writer output, Format format)
+      throws IOException {
+    HeterogeneousComputingEnv env = chromosome.getEnvironment();
+    double[] startTime = new double[env.getNumberOfTasks()];
+    double[] finishTime = new double[env.getNumberOfTasks()];
+    StringBuilder record = new StringBuilder();
+
+    env.getScheduleEvaluator().simulate(chromosome, startTime, finishTime);
+
+    if (format == Format.CSV) {
+      output.write("task,executor,start,finish\n");
+    }
+
+    for (ScheduleGene gene : chromosome) {
+      int taskId = gene.getAllele().getTaskId();
+      int executorId = gene.getAllele().getExecutorId();
+
+      record.setLength(0);
+
+      if (format == Format.CSV) {
+        record.append(taskId).append(',').append(executorId).append(',')
+            .append(startTime[taskId]).append(',').append(finishTime[taskId]).append('\n');
+      } else {
+        record.append("{\"task\":").append(taskId).append(",\"executor\":").append(executorId)
+            .append(",\"start\":").append(startTime[taskId]).append(",\"finish\":")
+            .append(finishTime[taskId]).append("}\n");
+      }
+
+      output.append(record);
+    }
+
+    output.flush();
+  }
+
+  /**
+   * Flush buffered records to the output.
+   *
+   * @throws IOException
+   *           if the output can't be written
+   */
+  public void flush() throws IOException {
+    writer.flush();
+  }
+
+  /*
+   * (non-Javadoc)
+   *
+   * @see java.io.Closeable#close()
+   */
+  @Override
+  public void close() throws IOException {
+    writer.close();
+  }
+
+  /**
+   * Get the makespan per executor of a chromosome, reusing its statistics if available.
+   *
+   * @param chromosome
+   *          chromosome
+   * @return makespan per executor
+   */
+  private double[] getMakespanK(ScheduleChromosome chromosome) {
+    if (chromosome.hasStats()) {
+      return chromosome.getStats().getNodesExecutionTime();
+    }
+
+    return env.getScheduleEvaluator().evaluate(chromosome);
+  }
+
+  /**
+   * Convert a duration to seconds.
+   *
+   * @param duration
+   *          duration
+   * @return duration in seconds
+   */
+  private static double toSeconds(Duration duration) {
+    return duration.toNanos() / 1e9;
+  }
+
+  /**
+   * Write the CSV header line.
+   *
+   * @throws IOException
+   *           if the output can't be written
+   */
+  private void writeCsvHeader() throws IOException {
+    line.setLength(0);
+    line.append("generation,best_fitness,mean_fitness,makespan");
+
+    for (int i = 0; i < env.getNumberOfExecutors(); i++) {
+      line.append(",makespan_").append(i);
+    }
+
+    line.append(",sa_temperature,evaluation_s,alter_s,selection_s,evolve_s\n");
+
+    writer.append(line);
+    headerWritten = true;
+  }
+
+  /**
+   * Start a record in the line buffer.
+   */
+  private void startRecord() {
+    if (format == Format.JSON_LINES) {
+      line.append('{');
+    }
+  }
+
+  /**
+   * End a record in the line buffer.
+   */
+  private void endRecord() {
+    if (format == Format.JSON_LINES) {
+      line.append('}');
+    } else {
+      // Drop the trailing separator
+      line.setLength(line.length() - 1);
+    }
+
+    line.append('\n');
+  }
+
+  /**
+   * Append a field to the line buffer.
+   *
+   * @param name
+   *          field name
+   * @param value
+   *          field value (null for missing values)
+   */
+  private void appendField(String name, Object value) {
+    if (format == Format.JSON_LINES) {
+      if (line.length() > 1) {
+        line.append(',');
+      }
+
+      line.append('"').append(name).append("\":");
+      appendJsonValue(value);
+      return;
+    }
+
+    if (value != null) {
+      line.append(value);
+    }
+
+    line.append(',');
+  }
+
+  /**
+   * Append an array field to the line buffer. CSV records get one column per element.
+   *
+   * @param name
+   *          field name
+   * @param values
+   *          field values
+   */
+  private void appendArray(String name, double[] values) {
+    if (format == Format.CSV) {
+      for (double value : values) {
+        line.append(value).append(',');
+      }
+
+      return;
+    }
+
+    line.append(",\"").append(name).append("\":[");
+
+    for (int i = 0; i < values.length; i++) {
+      if (i > 0) {
+        line.append(',');
+      }
+
+      appendJsonValue(values[i]);
+    }
+
+    line.append(']');
+  }
+
+  /**
+   * Append a JSON value to the line buffer. Non finite numbers aren't valid JSON and are
+   * written as null.
+   *
+   * @param value
+   *          value
+   */
+  private void appendJsonValue(Object value) {
+    if (value instanceof Double && (((Double) value).isNaN() || ((Double) value).isInfinite())) {
+      line.append("null");
+      return;
+    }
+
+    line.append(value);
+  }
+
+}
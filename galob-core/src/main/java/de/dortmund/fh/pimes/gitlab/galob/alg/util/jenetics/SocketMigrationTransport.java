@@ -0,0 +1,216 @@
+/*
+ * Genetic Algorithm for Load Balancing
+ * Copyright (c) 2016-2017 Pedro Cuadra & Sudheera Reddy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Pedro Cuadra (pjcuadra@gmail.com)
+ *    Sudheera Reddy
+ */
+
+
+package de.dortmund.fh.pimes.gitlab.galob.alg.util.jenetics;
+
+import de.dortmund.fh.pimes.gitlab.galob.alg.util.HeterogeneousComputingEnv;
+
+import org.jenetics.Phenotype;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Migration transport connected to a {@link MigrationCoordinator} over TCP. The channel is
+ * non-blocking, so receiving never waits for the coordinator and sending only waits while the
+ * socket's send buffer is full.
+ *
+ * @author Pedro Cuadra
+ *
+ */
+public class SocketMigrationTransport implements MigrationTransport, Closeable {
+  /**
+   * Heterogeneous computing environment.
+   */
+  private final HeterogeneousComputingEnv env;
+  /**
+   * Connection to the coordinator.
+   */
+  private final SocketChannel channel;
+  /**
+   * Selector used to wait for the channel to be writable.
+   */
+  private final Selector selector;
+  /**
+   * Channel's selection key.
+   */
+  private final SelectionKey key;
+  /**
+   * Read buffer, in write mode.
+   */
+  private ByteBuffer input = ByteBuffer.allocate(MigrationProtocol.BUFFER_SIZE);
+  /**
+   * Whether the coordinator closed the connection.
+   */
+  private boolean disconnected = false;
+
+  /**
+   * Constructor. Connects to the coordinator.
+   *
+   * @param env
+   *          heterogeneous computing environment
+   * @param coordinator
+   *          coordinator address
+   * @throws IOException
+   *           if the connection failed
+   */
+  public SocketMigrationTransport(HeterogeneousComputingEnv env, InetSocketAddress coordinator)
+      throws IOException {
+    this.env = env;
+    this.channel = SocketChannel.open(coordinator);
+
+    try {
+      channel.configureBlocking(false);
+      this.selector = Selector.open();
+      this.key = channel.register(selector, 0);
+
+      write(MigrationProtocol.hello(env.getNumberOfTasks(), env.getNumberOfExecutors()));
+    } catch (IOException e) {
+      channel.close();
+      throw e;
+    }
+  }
+
+  @Override
+  public void send(List<Phenotype<ScheduleGene, Double>> emigrants) throws IOException {
+    if (emigrants.isEmpty()) {
+      return;
+    }
+
+    double[] fitness = new double[emigrants.size()];
+    int[][] schedules = new int[emigrants.size()][];
+
+    for (int i = 0; i < emigrants.size(); i++) {
+      Phenotype<ScheduleGene, Double> emigrant = emigrants.get(i);
+
+      fitness[i] = emigrant.getFitness();
+      schedules[i] = ScheduleEncoding
+          .encode((ScheduleChromosome) emigrant.getGenotype().getChromosome());
+    }
+
+    for (ByteBuffer frame : MigrationProtocol.migrants(env.getNumberOfTasks(), fitness,
+        schedules)) {
+      write(frame);
+    }
+  }
+
+  /**
+   * Write a whole frame, waiting while the socket's send buffer is full.
+   *
+   * @param frame
+   *          frame to write
+   * @throws IOException
+   *           if the frame couldn't be written
+   */
+  private void write(ByteBuffer frame) throws IOException {
+    while (frame.hasRemaining()) {
+      if (channel.write(frame) == 0) {
+        key.interestOps(SelectionKey.OP_WRITE);
+        selector.select();
+        selector.selectedKeys().clear();
+        key.interestOps(0);
+      }
+    }
+  }
+
+  @Override
+  public List<ScheduleChromosome> receive() throws IOException {
+    List<ScheduleChromosome> immigrants = new ArrayList<>();
+    int read = 1;
+
+    while (!disconnected && read > 0) {
+      input = MigrationProtocol.ensureSpace(input);
+      read = channel.read(input);
+      disconnected = read < 0;
+
+      // Take frames out as they arrive, so a burst doesn't grow the buffer
+      ByteBuffer frame;
+
+      while ((frame = MigrationProtocol.nextFrame(input)) != null) {
+        if (frame.get() == MigrationProtocol.MIGRANTS) {
+          decode(frame, immigrants);
+        }
+      }
+    }
+
+    return immigrants;
+  }
+
+  /**
+   * Decode the valid schedules of a migrants frame.
+   *
+   * @param frame
+   *          frame payload
+   * @param immigrants
+   *          list the schedules are added to
+   */
+  private void decode(ByteBuffer frame, List<ScheduleChromosome> immigrants) {
+    final int count = frame.getInt();
+    final int numTasks = frame.getInt();
+
+    if (numTasks != env.getNumberOfTasks()
+        || frame.remaining() < count * (8 + 8L * numTasks)) {
+      return;
+    }
+
+    for (int i = 0; i < count; i++) {
+      int[] schedule = new int[2 * numTasks];
+
+      // Fitness is recomputed by the receiving engine
+      frame.getDouble();
+      frame.asIntBuffer().get(schedule);
+      frame.position(frame.position() + 4 * schedule.length);
+
+      ScheduleChromosome chromosome = ScheduleEncoding.decode(env, schedule);
+
+      if (chromosome != null && chromosome.isValid()) {
+        immigrants.add(chromosome);
+      }
+    }
+  }
+
+  /**
+   * Check whether the coordinator closed the connection.
+   *
+   * @return true if disconnected
+   */
+  public boolean isDisconnected() {
+    return disconnected;
+  }
+
+  @Override
+  public void close() throws IOException {
+    try {
+      selector.close();
+    } finally {
+      channel.close();
+    }
+  }
+
+}
@@ -0,0 +1,258 @@
+/*
+ * Genetic Algorithm for Load Balancing
+ * Copyright (c) 2016-2017 Pedro Cuadra & Sudheera Reddy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Pedro Cuadra (pjcuadra@gmail.com)
+ *    Sudheera Reddy
+ */
+
+
+package de.dortmund.fh.pimes.gitlab.galob.alg.util;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public class EnvironmentFileTest {
+  /**
+   * Number of tasks.
+   */
+  private static final int NUM_TASKS = 64;
+  /**
+   * Number of executors.
+   */
+  private static final int NUM_EXECUTORS = 5;
+  /**
+   * Delta for double comparison.
+   */
+  private static final double EPSILON = 0.00001;
+
+  @Rule
+  public ExpectedException thrown = ExpectedException.none();
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  /**
+   * Test that a HCE survives a write and read round trip.
+   *
+   * @throws Exception
+   *           failure exception
+   */
+  @Test
+  public void testRoundTrip() throws Exception {
+    HeterogeneousComputingEnv env =
+        HeterogeneousComputingEnv.ofRandom(NUM_TASKS, NUM_EXECUTORS, false, 42);
+    Path path = folder.newFile().toPath();
+
+    env.toFile(path);
+    HeterogeneousComputingEnv loaded = HeterogeneousComputingEnv.ofFile(path);
+
+    assertEquals(env.getNumberOfTasks(), loaded.getNumberOfTasks());
+    assertEquals(env.getNumberOfExecutors(), loaded.getNumberOfExecutors());
+    assertEquals(env.getNumberOfDependencies(), loaded.getNumberOfDependencies());
+
+    double[][] etc = env.getExpectedTimeToComputeMatrix();
+    double[][] loadedEtc = loaded.getExpectedTimeToComputeMatrix();
+
+    for (int task = 0; task < NUM_TASKS; task++) {
+      assertArrayEquals(etc[task], loadedEtc[task], EPSILON);
+    }
+
+    double[][] costs = env.getCommunicationCostsMatrix();
+    double[][] loadedCosts = loaded.getCommunicationCostsMatrix();
+
+    for (int task = 0; task < NUM_TASKS; task++) {
+      assertArrayEquals(costs[task], loadedCosts[task], EPSILON);
+
+      for (int i = 0; i < env.getNumberOfSuccessors(task); i++) {
+        int dst = env.getSuccessor(task, i);
+        assertEquals(true, loaded.hasDependency(task, dst));
+        assertEquals(env.getSuccessorCost(task, i), loaded.getCommunicationCost(task, dst),
+            EPSILON);
+      }
+    }
+  }
+
+  /**
+   * Test that a HCE without dependencies can be stored.
+   *
+   * @throws Exception
+   *           failure exception
+   */
+  @Test
+  public void testNoDependencies() throws Exception {
+    HeterogeneousComputingEnv env = HeterogeneousComputingEnv.builder()
+        .etc(new double[][] { { 1, 2 }, { 3, 4 }, { 5, 6 } })
+        .build();
+    Path path = folder.newFile().toPath();
+
+    EnvironmentFile.write(env, path);
+    HeterogeneousComputingEnv loaded = EnvironmentFile.read(path);
+
+    assertEquals(3, loaded.getNumberOfTasks());
+    assertEquals(0, loaded.getNumberOfDependencies());
+    assertArrayEquals(new double[] { 5, 6 }, loaded.getExpectedTimeToComputeMatrix()[2],
+        EPSILON);
+  }
+
+  /**
+   * Test that files with a wrong magic number are rejected.
+   *
+   * @throws Exception
+   *           failure exception
+   */
+  @Test
+  public void testInvalidMagic() throws Exception {
+    Path path = folder.newFile().toPath();
+    ByteBuffer buffer = ByteBuffer.allocate(64).order(ByteOrder.LITTLE_ENDIAN);
+
+    buffer.putInt(0xCAFEBABE);
+    Files.write(path, buffer.array());
+
+    thrown.expect(EnvironmentFile.InvalidFormatException.class);
+    EnvironmentFile.read(path);
+  }
+
+  /**
+   * Test that truncated files are rejected.
+   *
+   * @throws Exception
+   *           failure exception
+   */
+  @Test
+  public void testTruncated() throws Exception {
+    HeterogeneousComputingEnv env =
+        HeterogeneousComputingEnv.ofRandom(NUM_TASKS, NUM_EXECUTORS, false, 7);
+    Path path = folder.newFile().toPath();
+
+    env.toFile(path);
+    byte[] content = Files.readAllBytes(path);
+    byte[] truncated = new byte[content.length - 8];
+    System.arraycopy(content, 0, truncated, 0, truncated.length);
+    Files.write(path, truncated);
+
+    thrown.expect(EnvironmentFile.InvalidFormatException.class);
+    EnvironmentFile.read(path);
+  }
+
+  /**
+   * Overwrite the successors offsets of a stored HCE with two dependencies.
+   *
+   * @param offsets
+   *          successors offsets of the three tasks
+   * @return path of the corrupted file
+   * @throws Exception
+   *           failure exception
+   */
+  private Path corruptOffsets(int... offsets) throws Exception {
+    // (0) -> (1) and (0) -> (2)
+    HeterogeneousComputingEnv env = HeterogeneousComputingEnv.builder()
+        .etc(new double[][] { { 1 }, { 2 }, { 3 } })
+        .dependencies(new int[] { 0, 0 }, new int[] { 1, 2 }, new double[] { 1, 1 })
+        .build();
+    Path path = folder.newFile().toPath();
+
+    env.toFile(path);
+    ByteBuffer content = ByteBuffer.wrap(Files.readAllBytes(path)).order(ByteOrder.LITTLE_ENDIAN);
+
+    for (int i = 0; i < offsets.length; i++) {
+      content.putInt(24 + 8 * 3 + 4 * i, offsets[i]);
+    }
+
+    Files.write(path, content.array());
+
+    return path;
+  }
+
+  /**
+   * Test that offsets not starting at the first dependency are rejected.
+   *
+   * @throws Exception
+   *           failure exception
+   */
+  @Test
+  public void testInvalidFirstOffset() throws Exception {
+    Path path = corruptOffsets(-1, 2, 2, 2);
+
+    thrown.expect(EnvironmentFile.InvalidFormatException.class);
+    EnvironmentFile.read(path);
+  }
+
+  /**
+   * Test that offsets not covering all dependencies are rejected.
+   *
+   * @throws Exception
+   *           failure exception
+   */
+  @Test
+  public void testInvalidLastOffset() throws Exception {
+    Path path = corruptOffsets(0, 1, 1, 1);
+
+    thrown.expect(EnvironmentFile.InvalidFormatException.class);
+    EnvironmentFile.read(path);
+  }
+
+  /**
+   * Test that cyclic dependencies are rejected as an invalid format.
+   *
+   * @throws Exception
+   *           failure exception
+   */
+  @Test
+  public void testCyclicDependencies() throws Exception {
+    // (0) -> (1) and (1) -> (0)
+    Path path = corruptOffsets(0, 1, 2, 2);
+    ByteBuffer content = ByteBuffer.wrap(Files.readAllBytes(path)).order(ByteOrder.LITTLE_ENDIAN);
+
+    content.putInt(24 + 8 * 3 + 4 * 4, 1);
+    content.putInt(24 + 8 * 3 + 4 * 5, 0);
+    Files.write(path, content.array());
+
+    thrown.expect(EnvironmentFile.InvalidFormatException.class);
+    EnvironmentFile.read(path);
+  }
+
+  /**
+   * Test that huge dimensions in the header don't overflow the size check.
+   *
+   * @throws Exception
+   *           failure exception
+   */
+  @Test
+  public void testHugeDimensions() throws Exception {
+    Path path = folder.newFile().toPath();
+    ByteBuffer buffer = ByteBuffer.allocate(64).order(ByteOrder.LITTLE_ENDIAN);
+
+    buffer.putInt(EnvironmentFile.MAGIC).putInt(EnvironmentFile.VERSION)
+        .putInt(Integer.MAX_VALUE).putInt(Integer.MAX_VALUE).putInt(Integer.MAX_VALUE);
+    Files.write(path, buffer.array());
+
+    thrown.expect(EnvironmentFile.InvalidFormatException.class);
+    thrown.expectMessage("File size doesn't match the header");
+    EnvironmentFile.read(path);
+  }
+
+}
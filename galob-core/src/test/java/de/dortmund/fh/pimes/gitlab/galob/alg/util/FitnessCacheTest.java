@@ -0,0 +1,174 @@
+/*
+ * Genetic Algorithm for Load Balancing
+ * Copyright (c) 2016-2017 Pedro Cuadra & Sudheera Reddy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Pedro Cuadra (pjcuadra@gmail.com)
+ *    Sudheera Reddy
+ */
+
+
+package de.dortmund.fh.pimes.gitlab.galob.alg.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import de.dortmund.fh.pimes.gitlab.galob.alg.LoadBalancingFitnessCalculator;
+import de.dortmund.fh.pimes.gitlab.galob.alg.util.graph.GraphNode;
+import de.dortmund.fh.pimes.gitlab.galob.alg.util.jenetics.ScheduleChromosome;
+
+import org.junit.Test;
+
+/**
+ * Fitness cache unit testing.
+ *
+ * @author Pedro Cuadra
+ *
+ */
+public class FitnessCacheTest {
+  /**
+   * Max. number of tasks.
+   */
+  static final int MAX_NUM_TASKS = 16;
+  /**
+   * Max. number cores.
+   */
+  static final int MAX_NUM_CORES = 16;
+  /**
+   * Delta for double comparison.
+   */
+  private static final double EPSILON = 0.00001;
+
+  @Test
+  public void testGetPut() throws Exception {
+    FitnessCache cache = new FitnessCache(4);
+
+    assertNull(cache.get(1L));
+    cache.put(1L, 10.0);
+    assertEquals(10.0, cache.get(1L), EPSILON);
+
+    assertEquals(1, cache.getHits());
+    assertEquals(1, cache.getMisses());
+    assertEquals(1, cache.size());
+
+    cache.clear();
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  public void testEviction() throws Exception {
+    FitnessCache cache = new FitnessCache(2);
+
+    cache.put(1L, 1.0);
+    cache.put(2L, 2.0);
+
+    // Access the first entry so the second one is the least recently used
+    cache.get(1L);
+    cache.put(3L, 3.0);
+
+    assertEquals(2, cache.size());
+    assertNull(cache.get(2L));
+    assertEquals(1.0, cache.get(1L), EPSILON);
+    assertEquals(3.0, cache.get(3L), EPSILON);
+  }
+
+  @Test
+  public void testSegmentedEviction() throws Exception {
+    FitnessCache cache = new FitnessCache(FitnessCache.DEFAULT_MAX_SIZE);
+    int numThreads = 4;
+    Thread[] threads = new Thread[numThreads];
+
+    // Fill the cache concurrently well over its maximum size
+    for (int t = 0; t < numThreads; t++) {
+      final long first = t * 4L * FitnessCache.DEFAULT_MAX_SIZE;
+
+      threads[t] = new Thread(() -> {
+        for (long hash = first; hash < first + 4L * FitnessCache.DEFAULT_MAX_SIZE; hash++) {
+          cache.put(hash, (double) hash);
+        }
+      });
+      threads[t].start();
+    }
+
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    assertTrue(cache.size() <= FitnessCache.DEFAULT_MAX_SIZE);
+    assertTrue(cache.size() > FitnessCache.DEFAULT_MAX_SIZE / 2);
+
+    // Every cached value is still found
+    for (long hash = 0; hash < numThreads * 4L * FitnessCache.DEFAULT_MAX_SIZE; hash++) {
+      Double fitness = cache.get(hash);
+
+      if (fitness != null) {
+        assertEquals((double) hash, fitness, EPSILON);
+      }
+    }
+
+    assertEquals(cache.size(), cache.getHits());
+  }
+
+  @Test
+  public void testFitnessCalculatorCache() throws Exception {
+    HeterogeneousComputingEnv env =
+        HeterogeneousComputingEnv.ofRandom(MAX_NUM_TASKS, MAX_NUM_CORES, true);
+    LoadBalancingFitnessCalculator fitnessCalc = new LoadBalancingFitnessCalculator(env, 0.5);
+    FitnessCache cache = fitnessCalc.getFitnessCache();
+    ScheduleChromosome chromosome = new ScheduleChromosome(env);
+    ScheduleChromosome clone = chromosome.clone();
+
+    double fitness = fitnessCalc.getFitness(chromosome);
+
+    assertEquals(0, cache.getHits());
+    assertEquals(1, cache.getMisses());
+
+    // An equal schedule is looked up in the cache
+    assertEquals(fitness, fitnessCalc.getFitness(clone), EPSILON);
+    assertEquals(1, cache.getHits());
+
+    // Stats are still attached on cache hits
+    assertSame(clone, clone.getStats().getChromosome());
+    assertEquals(fitness, 0.5 * clone.getStats().getTotalTime()
+        + 0.5 * clone.getStats().getStdDev(), EPSILON);
+  }
+
+  @Test
+  public void testFitnessCalculatorCacheInvalidation() throws Exception {
+    HeterogeneousComputingEnv env = new HeterogeneousComputingEnv(2, 1);
+    GraphNode src = env.addUnitExecutionTimeTask();
+    GraphNode dst = env.addUnitExecutionTimeTask();
+    LoadBalancingFitnessCalculator fitnessCalc = new LoadBalancingFitnessCalculator(env, 0);
+
+    assertEquals(2, fitnessCalc.getFitness(new ScheduleChromosome(env)), EPSILON);
+
+    FitnessCache cache = fitnessCalc.getFitnessCache();
+
+    // Modifying the HCE swaps in an empty cache
+    env.addDependency(src, dst, 1);
+    assertEquals(2, fitnessCalc.getFitness(new ScheduleChromosome(env)), EPSILON);
+    assertEquals(0, fitnessCalc.getFitnessCache().getHits());
+    assertNotSame(cache, fitnessCalc.getFitnessCache());
+    assertEquals(cache.getMaxSize(), fitnessCalc.getFitnessCache().getMaxSize());
+
+    // Caching can be disabled
+    fitnessCalc.setFitnessCache(null);
+    assertEquals(2, fitnessCalc.getFitness(new ScheduleChromosome(env)), EPSILON);
+  }
+
+}
@@ -0,0 +1,71 @@
+/*
+ * Genetic Algorithm for Load Balancing
+ * Copyright (c) 2016-2017 Pedro Cuadra & Sudheera Reddy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Pedro Cuadra (pjcuadra@gmail.com)
+ *    Sudheera Reddy
+ */
+
+
+package de.dortmund.fh.pimes.gitlab.galob.alg.util;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+/**
+ * Growable int array unit testing.
+ *
+ * @author Pedro Cuadra
+ *
+ */
+public class GrowableIntArrayTest {
+
+  @Test
+  public void testAdd() throws Exception {
+    GrowableIntArray array = new GrowableIntArray(1);
+
+    // Grow several times
+    for (int i = 0; i < 1000; i++) {
+      array.add(i * 2);
+    }
+
+    assertEquals(1000, array.size());
+    assertEquals(999 * 2, array.getLast());
+
+    int[] values = array.toArray();
+
+    assertEquals(1000, values.length);
+
+    for (int i = 0; i < values.length; i++) {
+      assertEquals(i * 2, values[i]);
+      assertEquals(i * 2, array.get(i));
+    }
+  }
+
+  @Test
+  public void testSet() throws Exception {
+    GrowableIntArray array = new GrowableIntArray();
+
+    array.add(1);
+    array.add(2);
+    array.set(0, 5);
+
+    assertEquals(5, array.get(0));
+    assertEquals(2, array.get(1));
+  }
+
+}
@@ -548,4 +548,189 @@ public class HeterogeneousComputingEnvTest {
     assertEquals(0, commCosts[src.getTaskId()][dst.getTaskId()], EPSILON);
   }
 
+  @Test
+  public void testPredecessorsAndSuccessors() throws Exception {
+    HeterogeneousComputingEnv env = new HeterogeneousComputingEnv(4, numCores);
+    GraphNode[] tasks = new GraphNode[4];
+
+    for (int i = 0; i < tasks.length; i++) {
+      tasks[i] = env.addUnitExecutionTimeTask();
+    }
+
+    // (0) -> (1), (0) -> (2), (1) -> (3), (2) -> (3)
+    env.addDependency(tasks[0], tasks[1], 1);
+    env.addDependency(tasks[0], tasks[2], 2);
+    env.addDependency(tasks[1], tasks[3], 3);
+    env.addDependency(tasks[2], tasks[3], 4);
+
+    // Multiple dependencies are merged summing their costs
+    env.addDependency(tasks[2], tasks[3], 1);
+
+    assertEquals(4, env.getNumberOfDependencies());
+
+    assertEquals(2, env.getNumberOfSuccessors(0));
+    assertEquals(1, env.getSuccessor(0, 0));
+    assertEquals(2, env.getSuccessor(0, 1));
+    assertEquals(2, env.getSuccessorCost(0, 1), EPSILON);
+
+    assertEquals(0, env.getNumberOfPredecessors(0));
+    assertEquals(2, env.getNumberOfPredecessors(3));
+    assertEquals(1, env.getPredecessor(3, 0));
+    assertEquals(2, env.getPredecessor(3, 1));
+    assertEquals(5, env.getPredecessorCost(3, 1), EPSILON);
+
+    assertTrue(env.hasDependency(2, 3));
+    assertEquals(5, env.getCommunicationCost(2, 3), EPSILON);
+    assertEquals(env.getEdgeWeight(env.getEdge(tasks[2], tasks[3])),
+        env.getCommunicationCost(2, 3), EPSILON);
+
+    // Remove a dependency from both lists
+    env.removeDependency(tasks[0], tasks[1]);
+
+    assertEquals(3, env.getNumberOfDependencies());
+    assertEquals(1, env.getNumberOfSuccessors(0));
+    assertEquals(2, env.getSuccessor(0, 0));
+    assertEquals(0, env.getNumberOfPredecessors(1));
+    assertTrue(!env.hasDependency(0, 1));
+    assertEquals(0, env.getCommunicationCost(0, 1), EPSILON);
+  }
+
+  @Test
+  public void testBulkLoadMergesDependencies() throws Exception {
+    HeterogeneousComputingEnv env = new HeterogeneousComputingEnv(3, 1);
+    GraphNode[] tasks = new GraphNode[3];
+
+    for (int i = 0; i < tasks.length; i++) {
+      tasks[i] = env.addUnitExecutionTimeTask();
+    }
+
+    env.startBulkLoad();
+    env.addDependency(tasks[0], tasks[1], 1);
+    env.addDependency(tasks[0], tasks[2], 2);
+    env.addDependency(tasks[0], tasks[1], 3);
+    env.addDependency(tasks[2], tasks[1], 4);
+    env.addDependency(tasks[0], tasks[1], 5);
+    env.finishBulkLoad();
+
+    // Multiple dependencies are merged keeping the position of the first one
+    assertEquals(3, env.getNumberOfDependencies());
+    assertEquals(2, env.getNumberOfSuccessors(0));
+    assertEquals(1, env.getSuccessor(0, 0));
+    assertEquals(9, env.getSuccessorCost(0, 0), EPSILON);
+    assertEquals(2, env.getSuccessor(0, 1));
+    assertEquals(2, env.getNumberOfPredecessors(1));
+    assertEquals(0, env.getPredecessor(1, 0));
+    assertEquals(9, env.getPredecessorCost(1, 0), EPSILON);
+    assertEquals(4, env.getPredecessorCost(1, 1), EPSILON);
+    assertEquals(9, env.getCommunicationCost(tasks[0], tasks[1]), EPSILON);
+    assertEquals(3, env.edgeSet().size());
+  }
+
+  @Test
+  public void testBuilder() throws Exception {
+    HeterogeneousComputingEnv expected = HeterogeneousComputingEnv.ofRandom(numTasks, numCores,
+        false);
+
+    double[][] etc = expected.getExpectedTimeToComputeMatrix();
+    int numDependencies = expected.getNumberOfDependencies();
+    int[] sources = new int[numDependencies];
+    int[] destinations = new int[numDependencies];
+    double[] costs = new double[numDependencies];
+    int idx = 0;
+
+    // Create the edge list
+    for (int src = 0; src < numTasks; src++) {
+      for (int i = 0; i < expected.getNumberOfSuccessors(src); i++) {
+        sources[idx] = src;
+        destinations[idx] = expected.getSuccessor(src, i);
+        costs[idx] = expected.getSuccessorCost(src, i);
+        idx++;
+      }
+    }
+
+    HeterogeneousComputingEnv env = HeterogeneousComputingEnv.builder()
+        .etc(etc)
+        .dependencies(sources, destinations, costs)
+        .build();
+
+    assertEquals(numTasks, env.getNumberOfTasks());
+    assertEquals(numCores, env.getNumberOfExecutors());
+    assertEquals(numDependencies, env.getNumberOfDependencies());
+    assertEquals(numDependencies, env.edgeSet().size());
+    assertTrue(!env.checkCycles());
+
+    for (int i = 0; i < numTasks; i++) {
+      assertArrayEquals(etc[i], env.getExpectedTimeToComputeMatrix()[i], EPSILON);
+      assertArrayEquals(expected.getCommunicationCostsMatrix()[i],
+          env.getCommunicationCostsMatrix()[i], EPSILON);
+      assertEquals(expected.getNodeTopologicalLevel(i), env.getNodeTopologicalLevel(i));
+    }
+  }
+
+  @Test
+  public void testBuilderCycle() throws Exception {
+    thrown.expect(Graph.CycleException.class);
+
+    HeterogeneousComputingEnv.builder()
+        .etc(new double[][] { { 1, 2 }, { 3, 4 }, { 5, 6 } })
+        .dependencies(new int[] { 0, 1, 2 }, new int[] { 1, 2, 0 }, new double[] { 1, 1, 1 })
+        .build();
+  }
+
+  @Test
+  public void testBuilderMergesDependencies() throws Exception {
+    HeterogeneousComputingEnv env = HeterogeneousComputingEnv.builder()
+        .etc(new double[][] { { 1, 2 }, { 3, 4 }, { 5, 6 } })
+        .dependencies(new int[] { 0, 1, 0, 2, 0 }, new int[] { 1, 1, 2, 2, 1 },
+            new double[] { 5, 7, 3, 7, 4 })
+        .build();
+
+    assertEquals(2, env.getNumberOfDependencies());
+    assertEquals(2, env.edgeSet().size());
+    assertEquals(9, env.getCommunicationCost(0, 1), EPSILON);
+    assertEquals(3, env.getCommunicationCost(0, 2), EPSILON);
+    assertEquals(1, env.getNumberOfPredecessors(1));
+    assertEquals(9, env.getPredecessorCost(1, 0), EPSILON);
+    assertEquals(1, env.getNodeTopologicalLevel(2));
+  }
+
+  @Test
+  public void testBuilderEmptyEtc() throws Exception {
+    thrown.expect(IllegalArgumentException.class);
+
+    HeterogeneousComputingEnv.builder().etc(new double[0][]);
+  }
+
+  @Test
+  public void testBuilderRaggedEtc() throws Exception {
+    thrown.expect(IllegalArgumentException.class);
+
+    HeterogeneousComputingEnv.builder().etc(new double[][] { { 1, 2 }, { 3 } });
+  }
+
+  @Test
+  public void testBuilderEdgeListSizes() throws Exception {
+    thrown.expect(IllegalArgumentException.class);
+
+    HeterogeneousComputingEnv.builder()
+        .dependencies(new int[] { 0, 1 }, new int[] { 1 }, new double[] { 1, 1 });
+  }
+
+  @Test
+  public void testBuilderInvalidTask() throws Exception {
+    thrown.expect(IllegalArgumentException.class);
+
+    HeterogeneousComputingEnv.builder()
+        .etc(new double[][] { { 1, 2 }, { 3, 4 } })
+        .dependencies(new int[] { 0 }, new int[] { 2 }, new double[] { 1 })
+        .build();
+  }
+
+  @Test
+  public void testBuilderWithoutEtc() throws Exception {
+    thrown.expect(IllegalArgumentException.class);
+
+    HeterogeneousComputingEnv.builder().build();
+  }
+
 }
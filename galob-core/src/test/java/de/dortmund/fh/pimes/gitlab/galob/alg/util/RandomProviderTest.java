@@ -0,0 +1,120 @@
+/*
+ * Genetic Algorithm for Load Balancing
+ * Copyright (c) 2016-2017 Pedro Cuadra & Sudheera Reddy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Pedro Cuadra (pjcuadra@gmail.com)
+ *    Sudheera Reddy
+ */
+
+
+package de.dortmund.fh.pimes.gitlab.galob.alg.util;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+
+import de.dortmund.fh.pimes.gitlab.galob.alg.util.jenetics.ScheduleChromosome;
+
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Random provider unit testing.
+ *
+ * @author Pedro Cuadra
+ *
+ */
+public class RandomProviderTest {
+  /**
+   * Master seed.
+   */
+  private static final long SEED = 42;
+  /**
+   * Delta for double comparison.
+   */
+  private static final double EPSILON = 0.00001;
+
+  @Test
+  public void testSameSeed() throws Exception {
+    Random first = new RandomProvider(SEED).getRandom();
+    Random second = new RandomProvider(SEED).getRandom();
+
+    for (int i = 0; i < 100; i++) {
+      assertEquals(first.nextInt(1000), second.nextInt(1000));
+      assertEquals(first.nextDouble(), second.nextDouble(), EPSILON);
+    }
+  }
+
+  @Test
+  public void testThreadStreams() throws Exception {
+    RandomProvider provider = new RandomProvider(SEED);
+    AtomicReference<Random> other = new AtomicReference<Random>();
+
+    // Same thread always gets the same stream
+    assertSame(provider.getRandom(), provider.getRandom());
+
+    Thread thread = new Thread(() -> other.set(provider.getRandom()));
+    thread.start();
+    thread.join();
+
+    // Other threads get their own stream
+    assertNotEquals(provider.getRandom(), other.get());
+    assertNotEquals(provider.getRandom().nextLong(), other.get().nextLong());
+  }
+
+  @Test
+  public void testReproducibleEnvironment() throws Exception {
+    HeterogeneousComputingEnv first = HeterogeneousComputingEnv.ofRandom(32, 4, true, SEED);
+    HeterogeneousComputingEnv second = HeterogeneousComputingEnv.ofRandom(32, 4, true, SEED);
+
+    assertEquals(first.getNumberOfTasks(), second.getNumberOfTasks());
+    assertEquals(first.getNumberOfExecutors(), second.getNumberOfExecutors());
+
+    for (int i = 0; i < first.getNumberOfTasks(); i++) {
+      assertArrayEquals(first.getCommunicationCostsMatrix()[i],
+          second.getCommunicationCostsMatrix()[i], EPSILON);
+      assertArrayEquals(first.getExpectedTimeToComputeMatrix()[i],
+          second.getExpectedTimeToComputeMatrix()[i], EPSILON);
+    }
+
+    // The scheduling operators keep using the seeded provider
+    assertEquals(new ScheduleChromosome(first).getScheduleHash(),
+        new ScheduleChromosome(second).getScheduleHash());
+  }
+
+  @Test
+  public void testReseed() throws Exception {
+    RandomProvider provider = new RandomProvider(SEED);
+    Random before = provider.getRandom();
+
+    before.nextLong();
+    long seed = provider.reseed();
+
+    // Behaves as a fresh provider with the returned seed
+    Random fresh = new RandomProvider(seed).getRandom();
+    Random after = provider.getRandom();
+
+    assertNotEquals(before, after);
+
+    for (int i = 0; i < 100; i++) {
+      assertEquals(fresh.nextLong(), after.nextLong());
+    }
+  }
+
+}
@@ -0,0 +1,303 @@
+/*
+ * Genetic Algorithm for Load Balancing
+ * Copyright (c) 2016-2017 Pedro Cuadra & Sudheera Reddy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Pedro Cuadra (pjcuadra@gmail.com)
+ *    Sudheera Reddy
+ */
+
+package de.dortmund.fh.pimes.gitlab.galob.alg.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import de.dortmund.fh.pimes.gitlab.galob.alg.LoadBalancingFitnessCalculator;
+import de.dortmund.fh.pimes.gitlab.galob.alg.util.graph.Graph;
+import de.dortmund.fh.pimes.gitlab.galob.alg.util.graph.GraphNode;
+import de.dortmund.fh.pimes.gitlab.galob.alg.util.jenetics.ScheduleAllele;
+import de.dortmund.fh.pimes.gitlab.galob.alg.util.jenetics.ScheduleChromosome;
+import de.dortmund.fh.pimes.gitlab.galob.alg.util.jenetics.ScheduleGene;
+
+import org.jenetics.util.ISeq;
+import org.jenetics.util.MSeq;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Schedule evaluator unit testing.
+ *
+ * @author Pedro Cuadra
+ *
+ */
+public class ScheduleEvaluatorTest {
+  /**
+   * Max. number of tasks.
+   */
+  static final int MAX_NUM_TASKS = 16;
+  /**
+   * Max. number cores.
+   */
+  static final int MAX_NUM_CORES = 16;
+  /**
+   * Delta for double comparison.
+   */
+  private static final double EPSILON = 0.00001;
+
+  @Test
+  public void testEvaluate() throws Exception {
+    final int numTasks = 3;
+    final int numCores = 2;
+    HeterogeneousComputingEnv envTest = new HeterogeneousComputingEnv(numTasks, numCores);
+    GraphNode[] tasks = new GraphNode[numTasks];
+
+    // Add all tasks
+    for (int i = 0; i < numTasks; i++) {
+      tasks[i] = envTest.addUnitExecutionTimeTask();
+    }
+
+    // Create dependencies
+    envTest.addDependency(tasks[0], tasks[1], 1);
+    envTest.addDependency(tasks[0], tasks[2], 1);
+    envTest.addDependency(tasks[1], tasks[2], 1);
+
+    // Guarantee that task 0 and 2 are in the same core and 1 in the other
+    ScheduleChromosome chromosomeTest = ScheduleChromosome.of(envTest, ISeq.of(
+        ScheduleGene.ofAllele(envTest, ScheduleAllele.of(envTest, 0, 0)),
+        ScheduleGene.ofAllele(envTest, ScheduleAllele.of(envTest, 1, 1)),
+        ScheduleGene.ofAllele(envTest, ScheduleAllele.of(envTest, 2, 0))));
+
+    double[] makespanK = envTest.getScheduleEvaluator().evaluate(chromosomeTest);
+
+    assertEquals(5, makespanK[0], EPSILON);
+    assertEquals(3, makespanK[1], EPSILON);
+  }
+
+  @Test
+  public void testEvaluateRandom() throws Exception {
+    HeterogeneousComputingEnv env =
+        HeterogeneousComputingEnv.ofRandom(MAX_NUM_TASKS, MAX_NUM_CORES, true);
+    LoadBalancingFitnessCalculator fitnessCalc = new LoadBalancingFitnessCalculator(env, 0);
+    ScheduleChromosome chromosome = new ScheduleChromosome(env);
+    Stats stats = new StatsFactory(env, fitnessCalc).ofChromosome(chromosome);
+
+    double[] makespanK = env.getScheduleEvaluator().evaluate(chromosome);
+    double[] expected = new double[env.getNumberOfExecutors()];
+
+    // Compare against the simulation stored in the stats graph
+    Graph statsGraph = stats.getStatsGraph();
+    for (GraphNode node : statsGraph.vertexSet()) {
+      int core = (Integer) node.getCookie("core");
+      expected[core] = Math.max(expected[core], (Double) node.getCookie("aft"));
+    }
+
+    for (int i = 0; i < expected.length; i++) {
+      assertEquals(expected[i], makespanK[i], EPSILON);
+    }
+  }
+
+  @Test
+  public void testGetScheduleEvaluator() throws Exception {
+    HeterogeneousComputingEnv env = new HeterogeneousComputingEnv(2, 2);
+    GraphNode src = env.addUnitExecutionTimeTask();
+    GraphNode dst = env.addUnitExecutionTimeTask();
+
+    ScheduleEvaluator evaluator = env.getScheduleEvaluator();
+
+    // Evaluator is reused while the environment doesn't change
+    assertSame(evaluator, env.getScheduleEvaluator());
+    assertEquals(2, evaluator.getNumberOfTasks());
+    assertEquals(2, evaluator.getNumberOfExecutors());
+
+    // Adding a dependency invalidates it
+    env.addDependency(src, dst, 1);
+    assertNotSame(evaluator, env.getScheduleEvaluator());
+  }
+
+  @Test
+  public void testSimulateDeepChain() throws Exception {
+    final int numTasks = 1024;
+    HeterogeneousComputingEnv env = new HeterogeneousComputingEnv(numTasks, 1);
+    GraphNode prev = env.addUnitExecutionTimeTask();
+
+    // Create a single chain of dependencies
+    for (int i = 1; i < numTasks; i++) {
+      GraphNode node = env.addUnitExecutionTimeTask();
+      env.addDependency(prev, node, 1);
+      prev = node;
+    }
+
+    ScheduleChromosome chromosome = new ScheduleChromosome(env);
+    double[] startTime = new double[numTasks];
+    double[] finishTime = new double[numTasks];
+
+    double[] makespanK = env.getScheduleEvaluator().simulate(chromosome, startTime, finishTime);
+
+    assertEquals(numTasks, makespanK[0], EPSILON);
+
+    for (int i = 0; i < numTasks; i++) {
+      assertEquals(i, startTime[i], EPSILON);
+      assertEquals(i + 1, finishTime[i], EPSILON);
+    }
+  }
+
+  @Test(expected = ScheduleEvaluator.InvalidOrderException.class)
+  public void testSimulateInvalidOrder() throws Exception {
+    HeterogeneousComputingEnv env = new HeterogeneousComputingEnv(2, 2);
+    GraphNode src = env.addUnitExecutionTimeTask();
+    GraphNode dst = env.addUnitExecutionTimeTask();
+
+    env.addDependency(src, dst, 1);
+
+    // Schedule the dependent task first
+    ScheduleChromosome chromosome = new ScheduleChromosome(env,
+        ISeq.of(ScheduleGene.ofAllele(env, ScheduleAllele.of(env, 1, 0)),
+            ScheduleGene.ofAllele(env, ScheduleAllele.of(env, 0, 0))));
+
+    env.getScheduleEvaluator().evaluate(chromosome);
+  }
+
+  @Test
+  public void testSimulateSwap() throws Exception {
+    HeterogeneousComputingEnv env =
+        HeterogeneousComputingEnv.ofRandom(MAX_NUM_TASKS, MAX_NUM_CORES, true);
+    ScheduleEvaluator evaluator = env.getScheduleEvaluator();
+    ScheduleChromosome chromosome = new ScheduleChromosome(env);
+
+    for (int level = 0; level < env.getMaxTopologicalLevel(); level++) {
+      ArrayList<GraphNode> nodes = env.getTologicalLevelNodes(level);
+
+      if (nodes.size() < 2) {
+        continue;
+      }
+
+      // Swap two tasks of the same level
+      int firstLocus = chromosome.getPositionOfTask(nodes.get(0).getTaskId());
+      int secondLocus = chromosome.getPositionOfTask(nodes.get(nodes.size() - 1).getTaskId());
+
+      if (!evaluator.isValidSwap(chromosome, firstLocus, secondLocus)) {
+        continue;
+      }
+
+      MSeq<ScheduleGene> genes = chromosome.toSeq().copy();
+      genes.swap(firstLocus, secondLocus);
+      ScheduleChromosome swapped = chromosome.newInstance(genes.toISeq());
+
+      ScheduleEvaluator.Trace trace = evaluator.trace(chromosome);
+      double[] makespanOld = trace.getMakespan();
+      double[] makespanNew = evaluator.simulateSwap(chromosome, trace, firstLocus, secondLocus);
+      double[] expectedOld = evaluator.evaluate(chromosome);
+      double[] expectedNew = evaluator.evaluate(swapped);
+
+      for (int i = 0; i < env.getNumberOfExecutors(); i++) {
+        assertEquals(expectedOld[i], makespanOld[i], EPSILON);
+        assertEquals(expectedNew[i], makespanNew[i], EPSILON);
+      }
+    }
+  }
+
+  @Test
+  public void testSimulateSwapAnyLoci() throws Exception {
+    HeterogeneousComputingEnv env = HeterogeneousComputingEnv.ofRandom(64, 4, false, 3);
+    ScheduleEvaluator evaluator = env.getScheduleEvaluator();
+    ScheduleChromosome chromosome = new ScheduleChromosome(env);
+    ScheduleEvaluator.Trace trace = evaluator.trace(chromosome);
+    int swaps = 0;
+
+    // Every valid swap of the same traced sequence matches a full simulation
+    for (int firstLocus = 0; firstLocus < chromosome.length(); firstLocus += 3) {
+      for (int secondLocus = firstLocus; secondLocus < chromosome.length(); secondLocus += 5) {
+        if (!evaluator.isValidSwap(chromosome, firstLocus, secondLocus)) {
+          continue;
+        }
+
+        MSeq<ScheduleGene> genes = chromosome.toSeq().copy();
+        genes.swap(firstLocus, secondLocus);
+
+        double[] expected = evaluator.evaluate(chromosome.newInstance(genes.toISeq()));
+        double[] makespan = evaluator.simulateSwap(chromosome, trace, secondLocus, firstLocus);
+
+        for (int i = 0; i < env.getNumberOfExecutors(); i++) {
+          assertEquals(expected[i], makespan[i], EPSILON);
+        }
+
+        swaps++;
+      }
+    }
+
+    assertTrue(swaps > 0);
+  }
+
+  @Test
+  public void testEvaluateConcurrent() throws Exception {
+    HeterogeneousComputingEnv env =
+        HeterogeneousComputingEnv.ofRandom(MAX_NUM_TASKS, MAX_NUM_CORES, true);
+    ScheduleEvaluator evaluator = env.getScheduleEvaluator();
+    List<ScheduleChromosome> chromosomes = IntStream.range(0, 256)
+        .mapToObj(i -> new ScheduleChromosome(env)).collect(Collectors.toList());
+
+    // Evaluate concurrently sharing the same evaluator
+    List<double[]> concurrent =
+        chromosomes.parallelStream().map(evaluator::evaluate).collect(Collectors.toList());
+
+    for (int i = 0; i < chromosomes.size(); i++) {
+      double[] expected = evaluator.evaluate(chromosomes.get(i));
+
+      for (int j = 0; j < expected.length; j++) {
+        assertEquals(expected[j], concurrent.get(i)[j], EPSILON);
+      }
+    }
+  }
+
+  @Test
+  public void testIsValidSwap() throws Exception {
+    HeterogeneousComputingEnv env = new HeterogeneousComputingEnv(4, 1);
+    GraphNode[] tasks = new GraphNode[4];
+
+    for (int i = 0; i < tasks.length; i++) {
+      tasks[i] = env.addUnitExecutionTimeTask();
+    }
+
+    // (0) -> (1) and (2) -> (3)
+    env.addDependency(tasks[0], tasks[1], 1);
+    env.addDependency(tasks[2], tasks[3], 1);
+
+    ScheduleChromosome chromosome = new ScheduleChromosome(env,
+        ISeq.of(ScheduleGene.ofAllele(env, ScheduleAllele.of(env, 0, 0)),
+            ScheduleGene.ofAllele(env, ScheduleAllele.of(env, 2, 0)),
+            ScheduleGene.ofAllele(env, ScheduleAllele.of(env, 1, 0)),
+            ScheduleGene.ofAllele(env, ScheduleAllele.of(env, 3, 0))));
+    ScheduleEvaluator evaluator = env.getScheduleEvaluator();
+
+    // Same level, nothing in between
+    assertTrue(evaluator.isValidSwap(chromosome, 0, 1));
+    assertTrue(evaluator.isValidSwap(chromosome, 2, 3));
+
+    // Same level, but task 3 would be placed before its predecessor 2
+    assertFalse(evaluator.isValidSwap(chromosome, 0, 3));
+
+    // Task 0 would be placed after its successor 1
+    assertFalse(evaluator.isValidSwap(chromosome, 0, 2));
+  }
+
+}
@@ -30,8 +30,10 @@ import de.dortmund.fh.pimes.gitlab.galob.alg.LoadBalancingFitnessCalculator;
 import de.dortmund.fh.pimes.gitlab.galob.alg.util.graph.GraphNode;
 import de.dortmund.fh.pimes.gitlab.galob.alg.util.jenetics.ScheduleAllele;
 import de.dortmund.fh.pimes.gitlab.galob.alg.util.jenetics.ScheduleChromosome;
+import de.dortmund.fh.pimes.gitlab.galob.alg.util.jenetics.ScheduleGene;
 
 import org.jenetics.Optimize;
+import org.jenetics.util.ISeq;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -102,19 +104,17 @@ public class SimulatedAnnealingTest {
     envTest.addDependency(tasks[0], tasks[2], 1);
     envTest.addDependency(tasks[1], tasks[2], 1);
 
-    ScheduleChromosome normal = new ScheduleChromosome(envTest);
-
     // Guarantee that task 0 and 2 are in the same core and 1 in the other
-    normal.toSeq().get(0).mutate(ScheduleAllele.of(envTest, 0, 0));
-    normal.toSeq().get(1).mutate(ScheduleAllele.of(envTest, 1, 0));
-    normal.toSeq().get(2).mutate(ScheduleAllele.of(envTest, 2, 0));
-
-    ScheduleChromosome greater = new ScheduleChromosome(envTest);
+    ScheduleChromosome normal = ScheduleChromosome.of(envTest, ISeq.of(
+        ScheduleGene.ofAllele(envTest, ScheduleAllele.of(envTest, 0, 0)),
+        ScheduleGene.ofAllele(envTest, ScheduleAllele.of(envTest, 1, 0)),
+        ScheduleGene.ofAllele(envTest, ScheduleAllele.of(envTest, 2, 0))));
 
     // Guarantee that task 0 and 2 are in the same core and 1 in the other
-    greater.toSeq().get(0).mutate(ScheduleAllele.of(envTest, 0, 0));
-    greater.toSeq().get(1).mutate(ScheduleAllele.of(envTest, 1, 1));
-    greater.toSeq().get(2).mutate(ScheduleAllele.of(envTest, 2, 0));
+    ScheduleChromosome greater = ScheduleChromosome.of(envTest, ISeq.of(
+        ScheduleGene.ofAllele(envTest, ScheduleAllele.of(envTest, 0, 0)),
+        ScheduleGene.ofAllele(envTest, ScheduleAllele.of(envTest, 1, 1)),
+        ScheduleGene.ofAllele(envTest, ScheduleAllele.of(envTest, 2, 0))));
 
     ExecutionTimeFitnessCalculator fitnessCalc = new ExecutionTimeFitnessCalculator(envTest);
 
@@ -22,10 +22,13 @@
 package de.dortmund.fh.pimes.gitlab.galob.alg.util;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 
 import de.dortmund.fh.pimes.gitlab.galob.alg.LoadBalancingFitnessCalculator;
 import de.dortmund.fh.pimes.gitlab.galob.alg.util.jenetics.ScheduleChromosome;
+import de.dortmund.fh.pimes.gitlab.galob.alg.util.jenetics.ScheduleGene;
 
+import org.jenetics.util.MSeq;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
@@ -39,6 +42,10 @@ public class StatsFactoryTest {
    * Max. number cores.
    */
   static final int MAX_NUM_CORES = 16;
+  /**
+   * Delta for double comparison.
+   */
+  private static final double EPSILON = 0.00001;
 
   @Rule
   public ExpectedException thrown = ExpectedException.none();
@@ -77,4 +84,35 @@ public class StatsFactoryTest {
 
   }
 
+  @Test
+  public void testOfSwap() throws Exception {
+    HeterogeneousComputingEnv env =
+        HeterogeneousComputingEnv.ofRandom(MAX_NUM_TASKS, MAX_NUM_CORES, true);
+    ScheduleChromosome chromosome = new ScheduleChromosome(env);
+    LoadBalancingFitnessCalculator lbFitnessCalc = new LoadBalancingFitnessCalculator(env, 0);
+    StatsFactory sf = new StatsFactory(env, lbFitnessCalc);
+
+    // Swapping a locus with itself keeps the same order
+    MSeq<ScheduleGene> genes = chromosome.toSeq().copy();
+    ScheduleChromosome swapped = chromosome.newInstance(genes.toISeq());
+
+    Stats stat = sf.ofSwap(chromosome, swapped, 0, 0);
+    ScheduleEvaluator.Trace trace = chromosome.getStats().getTrace();
+
+    // The parent's trace is kept for further swaps
+    sf.ofSwap(chromosome, chromosome.newInstance(genes.toISeq()), 1, 1);
+    assertSame(trace, chromosome.getStats().getTrace());
+
+    // Stats were attached to both chromosomes
+    assertEquals(stat, swapped.getStats());
+    assertEquals(chromosome, chromosome.getStats().getChromosome());
+
+    // And match a full simulation
+    double[] expected = env.getScheduleEvaluator().evaluate(chromosome);
+    for (int i = 0; i < expected.length; i++) {
+      assertEquals(expected[i], stat.getNodesExecutionTime()[i], EPSILON);
+      assertEquals(expected[i], chromosome.getStats().getNodesExecutionTime()[i], EPSILON);
+    }
+  }
+
 }
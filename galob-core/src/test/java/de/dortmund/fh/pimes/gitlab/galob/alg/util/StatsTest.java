@@ -27,7 +27,9 @@ import de.dortmund.fh.pimes.gitlab.galob.alg.LoadBalancingFitnessCalculator;
 import de.dortmund.fh.pimes.gitlab.galob.alg.util.graph.GraphNode;
 import de.dortmund.fh.pimes.gitlab.galob.alg.util.jenetics.ScheduleAllele;
 import de.dortmund.fh.pimes.gitlab.galob.alg.util.jenetics.ScheduleChromosome;
+import de.dortmund.fh.pimes.gitlab.galob.alg.util.jenetics.ScheduleGene;
 
+import org.jenetics.util.ISeq;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -168,10 +170,9 @@ public class StatsTest {
     tasks[0] = envTest.addTask(etc[0]);
     tasks[1] = envTest.addTask(etc[1]);
 
-    ScheduleChromosome chromosomeTest = new ScheduleChromosome(envTest);
-
-    chromosomeTest.toSeq().get(0).mutate(ScheduleAllele.of(envTest, 0, 0));
-    chromosomeTest.toSeq().get(1).mutate(ScheduleAllele.of(envTest, 1, 1));
+    ScheduleChromosome chromosomeTest = ScheduleChromosome.of(envTest, ISeq.of(
+        ScheduleGene.ofAllele(envTest, ScheduleAllele.of(envTest, 0, 0)),
+        ScheduleGene.ofAllele(envTest, ScheduleAllele.of(envTest, 1, 1))));
 
     // Create the factory
     StatsFactory statsFact = new StatsFactory(envTest, fitnessCalc);
@@ -182,11 +183,10 @@ public class StatsTest {
 
     assertEquals(1, stat.getAverageTime(), EPSILON);
 
-    chromosomeTest = new ScheduleChromosome(envTest);
-
     // Set both tasks to the same core
-    chromosomeTest.toSeq().get(0).mutate(ScheduleAllele.of(envTest, 0, 0));
-    chromosomeTest.toSeq().get(1).mutate(ScheduleAllele.of(envTest, 1, 0));
+    chromosomeTest = ScheduleChromosome.of(envTest, ISeq.of(
+        ScheduleGene.ofAllele(envTest, ScheduleAllele.of(envTest, 0, 0)),
+        ScheduleGene.ofAllele(envTest, ScheduleAllele.of(envTest, 1, 0))));
 
     // Create factory
     statsFact = new StatsFactory(envTest, fitnessCalc);
@@ -212,12 +212,11 @@ public class StatsTest {
     // Test case 1 - task in between of dependency chain in another core
     HeterogeneousComputingEnv envTest = nestedDependency();
 
-    ScheduleChromosome chromosomeTest = new ScheduleChromosome(envTest);
-
     // Guarantee that task 0 and 2 are in the same core and 1 in the other
-    chromosomeTest.toSeq().get(0).mutate(ScheduleAllele.of(envTest, 0, 0));
-    chromosomeTest.toSeq().get(1).mutate(ScheduleAllele.of(envTest, 1, 1));
-    chromosomeTest.toSeq().get(2).mutate(ScheduleAllele.of(envTest, 2, 0));
+    ScheduleChromosome chromosomeTest = ScheduleChromosome.of(envTest, ISeq.of(
+        ScheduleGene.ofAllele(envTest, ScheduleAllele.of(envTest, 0, 0)),
+        ScheduleGene.ofAllele(envTest, ScheduleAllele.of(envTest, 1, 1)),
+        ScheduleGene.ofAllele(envTest, ScheduleAllele.of(envTest, 2, 0))));
 
     // Create the factory
     StatsFactory statsFact = new StatsFactory(envTest, fitnessCalc);
@@ -228,12 +227,11 @@ public class StatsTest {
     // Test case 2 - last 2 tasks in parallel
     envTest = oneRootTwoDepenendantTasks();
 
-    chromosomeTest = new ScheduleChromosome(envTest);
-
     // Guarantee that task 0 and 2 are in the same core and 1 in the other
-    chromosomeTest.toSeq().get(0).mutate(ScheduleAllele.of(envTest, 0, 0));
-    chromosomeTest.toSeq().get(1).mutate(ScheduleAllele.of(envTest, 1, 1));
-    chromosomeTest.toSeq().get(2).mutate(ScheduleAllele.of(envTest, 2, 0));
+    chromosomeTest = ScheduleChromosome.of(envTest, ISeq.of(
+        ScheduleGene.ofAllele(envTest, ScheduleAllele.of(envTest, 0, 0)),
+        ScheduleGene.ofAllele(envTest, ScheduleAllele.of(envTest, 1, 1)),
+        ScheduleGene.ofAllele(envTest, ScheduleAllele.of(envTest, 2, 0))));
 
     // Create the factory
     statsFact = new StatsFactory(envTest, fitnessCalc);
@@ -255,12 +253,11 @@ public class StatsTest {
     // Test case 4 - independent tasks
     envTest = independentTasks();
 
-    chromosomeTest = new ScheduleChromosome(envTest);
-
     // Guarantee that task 0 and 2 are in the same core and 1 in the other
-    chromosomeTest.toSeq().get(0).mutate(ScheduleAllele.of(envTest, 0, 0));
-    chromosomeTest.toSeq().get(1).mutate(ScheduleAllele.of(envTest, 1, 1));
-    chromosomeTest.toSeq().get(2).mutate(ScheduleAllele.of(envTest, 2, 0));
+    chromosomeTest = ScheduleChromosome.of(envTest, ISeq.of(
+        ScheduleGene.ofAllele(envTest, ScheduleAllele.of(envTest, 0, 0)),
+        ScheduleGene.ofAllele(envTest, ScheduleAllele.of(envTest, 1, 1)),
+        ScheduleGene.ofAllele(envTest, ScheduleAllele.of(envTest, 2, 0))));
 
     // Create the factory
     statsFact = new StatsFactory(envTest, fitnessCalc);
@@ -274,12 +271,11 @@ public class StatsTest {
     // Test case 1 - task in between of dependency chain in another core
     HeterogeneousComputingEnv envTest = nestedDependency();
 
-    ScheduleChromosome chromosomeTest = new ScheduleChromosome(envTest);
-
     // Guarantee that task 0 and 2 are in the same core and 1 in the other
-    chromosomeTest.toSeq().get(0).mutate(ScheduleAllele.of(envTest, 0, 0));
-    chromosomeTest.toSeq().get(1).mutate(ScheduleAllele.of(envTest, 1, 1));
-    chromosomeTest.toSeq().get(2).mutate(ScheduleAllele.of(envTest, 2, 0));
+    ScheduleChromosome chromosomeTest = ScheduleChromosome.of(envTest, ISeq.of(
+        ScheduleGene.ofAllele(envTest, ScheduleAllele.of(envTest, 0, 0)),
+        ScheduleGene.ofAllele(envTest, ScheduleAllele.of(envTest, 1, 1)),
+        ScheduleGene.ofAllele(envTest, ScheduleAllele.of(envTest, 2, 0))));
 
     // Create the factory
     StatsFactory statsFact = new StatsFactory(envTest, fitnessCalc);
@@ -291,12 +287,11 @@ public class StatsTest {
     // Test case 2 - last 2 tasks in parallel
     envTest = oneRootTwoDepenendantTasks();
 
-    chromosomeTest = new ScheduleChromosome(envTest);
-
     // Guarantee that task 0 and 2 are in the same core and 1 in the other
-    chromosomeTest.toSeq().get(0).mutate(ScheduleAllele.of(envTest, 0, 0));
-    chromosomeTest.toSeq().get(1).mutate(ScheduleAllele.of(envTest, 1, 1));
-    chromosomeTest.toSeq().get(2).mutate(ScheduleAllele.of(envTest, 2, 0));
+    chromosomeTest = ScheduleChromosome.of(envTest, ISeq.of(
+        ScheduleGene.ofAllele(envTest, ScheduleAllele.of(envTest, 0, 0)),
+        ScheduleGene.ofAllele(envTest, ScheduleAllele.of(envTest, 1, 1)),
+        ScheduleGene.ofAllele(envTest, ScheduleAllele.of(envTest, 2, 0))));
 
     // Create the factory
     statsFact = new StatsFactory(envTest, fitnessCalc);
@@ -308,12 +303,11 @@ public class StatsTest {
     // Test case 4 - independent tasks
     envTest = independentTasks();
 
-    chromosomeTest = new ScheduleChromosome(envTest);
-
     // Guarantee that task 0 and 2 are in the same core and 1 in the other
-    chromosomeTest.toSeq().get(0).mutate(ScheduleAllele.of(envTest, 0, 0));
-    chromosomeTest.toSeq().get(1).mutate(ScheduleAllele.of(envTest, 1, 1));
-    chromosomeTest.toSeq().get(2).mutate(ScheduleAllele.of(envTest, 2, 0));
+    chromosomeTest = ScheduleChromosome.of(envTest, ISeq.of(
+        ScheduleGene.ofAllele(envTest, ScheduleAllele.of(envTest, 0, 0)),
+        ScheduleGene.ofAllele(envTest, ScheduleAllele.of(envTest, 1, 1)),
+        ScheduleGene.ofAllele(envTest, ScheduleAllele.of(envTest, 2, 0))));
 
     // Create the factory
     statsFact = new StatsFactory(envTest, fitnessCalc);
@@ -335,10 +329,9 @@ public class StatsTest {
     tasks[0] = envTest.addUnitExecutionTimeTask();
     tasks[1] = envTest.addUnitExecutionTimeTask();
 
-    ScheduleChromosome chromosomeTest = new ScheduleChromosome(envTest);
-
-    chromosomeTest.toSeq().get(0).mutate(ScheduleAllele.of(envTest, 0, 0));
-    chromosomeTest.toSeq().get(1).mutate(ScheduleAllele.of(envTest, 1, 1));
+    ScheduleChromosome chromosomeTest = ScheduleChromosome.of(envTest, ISeq.of(
+        ScheduleGene.ofAllele(envTest, ScheduleAllele.of(envTest, 0, 0)),
+        ScheduleGene.ofAllele(envTest, ScheduleAllele.of(envTest, 1, 1))));
 
     // Create the factory
     StatsFactory statsFact = new StatsFactory(envTest, fitnessCalc);
@@ -349,11 +342,10 @@ public class StatsTest {
 
     assertEquals(0, stat.getStdDev(), EPSILON);
 
-    chromosomeTest = new ScheduleChromosome(envTest);
-
     // Set both tasks to the same core
-    chromosomeTest.toSeq().get(0).mutate(ScheduleAllele.of(envTest, 0, 0));
-    chromosomeTest.toSeq().get(1).mutate(ScheduleAllele.of(envTest, 1, 0));
+    chromosomeTest = ScheduleChromosome.of(envTest, ISeq.of(
+        ScheduleGene.ofAllele(envTest, ScheduleAllele.of(envTest, 0, 0)),
+        ScheduleGene.ofAllele(envTest, ScheduleAllele.of(envTest, 1, 0))));
 
     // Create factory
     statsFact = new StatsFactory(envTest, fitnessCalc);
@@ -372,12 +364,11 @@ public class StatsTest {
     // Test case 1 - task in between of dependency chain in another core
     HeterogeneousComputingEnv envTest = nestedDependency();
 
-    ScheduleChromosome chromosomeTest = new ScheduleChromosome(envTest);
-
     // Guarantee that task 0 and 2 are in the same core and 1 in the other
-    chromosomeTest.toSeq().get(0).mutate(ScheduleAllele.of(envTest, 0, 0));
-    chromosomeTest.toSeq().get(1).mutate(ScheduleAllele.of(envTest, 1, 1));
-    chromosomeTest.toSeq().get(2).mutate(ScheduleAllele.of(envTest, 2, 0));
+    ScheduleChromosome chromosomeTest = ScheduleChromosome.of(envTest, ISeq.of(
+        ScheduleGene.ofAllele(envTest, ScheduleAllele.of(envTest, 0, 0)),
+        ScheduleGene.ofAllele(envTest, ScheduleAllele.of(envTest, 1, 1)),
+        ScheduleGene.ofAllele(envTest, ScheduleAllele.of(envTest, 2, 0))));
 
     // Create the factory
     StatsFactory statsFact = new StatsFactory(envTest, fitnessCalc);
@@ -388,12 +379,11 @@ public class StatsTest {
     // Test case 2 - last 2 tasks in parallel
     envTest = oneRootTwoDepenendantTasks();
 
-    chromosomeTest = new ScheduleChromosome(envTest);
-
     // Guarantee that task 0 and 2 are in the same core and 1 in the other
-    chromosomeTest.toSeq().get(0).mutate(ScheduleAllele.of(envTest, 0, 0));
-    chromosomeTest.toSeq().get(1).mutate(ScheduleAllele.of(envTest, 1, 1));
-    chromosomeTest.toSeq().get(2).mutate(ScheduleAllele.of(envTest, 2, 0));
+    chromosomeTest = ScheduleChromosome.of(envTest, ISeq.of(
+        ScheduleGene.ofAllele(envTest, ScheduleAllele.of(envTest, 0, 0)),
+        ScheduleGene.ofAllele(envTest, ScheduleAllele.of(envTest, 1, 1)),
+        ScheduleGene.ofAllele(envTest, ScheduleAllele.of(envTest, 2, 0))));
 
     // Create the factory
     statsFact = new StatsFactory(envTest, fitnessCalc);
@@ -415,12 +405,11 @@ public class StatsTest {
     // Test case 4 - independent tasks
     envTest = independentTasks();
 
-    chromosomeTest = new ScheduleChromosome(envTest);
-
     // Guarantee that task 0 and 2 are in the same core and 1 in the other
-    chromosomeTest.toSeq().get(0).mutate(ScheduleAllele.of(envTest, 0, 0));
-    chromosomeTest.toSeq().get(1).mutate(ScheduleAllele.of(envTest, 1, 1));
-    chromosomeTest.toSeq().get(2).mutate(ScheduleAllele.of(envTest, 2, 0));
+    chromosomeTest = ScheduleChromosome.of(envTest, ISeq.of(
+        ScheduleGene.ofAllele(envTest, ScheduleAllele.of(envTest, 0, 0)),
+        ScheduleGene.ofAllele(envTest, ScheduleAllele.of(envTest, 1, 1)),
+        ScheduleGene.ofAllele(envTest, ScheduleAllele.of(envTest, 2, 0))));
 
     // Create the factory
     statsFact = new StatsFactory(envTest, fitnessCalc);
@@ -0,0 +1,120 @@
+/*
+ * Genetic Algorithm for Load Balancing
+ * Copyright (c) 2016-2017 Pedro Cuadra & Sudheera Reddy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Pedro Cuadra (pjcuadra@gmail.com)
+ *    Sudheera Reddy
+ */
+
+
+package de.dortmund.fh.pimes.gitlab.galob.alg.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+/**
+ * Streaming histogram unit testing.
+ *
+ * @author Pedro Cuadra
+ *
+ */
+public class StreamingHistogramTest {
+  /**
+   * Delta for double comparison.
+   */
+  private static final double EPSILON = 0.00001;
+
+  /**
+   * Sum all the frequencies of the histogram.
+   *
+   * @param histogram
+   *          histogram
+   * @return sum of all frequencies
+   */
+  private long getTotalFrequency(StreamingHistogram histogram) {
+    long total = 0;
+
+    for (int bucket = 0; bucket < histogram.getNumberOfBuckets(); bucket++) {
+      total += histogram.getFrequency(bucket);
+    }
+
+    return total;
+  }
+
+  @Test
+  public void testMoments() throws Exception {
+    StreamingHistogram histogram = new StreamingHistogram();
+    Random random = new Random();
+    double[] values = new double[10000];
+
+    for (int i = 0; i < values.length; i++) {
+      values[i] = 100 * random.nextGaussian() - 50;
+      histogram.accept(values[i]);
+    }
+
+    double mean = 0;
+    for (double value : values) {
+      mean += value / values.length;
+    }
+
+    double var = 0;
+    for (double value : values) {
+      var += (value - mean) * (value - mean) / (values.length - 1);
+    }
+
+    assertEquals(values.length, histogram.getCount());
+    assertEquals(mean, histogram.getMean(), EPSILON);
+    assertEquals(var, histogram.getVariance(), EPSILON * var);
+    assertEquals(values.length, getTotalFrequency(histogram));
+  }
+
+  @Test
+  public void testBuckets() throws Exception {
+    StreamingHistogram histogram = new StreamingHistogram(10);
+    Random random = new Random();
+
+    // Repeated values only use one bucket
+    for (int i = 0; i < 5; i++) {
+      histogram.accept(3);
+    }
+
+    assertEquals(5, histogram.getFrequency(0));
+    assertEquals(0, histogram.getVariance(), EPSILON);
+
+    // Values far away in both directions force the range to grow
+    for (int i = 0; i < 1000; i++) {
+      histogram.accept(1000 * (random.nextDouble() - 0.5));
+    }
+
+    assertEquals(1005, getTotalFrequency(histogram));
+
+    // Every value is within the range of the buckets
+    double halfWidth = (histogram.getBucketCenter(1) - histogram.getBucketCenter(0)) / 2;
+
+    assertTrue(histogram.getBucketCenter(0) - halfWidth <= histogram.getMin());
+    assertTrue(histogram.getBucketCenter(9) + halfWidth >= histogram.getMax());
+
+    // Frequency of the bucket with the repeated values
+    int bucket = (int) ((3 - (histogram.getBucketCenter(0) - halfWidth)) / (2 * halfWidth));
+
+    assertTrue(histogram.getFrequency(bucket) >= 5);
+  }
+
+}
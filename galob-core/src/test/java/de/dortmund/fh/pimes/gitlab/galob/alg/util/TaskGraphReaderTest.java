@@ -0,0 +1,246 @@
+/*
+ * Genetic Algorithm for Load Balancing
+ * Copyright (c) 2016-2017 Pedro Cuadra & Sudheera Reddy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Pedro Cuadra (pjcuadra@gmail.com)
+ *    Sudheera Reddy
+ */
+
+
+package de.dortmund.fh.pimes.gitlab.galob.alg.util;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import de.dortmund.fh.pimes.gitlab.galob.alg.util.graph.Graph;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.io.StringReader;
+
+public class TaskGraphReaderTest {
+  /**
+   * Delta for double comparison.
+   */
+  private static final double EPSILON = 0.00001;
+  /**
+   * STG file with 3 tasks plus entry and exit tasks.
+   */
+  private static final String STG = "3\n"
+      + "0 0 0\n"
+      + "1 4 1 0\n"
+      + "2 6 1 0\n"
+      + "3 2 2 1 2\n"
+      + "4 0 1 3\n"
+      + "# Comments at the end\n"
+      + "# of the file\n";
+
+  @Rule
+  public ExpectedException thrown = ExpectedException.none();
+
+  /**
+   * Test reading a STG file with speed factors.
+   *
+   * @throws Exception
+   *           failure exception
+   */
+  @Test
+  public void testStgSpeeds() throws Exception {
+    HeterogeneousComputingEnv env =
+        TaskGraphReader.readStg(new StringReader(STG), new double[] { 1, 2 });
+
+    assertEquals(5, env.getNumberOfTasks());
+    assertEquals(2, env.getNumberOfExecutors());
+    assertEquals(5, env.getNumberOfDependencies());
+    assertArrayEquals(new double[] { 6, 3 }, env.getExpectedTimeToComputeMatrix()[2], EPSILON);
+    assertTrue(env.hasDependency(1, 3));
+    assertTrue(env.hasDependency(2, 3));
+    assertTrue(env.hasDependency(3, 4));
+    assertEquals(0, env.getCommunicationCost(1, 3), EPSILON);
+  }
+
+  /**
+   * Test reading a STG file with an ETC file.
+   *
+   * @throws Exception
+   *           failure exception
+   */
+  @Test
+  public void testStgEtcFile() throws Exception {
+    String etc = "# ETC\n"
+        + "0 0 0\n"
+        + "1 2 3\n"
+        + "\n"
+        + "4   5\t6\n"
+        + "7 8 9\n"
+        + "0 0 0\n";
+    HeterogeneousComputingEnv env =
+        TaskGraphReader.readStg(new StringReader(STG), new StringReader(etc));
+
+    assertEquals(3, env.getNumberOfExecutors());
+    assertArrayEquals(new double[] { 4, 5, 6 }, env.getExpectedTimeToComputeMatrix()[2], EPSILON);
+  }
+
+  /**
+   * Test that ETC files not matching the graph are rejected.
+   *
+   * @throws Exception
+   *           failure exception
+   */
+  @Test
+  public void testEtcFileWrongRows() throws Exception {
+    thrown.expect(TaskGraphReader.ParseException.class);
+    TaskGraphReader.readStg(new StringReader(STG), new StringReader("1 2\n3 4\n"));
+  }
+
+  /**
+   * Test that STG files with invalid predecessors are rejected.
+   *
+   * @throws Exception
+   *           failure exception
+   */
+  @Test
+  public void testStgInvalidPredecessor() throws Exception {
+    thrown.expect(TaskGraphReader.ParseException.class);
+    TaskGraphReader.readStg(new StringReader("1\n0 0 0\n1 3 1 7\n2 0 1 1\n"),
+        new double[] { 1 });
+  }
+
+  /**
+   * Test reading a DOT file.
+   *
+   * @throws Exception
+   *           failure exception
+   */
+  @Test
+  public void testDot() throws Exception {
+    String dot = "strict digraph \"workflow\" {\n"
+        + "  // Defaults are ignored\n"
+        + "  graph [rankdir=LR];\n"
+        + "  node [shape=box]\n"
+        + "  rankdir = TB;\n"
+        + "  load [size=\"10\", label=\"Load data\"];\n"
+        + "  /* Multi-line\n"
+        + "     comment */\n"
+        + "  load -> filter -> store [weight=3];\n"
+        + "  subgraph cluster_0 { filter [weight=4] }\n"
+        + "  load -> store\n"
+        + "  [size=\"1.5\"]\n"
+        + "}\n";
+    HeterogeneousComputingEnv env =
+        TaskGraphReader.readDot(new StringReader(dot), new double[] { 1, 2 });
+
+    assertEquals(3, env.getNumberOfTasks());
+    assertEquals(3, env.getNumberOfDependencies());
+    assertArrayEquals(new double[] { 10, 5 }, env.getExpectedTimeToComputeMatrix()[0], EPSILON);
+    assertArrayEquals(new double[] { 4, 2 }, env.getExpectedTimeToComputeMatrix()[1], EPSILON);
+    assertArrayEquals(new double[] { 1, 0.5 }, env.getExpectedTimeToComputeMatrix()[2], EPSILON);
+    assertEquals(3, env.getCommunicationCost(0, 1), EPSILON);
+    assertEquals(3, env.getCommunicationCost(1, 2), EPSILON);
+    assertEquals(1.5, env.getCommunicationCost(0, 2), EPSILON);
+  }
+
+  /**
+   * Test that undirected graphs are rejected.
+   *
+   * @throws Exception
+   *           failure exception
+   */
+  @Test
+  public void testDotUndirected() throws Exception {
+    thrown.expect(TaskGraphReader.ParseException.class);
+    TaskGraphReader.readDot(new StringReader("graph { a -- b }"), new double[] { 1 });
+  }
+
+  /**
+   * Test that DOT graphs without tasks are rejected.
+   *
+   * @throws Exception
+   *           failure exception
+   */
+  @Test
+  public void testDotEmpty() throws Exception {
+    thrown.expect(TaskGraphReader.ParseException.class);
+    TaskGraphReader.readDot(new StringReader("digraph { rankdir = LR }"), new StringReader(""));
+  }
+
+  /**
+   * Test that speed factors not greater than 0 are rejected.
+   *
+   * @throws Exception
+   *           failure exception
+   */
+  @Test
+  public void testInvalidSpeed() throws Exception {
+    thrown.expect(IllegalArgumentException.class);
+    TaskGraphReader.readStg(new StringReader(STG), new double[] { 1, 0 });
+  }
+
+  /**
+   * Test that an empty list of speed factors is rejected.
+   *
+   * @throws Exception
+   *           failure exception
+   */
+  @Test
+  public void testNoSpeeds() throws Exception {
+    thrown.expect(IllegalArgumentException.class);
+    TaskGraphReader.readDot(new StringReader("digraph { a -> b }"), new double[0]);
+  }
+
+  /**
+   * Test that cyclic DOT graphs are rejected.
+   *
+   * @throws Exception
+   *           failure exception
+   */
+  @Test
+  public void testDotCycle() throws Exception {
+    thrown.expect(Graph.CycleException.class);
+    TaskGraphReader.readDot(new StringReader("digraph { a -> b -> c -> a }"),
+        new double[] { 1 });
+  }
+
+  /**
+   * Test reading a large DOT file.
+   *
+   * @throws Exception
+   *           failure exception
+   */
+  @Test
+  public void testDotLarge() throws Exception {
+    final int numTasks = 20000;
+    StringBuilder dot = new StringBuilder("digraph large {\n");
+
+    for (int task = 1; task < numTasks; task++) {
+      dot.append("  t").append(task / 2).append(" -> t").append(task)
+          .append(" [size=").append(task % 7).append("];\n");
+    }
+
+    dot.append("}\n");
+
+    HeterogeneousComputingEnv env =
+        TaskGraphReader.readDot(new StringReader(dot.toString()), new double[] { 1, 1, 1 });
+
+    assertEquals(numTasks, env.getNumberOfTasks());
+    assertEquals(numTasks - 1, env.getNumberOfDependencies());
+    assertEquals(5, env.getCommunicationCost(2, 5), EPSILON);
+  }
+
+}
@@ -128,4 +128,13 @@ public class GraphNodeTest {
     assertEquals(clone, clone.getCookie(this));
   }
 
+  @Test
+  public void testHashCode() throws Exception {
+    GraphNode other = new GraphNode(NODE_ID, ETC_ROW);
+
+    // Equal nodes have the same hash
+    assertEquals(testNode, other);
+    assertEquals(testNode.hashCode(), other.hashCode());
+    assertEquals(testNode.hashCode(), testNode.clone().hashCode());
+  }
 }
@@ -25,10 +25,14 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
+import org.jgrapht.alg.CycleDetector;
+import org.jgrapht.graph.DefaultWeightedEdge;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.Random;
+
 /**
  * Schedule Chromosome unit testing.
  *
@@ -311,4 +315,75 @@ public class GraphTest {
     }
   }
 
+  @Test
+  public void testIncrementalCycleDetection() throws Exception {
+    final int numNodes = 30;
+    Random random = new Random(7);
+    Graph graph = new Graph();
+    GraphNode[] graphNodes = new GraphNode[numNodes];
+
+    for (int i = 0; i < numNodes; i++) {
+      graphNodes[i] = new GraphNode(i, ETC_ROW);
+      graph.addVertex(graphNodes[i]);
+    }
+
+    // Add random dependencies in any direction and compare against a full cycle check
+    for (int i = 0; i < 500; i++) {
+      GraphNode src = graphNodes[random.nextInt(numNodes)];
+      GraphNode dst = graphNodes[random.nextInt(numNodes)];
+
+      graph.addDependency(src, dst, 1);
+
+      CycleDetector<GraphNode, DefaultWeightedEdge> cd =
+          new CycleDetector<GraphNode, DefaultWeightedEdge>(graph);
+
+      assertEquals(cd.detectCycles(), graph.checkCycles());
+
+      // Break the cycle to keep adding dependencies to an acyclic graph
+      if (graph.checkCycles()) {
+        graph.removeDependency(src, dst);
+        assertFalse(graph.checkCycles());
+      }
+    }
+
+    // Topological levels must still be consistent with the dependencies
+    for (DefaultWeightedEdge edge : graph.edgeSet()) {
+      int srcLevel = graph.getNodeTopologicalLevel(graph.getEdgeSource(edge).getTaskId());
+      int dstLevel = graph.getNodeTopologicalLevel(graph.getEdgeTarget(edge).getTaskId());
+
+      assertTrue(srcLevel < dstLevel);
+    }
+
+    // The clone keeps the order so it keeps detecting cycles incrementally
+    Graph clone = graph.clone();
+    DefaultWeightedEdge edge = graph.edgeSet().iterator().next();
+    GraphNode src = clone.getGraphNodeById(graph.getEdgeSource(edge).getTaskId());
+    GraphNode dst = clone.getGraphNodeById(graph.getEdgeTarget(edge).getTaskId());
+
+    clone.addDependency(dst, src, 1);
+    assertTrue(clone.checkCycles());
+  }
+
+  @Test
+  public void testBulkLoad() throws Exception {
+    testGraph.startBulkLoad();
+
+    // Cycles aren't checked while loading
+    testGraph.addDependency(nodes[2], nodes[0], 1);
+    assertFalse(testGraph.checkCycles());
+
+    testGraph.finishBulkLoad();
+    assertTrue(testGraph.checkCycles());
+
+    // Break the cycle during a bulk load
+    testGraph.startBulkLoad();
+    testGraph.removeDependency(nodes[2], nodes[0]);
+    testGraph.finishBulkLoad();
+    assertFalse(testGraph.checkCycles());
+
+    // Incremental checks keep working after a bulk load
+    testGraph.addDependency(nodes[2], nodes[1], 1);
+    assertTrue(testGraph.checkCycles());
+  }
+
 }
@@ -0,0 +1,134 @@
+/*
+ * Genetic Algorithm for Load Balancing
+ * Copyright (c) 2016-2017 Pedro Cuadra & Sudheera Reddy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Pedro Cuadra (pjcuadra@gmail.com)
+ *    Sudheera Reddy
+ */
+
+
+package de.dortmund.fh.pimes.gitlab.galob.alg.util.graph;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.jgrapht.graph.DefaultWeightedEdge;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Random;
+
+/**
+ * Topological levels unit testing.
+ *
+ * @author Pedro Cuadra
+ *
+ */
+public class TopologicalLevelsTest {
+  /**
+   * Number of nodes.
+   */
+  private static final int NUM_NODES = 200;
+  /**
+   * ETC row.
+   */
+  private static final double[] ETC_ROW = { 1, 2, 3 };
+  /**
+   * Test graph.
+   */
+  private Graph testGraph;
+
+  /**
+   * Unit testing set-up.
+   *
+   * @throws Exception
+   *           failure exception
+   */
+  @Before
+  public void setUp() throws Exception {
+    Random random = new Random();
+    GraphNode[] nodes = new GraphNode[NUM_NODES];
+
+    testGraph = new Graph();
+
+    for (int i = 0; i < NUM_NODES; i++) {
+      nodes[i] = new GraphNode(i, ETC_ROW);
+      testGraph.addVertex(nodes[i]);
+    }
+
+    // Random forward dependencies keep the graph acyclic
+    for (int i = 0; i < 3 * NUM_NODES; i++) {
+      int src = random.nextInt(NUM_NODES - 1);
+      int dst = src + 1 + random.nextInt(NUM_NODES - src - 1);
+
+      testGraph.addDependency(nodes[src], nodes[dst], 1);
+    }
+  }
+
+  @Test
+  public void testLevels() throws Exception {
+    TopologicalLevels levels = testGraph.getTopologicalLevels();
+    int numMembers = 0;
+
+    for (int level = 0; level < levels.getNumberOfLevels(); level++) {
+      assertTrue(levels.getLevelSize(level) > 0);
+
+      for (int i = 0; i < levels.getLevelSize(level); i++) {
+        int taskId = levels.getMember(level, i);
+        GraphNode node = testGraph.getGraphNodeById(taskId);
+        int expectedLevel = 0;
+
+        assertEquals(level, levels.getLevel(taskId));
+
+        // Level is one more than the deepest predecessor
+        for (DefaultWeightedEdge edge : testGraph.incomingEdgesOf(node)) {
+          int predLevel = levels.getLevel(testGraph.getEdgeSource(edge).getTaskId());
+          expectedLevel = Math.max(expectedLevel, predLevel + 1);
+        }
+
+        assertEquals(expectedLevel, level);
+        numMembers++;
+      }
+    }
+
+    // Every node belongs to exactly one level
+    assertEquals(NUM_NODES, numMembers);
+  }
+
+  @Test
+  public void testCaching() throws Exception {
+    TopologicalLevels levels = testGraph.getTopologicalLevels();
+
+    // Levels are shared until the graph changes
+    assertSame(levels, testGraph.getTopologicalLevels());
+    assertSame(levels, testGraph.clone().getTopologicalLevels());
+
+    GraphNode last = testGraph.getGraphNodeById(
+        levels.getMember(levels.getNumberOfLevels() - 1, 0));
+    GraphNode node = new GraphNode(NUM_NODES, ETC_ROW);
+
+    // Add a node after the deepest level
+    testGraph.addVertex(node);
+    testGraph.addDependency(last, node, 1);
+
+    TopologicalLevels newLevels = testGraph.getTopologicalLevels();
+
+    assertTrue(levels != newLevels);
+    assertEquals(levels.getNumberOfLevels() + 1, newLevels.getNumberOfLevels());
+  }
+
+}
@@ -0,0 +1,258 @@
+/*
+ * Genetic Algorithm for Load Balancing
+ * Copyright (c) 2016-2017 Pedro Cuadra & Sudheera Reddy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Pedro Cuadra (pjcuadra@gmail.com)
+ *    Sudheera Reddy
+ */
+
+
+package de.dortmund.fh.pimes.gitlab.galob.alg.util.jenetics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import de.dortmund.fh.pimes.gitlab.galob.alg.LoadBalancingFitnessCalculator;
+import de.dortmund.fh.pimes.gitlab.galob.alg.util.HeterogeneousComputingEnv;
+import de.dortmund.fh.pimes.gitlab.galob.alg.util.RandomProvider;
+import de.dortmund.fh.pimes.gitlab.galob.alg.util.SimulatedAnnealing;
+
+import org.jenetics.Optimize;
+import org.jenetics.Phenotype;
+import org.jenetics.engine.Engine;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Island runner unit testing.
+ *
+ * @author Pedro Cuadra
+ *
+ */
+public class IslandRunnerTest {
+  /**
+   * Number of tasks.
+   */
+  private static final int NUM_TASKS = 16;
+  /**
+   * Number of executors.
+   */
+  private static final int NUM_EXECUTORS = 4;
+  /**
+   * Number of islands.
+   */
+  private static final int NUM_ISLANDS = 4;
+  /**
+   * Heterogeneous computing environment.
+   */
+  private HeterogeneousComputingEnv env;
+  /**
+   * Threads the islands evolved on.
+   */
+  private Set<Thread> threads;
+
+  @Rule
+  public ExpectedException thrown = ExpectedException.none();
+
+  /**
+   * Unit testing set-up.
+   *
+   * @throws Exception
+   *           failure exception
+   */
+  @Before
+  public void setUp() throws Exception {
+    env = HeterogeneousComputingEnv.ofRandom(NUM_TASKS, NUM_EXECUTORS, false);
+    threads = ConcurrentHashMap.newKeySet();
+  }
+
+  /**
+   * Create the engine of an island with its own operators and simulated annealing.
+   *
+   * @param island
+   *          island index
+   * @return evolution engine
+   */
+  private Engine<ScheduleGene, Double> createEngine(int island) {
+    LoadBalancingFitnessCalculator fitnessCalculator = new LoadBalancingFitnessCalculator(env);
+    SimulatedAnnealing simAnn =
+        new SimulatedAnnealing(0.9, 900, fitnessCalculator, Optimize.MINIMUM);
+
+    return Engine.builder((ScheduleChromosome chromosome) -> {
+      threads.add(Thread.currentThread());
+      return fitnessCalculator.getFitness(chromosome);
+    }, new ScheduleCodec(env).ofChromosome())
+        .populationSize(10)
+        .optimize(Optimize.MINIMUM)
+        .executor(Runnable::run)
+        .alterers(new ScheduleMutator(env, 0.1, simAnn), new ScheduleCrossover(env, 0.5, simAnn))
+        .build();
+  }
+
+  /**
+   * Run the islands and check the global best.
+   *
+   * @param migration
+   *          migration topology
+   * @throws Exception
+   *           failure exception
+   */
+  private void testRun(IslandRunner.Migration migration) throws Exception {
+    IslandRunner runner =
+        new IslandRunner(env, NUM_ISLANDS, this::createEngine, migration, 5, 2);
+
+    assertNull(runner.getBestPhenotype());
+
+    Phenotype<ScheduleGene, Double> best = runner.run(23);
+
+    assertNotNull(best);
+    assertTrue(((ScheduleChromosome) best.getGenotype().getChromosome()).isValid());
+
+    // Global best is the best of all islands
+    for (int i = 0; i < runner.getNumberOfIslands(); i++) {
+      assertTrue(best.getFitness() <= runner.getBestPhenotype(i).getFitness());
+    }
+
+    // Every island evolves on its own thread
+    assertEquals(NUM_ISLANDS, threads.size());
+    assertTrue(!threads.contains(Thread.currentThread()));
+
+    // Runs continue from the current populations
+    assertTrue(runner.run(5).getFitness() <= best.getFitness());
+  }
+
+  @Test
+  public void testRing() throws Exception {
+    testRun(IslandRunner.Migration.RING);
+  }
+
+  @Test
+  public void testRandom() throws Exception {
+    testRun(IslandRunner.Migration.RANDOM);
+  }
+
+  /**
+   * Run the islands with a seeded random provider.
+   *
+   * @param seed
+   *          master seed
+   * @return island runner after the run
+   * @throws Exception
+   *           failure exception
+   */
+  private IslandRunner runSeeded(long seed) throws Exception {
+    env.setRandomProvider(new RandomProvider(seed));
+
+    IslandRunner runner = new IslandRunner(env, NUM_ISLANDS, this::createEngine,
+        IslandRunner.Migration.RANDOM, 3, 2);
+
+    runner.run(10);
+    runner.run(4);
+
+    return runner;
+  }
+
+  /**
+   * Get the schedule hash of a phenotype.
+   *
+   * @param phenotype
+   *          phenotype
+   * @return schedule hash
+   */
+  private static long scheduleHash(Phenotype<ScheduleGene, Double> phenotype) {
+    return ((ScheduleChromosome) phenotype.getGenotype().getChromosome()).getScheduleHash();
+  }
+
+  @Test
+  public void testReproducible() throws Exception {
+    IslandRunner runner = runSeeded(42);
+    IslandRunner other = runSeeded(42);
+
+    // Same seed, same results on every island regardless of thread scheduling
+    assertEquals(runner.getBestPhenotype().getFitness(), other.getBestPhenotype().getFitness(),
+        0);
+
+    for (int i = 0; i < NUM_ISLANDS; i++) {
+      assertEquals(scheduleHash(runner.getBestPhenotype(i)),
+          scheduleHash(other.getBestPhenotype(i)));
+    }
+  }
+
+  @Test
+  public void testSingleIsland() throws Exception {
+    IslandRunner runner =
+        new IslandRunner(env, 1, this::createEngine, IslandRunner.Migration.RANDOM, 3, 2);
+
+    assertNotNull(runner.run(10));
+  }
+
+  @Test
+  public void testMigrationTransport() throws Exception {
+    final List<Integer> sent = new ArrayList<>();
+    final List<Integer> received = new ArrayList<>();
+    final ScheduleChromosome immigrant = ScheduleChromosome.of(env);
+
+    IslandRunner runner =
+        new IslandRunner(env, 1, this::createEngine, IslandRunner.Migration.RING, 5, 2);
+
+    runner.setMigrationTransport(new MigrationTransport() {
+      @Override
+      public void send(List<Phenotype<ScheduleGene, Double>> emigrants) {
+        sent.add(emigrants.size());
+      }
+
+      @Override
+      public List<ScheduleChromosome> receive() {
+        received.add(1);
+        return Collections.singletonList(immigrant);
+      }
+    });
+
+    assertNotNull(runner.run(23));
+
+    // Migrants are exchanged even with a single island, the best is sent at the end
+    assertEquals(4, received.size());
+    assertEquals(5, sent.size());
+    assertEquals(2, sent.get(0).intValue());
+    assertEquals(1, sent.get(4).intValue());
+  }
+
+  @Test
+  public void testFailure() throws Exception {
+    IslandRunner runner = new IslandRunner(env, 2, island -> Engine
+        .<ScheduleChromosome, ScheduleGene, Double>builder(chromosome -> {
+          throw new IllegalArgumentException("Failing island");
+        }, new ScheduleCodec(env).ofChromosome())
+        .executor(Runnable::run)
+        .build(), IslandRunner.Migration.RING, 5, 1);
+
+    // Failures of any island are propagated to the caller
+    thrown.expect(RuntimeException.class);
+    thrown.expectMessage("Failing island");
+    runner.run(10);
+  }
+
+}
@@ -0,0 +1,60 @@
+/*
+ * Genetic Algorithm for Load Balancing
+ * Copyright (c) 2016-2017 Pedro Cuadra & Sudheera Reddy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Pedro Cuadra (pjcuadra@gmail.com)
+ *    Sudheera Reddy
+ */
+
+
+package de.dortmund.fh.pimes.gitlab.galob.alg.util.jenetics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import de.dortmund.fh.pimes.gitlab.galob.alg.LoadBalancingFitnessCalculator;
+import de.dortmund.fh.pimes.gitlab.galob.alg.util.HeterogeneousComputingEnv;
+
+import org.junit.Test;
+
+/**
+ * Local island launcher unit testing.
+ *
+ * @author Pedro Cuadra
+ *
+ */
+public class LocalIslandLauncherTest {
+
+  @Test
+  public void testRun() throws Exception {
+    HeterogeneousComputingEnv env = HeterogeneousComputingEnv.ofRandom(16, 4, false, 5);
+    LocalIslandLauncher launcher = new LocalIslandLauncher(env, TestIslandWorker.class, 2, 1, 5, 2);
+
+    ScheduleChromosome best = launcher.run(20);
+
+    assertNotNull(best);
+    assertTrue(best.isValid());
+
+    // The coordinator re-evaluates the best schedule
+    assertEquals(new LoadBalancingFitnessCalculator(env).getFitness(best),
+        launcher.getBestFitness(), 0.00001);
+
+    // Three migrations and the final best of both workers
+    assertEquals(2 * (3 * 2 + 1), launcher.getNumberOfReceivedMigrants());
+  }
+
+}
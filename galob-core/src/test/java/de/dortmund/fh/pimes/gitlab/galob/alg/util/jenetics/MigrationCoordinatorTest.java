@@ -0,0 +1,237 @@
+/*
+ * Genetic Algorithm for Load Balancing
+ * Copyright (c) 2016-2017 Pedro Cuadra & Sudheera Reddy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Pedro Cuadra (pjcuadra@gmail.com)
+ *    Sudheera Reddy
+ */
+
+
+package de.dortmund.fh.pimes.gitlab.galob.alg.util.jenetics;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import de.dortmund.fh.pimes.gitlab.galob.alg.LoadBalancingFitnessCalculator;
+import de.dortmund.fh.pimes.gitlab.galob.alg.util.HeterogeneousComputingEnv;
+
+import org.jenetics.Genotype;
+import org.jenetics.Optimize;
+import org.jenetics.Phenotype;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Migration coordinator and socket transport unit testing.
+ *
+ * @author Pedro Cuadra
+ *
+ */
+public class MigrationCoordinatorTest {
+  /**
+   * Number of tasks.
+   */
+  private static final int NUM_TASKS = 12;
+  /**
+   * Number of executors.
+   */
+  private static final int NUM_EXECUTORS = 3;
+  /**
+   * Maximum time to wait for migrants in milliseconds.
+   */
+  private static final long TIMEOUT = 10000;
+  /**
+   * Heterogeneous computing environment.
+   */
+  private HeterogeneousComputingEnv env;
+  /**
+   * Fitness calculator.
+   */
+  private LoadBalancingFitnessCalculator fitnessCalculator;
+  /**
+   * Coordinator under test.
+   */
+  private MigrationCoordinator coordinator;
+
+  /**
+   * Unit testing set-up.
+   *
+   * @throws Exception
+   *           failure exception
+   */
+  @Before
+  public void setUp() throws Exception {
+    env = HeterogeneousComputingEnv.ofRandom(NUM_TASKS, NUM_EXECUTORS, false, 11);
+    fitnessCalculator = new LoadBalancingFitnessCalculator(env);
+    coordinator = new MigrationCoordinator(
+        new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), Optimize.MINIMUM);
+  }
+
+  /**
+   * Unit testing tear-down.
+   *
+   * @throws Exception
+   *           failure exception
+   */
+  @After
+  public void tearDown() throws Exception {
+    coordinator.close();
+  }
+
+  /**
+   * Create an evaluated phenotype of a random schedule.
+   *
+   * @return phenotype
+   */
+  private Phenotype<ScheduleGene, Double> createPhenotype() {
+    Genotype<ScheduleGene> genotype = Genotype.of(ScheduleChromosome.of(env));
+
+    return Phenotype.of(genotype, 1,
+        gt -> fitnessCalculator.getFitness((ScheduleChromosome) gt.getChromosome()));
+  }
+
+  /**
+   * Receive migrants until the expected number arrived.
+   *
+   * @param transport
+   *          receiving transport
+   * @param count
+   *          expected number of migrants
+   * @return received migrants
+   * @throws Exception
+   *           failure exception
+   */
+  private static List<ScheduleChromosome> receive(SocketMigrationTransport transport, int count)
+      throws Exception {
+    final long deadline = System.currentTimeMillis() + TIMEOUT;
+    List<ScheduleChromosome> received = new ArrayList<>();
+
+    while (received.size() < count && System.currentTimeMillis() < deadline) {
+      received.addAll(transport.receive());
+      Thread.sleep(10);
+    }
+
+    return received;
+  }
+
+  @Test
+  public void testForward() throws Exception {
+    assertTrue(Double.isNaN(coordinator.getBestFitness()));
+    assertNull(coordinator.getBestSchedule());
+
+    try (SocketMigrationTransport first =
+        new SocketMigrationTransport(env, coordinator.getAddress());
+        SocketMigrationTransport second =
+            new SocketMigrationTransport(env, coordinator.getAddress())) {
+      List<Phenotype<ScheduleGene, Double>> emigrants =
+          Arrays.asList(createPhenotype(), createPhenotype(), createPhenotype());
+
+      first.send(emigrants);
+
+      // Both workers form a ring, so the migrants reach the other one
+      List<ScheduleChromosome> received = receive(second, emigrants.size());
+
+      assertEquals(emigrants.size(), received.size());
+
+      for (int i = 0; i < received.size(); i++) {
+        assertArrayEquals(
+            ScheduleEncoding
+                .encode((ScheduleChromosome) emigrants.get(i).getGenotype().getChromosome()),
+            ScheduleEncoding.encode(received.get(i)));
+      }
+
+      // Nothing is echoed to the sender
+      assertTrue(first.receive().isEmpty());
+
+      Phenotype<ScheduleGene, Double> best = emigrants.get(0);
+
+      for (Phenotype<ScheduleGene, Double> emigrant : emigrants) {
+        if (emigrant.getFitness() < best.getFitness()) {
+          best = emigrant;
+        }
+      }
+
+      assertEquals(best.getFitness(), coordinator.getBestFitness(), 0);
+      assertArrayEquals(
+          ScheduleEncoding.encode((ScheduleChromosome) best.getGenotype().getChromosome()),
+          coordinator.getBestSchedule());
+      assertTrue(coordinator.getBestChromosome(env).isValid());
+      assertEquals(emigrants.size(), coordinator.getNumberOfMigrants());
+      assertEquals(2, coordinator.getNumberOfConnections());
+    }
+
+    assertTrue(coordinator.awaitDisconnections(2, TIMEOUT));
+  }
+
+  @Test
+  public void testReEvaluation() throws Exception {
+    MigrationCoordinator verifying = new MigrationCoordinator(
+        new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), Optimize.MINIMUM, env,
+        fitnessCalculator);
+
+    try (SocketMigrationTransport transport =
+        new SocketMigrationTransport(env, verifying.getAddress())) {
+      Phenotype<ScheduleGene, Double> honest = createPhenotype();
+      ScheduleChromosome chromosome = ScheduleChromosome.of(env);
+      Phenotype<ScheduleGene, Double> lying =
+          Phenotype.of(Genotype.of(chromosome), 1, gt -> 0.0);
+
+      transport.send(Arrays.asList(honest, lying));
+    } finally {
+      assertTrue(verifying.awaitDisconnections(1, TIMEOUT));
+      verifying.close();
+    }
+
+    // The reported fitness of the second migrant isn't trusted
+    assertTrue(verifying.getBestFitness() > 0);
+    assertEquals(fitnessCalculator.getFitness(verifying.getBestChromosome(env)),
+        verifying.getBestFitness(), 0);
+  }
+
+  @Test
+  public void testMismatchingEnvironment() throws Exception {
+    HeterogeneousComputingEnv other =
+        HeterogeneousComputingEnv.ofRandom(NUM_TASKS + 1, NUM_EXECUTORS, false, 11);
+
+    try (SocketMigrationTransport first =
+        new SocketMigrationTransport(env, coordinator.getAddress());
+        SocketMigrationTransport second =
+            new SocketMigrationTransport(other, coordinator.getAddress())) {
+      // Workers of another HCE are dropped
+      assertTrue(coordinator.awaitDisconnections(1, TIMEOUT));
+
+      final long deadline = System.currentTimeMillis() + TIMEOUT;
+
+      while (!second.isDisconnected() && System.currentTimeMillis() < deadline) {
+        second.receive();
+        Thread.sleep(10);
+      }
+
+      assertTrue(second.isDisconnected());
+      assertTrue(first.receive().isEmpty());
+    }
+  }
+
+}
@@ -0,0 +1,139 @@
+/*
+ * Genetic Algorithm for Load Balancing
+ * Copyright (c) 2016-2017 Pedro Cuadra & Sudheera Reddy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Pedro Cuadra (pjcuadra@gmail.com)
+ *    Sudheera Reddy
+ */
+
+
+package de.dortmund.fh.pimes.gitlab.galob.alg.util.jenetics;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Migration protocol unit testing.
+ *
+ * @author Pedro Cuadra
+ *
+ */
+public class MigrationProtocolTest {
+  /**
+   * Number of tasks.
+   */
+  private static final int NUM_TASKS = 4;
+  /**
+   * Length of a migrant in a frame.
+   */
+  private static final int MIGRANT_LENGTH = 8 + 8 * NUM_TASKS;
+
+  @Rule
+  public ExpectedException thrown = ExpectedException.none();
+
+  /**
+   * Create encoded schedules.
+   *
+   * @param count
+   *          number of schedules
+   * @return encoded schedules, every value is the schedule index
+   */
+  private static int[][] schedules(int count) {
+    int[][] schedules = new int[count][2 * NUM_TASKS];
+
+    for (int i = 0; i < count; i++) {
+      Arrays.fill(schedules[i], i);
+    }
+
+    return schedules;
+  }
+
+  @Test
+  public void testSingleFrame() throws Exception {
+    List<ByteBuffer> frames =
+        MigrationProtocol.migrants(NUM_TASKS, new double[] { 1, 2, 3 }, schedules(3));
+
+    assertEquals(1, frames.size());
+    assertEquals(4 + 1 + 8 + 3 * MIGRANT_LENGTH, frames.get(0).remaining());
+  }
+
+  @Test
+  public void testOversizedBatch() throws Exception {
+    final int count = 7;
+    double[] fitness = new double[count];
+    ByteBuffer input = ByteBuffer.allocate(4096);
+
+    for (int i = 0; i < count; i++) {
+      fitness[i] = i;
+    }
+
+    // Room for two migrants per frame
+    List<ByteBuffer> frames = MigrationProtocol.migrants(NUM_TASKS, fitness, schedules(count),
+        1 + 8 + 2 * MIGRANT_LENGTH + 1);
+
+    assertEquals(4, frames.size());
+
+    for (ByteBuffer frame : frames) {
+      assertTrue(frame.remaining() <= 4 + 1 + 8 + 2 * MIGRANT_LENGTH);
+      input.put(frame);
+    }
+
+    // Every migrant arrives once and in order
+    int migrant = 0;
+    ByteBuffer frame;
+
+    while ((frame = MigrationProtocol.nextFrame(input)) != null) {
+      assertEquals(MigrationProtocol.MIGRANTS, frame.get());
+
+      int frameCount = frame.getInt();
+
+      assertEquals(NUM_TASKS, frame.getInt());
+
+      for (int i = 0; i < frameCount; i++, migrant++) {
+        int[] schedule = new int[2 * NUM_TASKS];
+
+        assertEquals(migrant, frame.getDouble(), 0);
+        frame.asIntBuffer().get(schedule);
+        frame.position(frame.position() + 4 * schedule.length);
+        assertArrayEquals(schedules(count)[migrant], schedule);
+      }
+    }
+
+    assertEquals(count, migrant);
+    assertNull(MigrationProtocol.nextFrame(input));
+  }
+
+  @Test
+  public void testOversizedMigrant() throws Exception {
+    thrown.expect(IOException.class);
+
+    // A single migrant of this many tasks can't fit in any frame
+    MigrationProtocol.migrants(Integer.MAX_VALUE / 4, new double[] { 1 },
+        new int[][] { new int[0] });
+  }
+
+}
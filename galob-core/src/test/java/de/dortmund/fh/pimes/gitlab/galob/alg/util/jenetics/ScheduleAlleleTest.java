@@ -1,6 +1,8 @@
 package de.dortmund.fh.pimes.gitlab.galob.alg.util.jenetics;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import de.dortmund.fh.pimes.gitlab.galob.alg.util.HeterogeneousComputingEnv;
@@ -106,4 +108,21 @@ public class ScheduleAlleleTest {
     assertTrue(true);
   }
 
+  @Test
+  public void testInterning() throws Exception {
+    ScheduleAllele other = ScheduleAllele.of(env, taskId, coreId);
+
+    // Same pair of IDs returns the same instance
+    assertSame(allele, other);
+    assertEquals(allele.hashCode(), other.hashCode());
+
+    // Different HCE, equal value
+    HeterogeneousComputingEnv otherEnv =
+        new HeterogeneousComputingEnv(env.getNumberOfTasks(), env.getNumberOfExecutors());
+    ScheduleAllele otherEnvAllele = ScheduleAllele.of(otherEnv, taskId, coreId);
+
+    assertNotSame(allele, otherEnvAllele);
+    assertEquals(allele, otherEnvAllele);
+    assertEquals(allele.hashCode(), otherEnvAllele.hashCode());
+  }
 }
@@ -0,0 +1,247 @@
+/*
+ * Genetic Algorithm for Load Balancing
+ * Copyright (c) 2016-2017 Pedro Cuadra & Sudheera Reddy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Pedro Cuadra (pjcuadra@gmail.com)
+ *    Sudheera Reddy
+ */
+
+
+package de.dortmund.fh.pimes.gitlab.galob.alg.util.jenetics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import de.dortmund.fh.pimes.gitlab.galob.alg.LoadBalancingFitnessCalculator;
+import de.dortmund.fh.pimes.gitlab.galob.alg.util.HeterogeneousComputingEnv;
+import de.dortmund.fh.pimes.gitlab.galob.alg.util.SimulatedAnnealing;
+
+import org.jenetics.Genotype;
+import org.jenetics.Optimize;
+import org.jenetics.Phenotype;
+import org.jenetics.engine.Engine;
+import org.jenetics.engine.EvolutionResult;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Schedule checkpoint unit testing.
+ *
+ * @author Pedro Cuadra
+ *
+ */
+public class ScheduleCheckpointTest {
+  /**
+   * Number of tasks.
+   */
+  private static final int NUM_TASKS = 12;
+  /**
+   * Number of executors.
+   */
+  private static final int NUM_EXECUTORS = 3;
+  /**
+   * Population size.
+   */
+  private static final int POPULATION_SIZE = 10;
+  /**
+   * Master seed.
+   */
+  private static final long SEED = 42;
+  /**
+   * Delta for double comparison.
+   */
+  private static final double EPSILON = 0.00001;
+  /**
+   * Heterogeneous computing environment.
+   */
+  private HeterogeneousComputingEnv env;
+  /**
+   * Evolution engine.
+   */
+  private Engine<ScheduleGene, Double> engine;
+
+  @Rule
+  public ExpectedException thrown = ExpectedException.none();
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  /**
+   * Create a HCE with simulated annealing.
+   *
+   * @return heterogeneous computing environment
+   */
+  private static HeterogeneousComputingEnv createEnv() {
+    HeterogeneousComputingEnv env =
+        HeterogeneousComputingEnv.ofRandom(NUM_TASKS, NUM_EXECUTORS, false, SEED);
+
+    env.setSimulatedAnnealing(new SimulatedAnnealing(0.8, 900,
+        new LoadBalancingFitnessCalculator(env), Optimize.MINIMUM));
+
+    return env;
+  }
+
+  /**
+   * Unit testing set-up.
+   *
+   * @throws Exception
+   *           failure exception
+   */
+  @Before
+  public void setUp() throws Exception {
+    env = createEnv();
+    LoadBalancingFitnessCalculator fitnessCalculator = new LoadBalancingFitnessCalculator(env);
+
+    engine = Engine.builder(fitnessCalculator::getFitness, new ScheduleCodec(env).ofChromosome())
+        .populationSize(POPULATION_SIZE)
+        .optimize(Optimize.MINIMUM)
+        .executor(Runnable::run)
+        .alterers(new ScheduleMutator(env, 0.1), new ScheduleCrossover(env, 0.5))
+        .build();
+  }
+
+  /**
+   * Evolve a few generations.
+   *
+   * @return evolution result of the last generation
+   */
+  private EvolutionResult<ScheduleGene, Double> evolve() {
+    Iterator<EvolutionResult<ScheduleGene, Double>> iterator = engine.iterator();
+    EvolutionResult<ScheduleGene, Double> result = null;
+
+    for (int i = 0; i < 5; i++) {
+      result = iterator.next();
+    }
+
+    return result;
+  }
+
+  @Test
+  public void testRoundTrip() throws Exception {
+    EvolutionResult<ScheduleGene, Double> result = evolve();
+    Path path = folder.getRoot().toPath().resolve("run.ckpt");
+
+    env.getSimulatedAnnealing().setTemp(123);
+    ScheduleCheckpoint.of(env, result).write(path);
+
+    // No temporary file is left behind
+    assertFalse(Files.exists(path.resolveSibling("run.ckpt.tmp")));
+
+    ScheduleCheckpoint checkpoint = ScheduleCheckpoint.read(path);
+
+    assertEquals(result.getGeneration(), checkpoint.getGeneration());
+    assertEquals(123, checkpoint.getTemperature(), EPSILON);
+    assertEquals(POPULATION_SIZE, checkpoint.getPopulationSize());
+
+    List<Genotype<ScheduleGene>> genotypes = checkpoint.getGenotypes(env);
+    int index = 0;
+
+    for (Phenotype<ScheduleGene, Double> pt : result.getPopulation()) {
+      ScheduleChromosome expected = (ScheduleChromosome) pt.getGenotype().getChromosome();
+      ScheduleChromosome actual = (ScheduleChromosome) genotypes.get(index++).getChromosome();
+
+      assertEquals(expected.getScheduleHash(), actual.getScheduleHash());
+      assertEquals(expected.toSeq(), actual.toSeq());
+    }
+  }
+
+  @Test
+  public void testRestore() throws Exception {
+    ScheduleCheckpoint checkpoint = ScheduleCheckpoint.of(env, evolve());
+    HeterogeneousComputingEnv other = createEnv();
+
+    checkpoint.restore(other);
+
+    // Both HCEs continue with the same random numbers and temperature
+    assertEquals(env.getRandomProvider().getRandom().nextLong(),
+        other.getRandomProvider().getRandom().nextLong());
+    assertEquals(env.getSimulatedAnnealing().getTemp(),
+        other.getSimulatedAnnealing().getTemp(), EPSILON);
+  }
+
+  @Test
+  public void testResume() throws Exception {
+    EvolutionResult<ScheduleGene, Double> result = evolve();
+    Path path = folder.newFile().toPath();
+
+    ScheduleCheckpoint.of(env, result).write(path);
+
+    EvolutionResult<ScheduleGene, Double> resumed =
+        ScheduleCheckpoint.read(path).resume(engine, env).limit(3).reduce((a, b) -> b).get();
+
+    assertEquals(result.getGeneration() + 3, resumed.getGeneration());
+    assertEquals(POPULATION_SIZE, resumed.getPopulation().size());
+  }
+
+  @Test
+  public void testWrongEnvironment() throws Exception {
+    ScheduleCheckpoint checkpoint = ScheduleCheckpoint.of(env, evolve());
+
+    thrown.expect(ScheduleCheckpoint.InvalidCheckpointException.class);
+    checkpoint.getGenotypes(HeterogeneousComputingEnv.ofRandom(NUM_TASKS + 1, NUM_EXECUTORS,
+        false));
+  }
+
+  @Test
+  public void testTruncated() throws Exception {
+    Path path = folder.newFile().toPath();
+
+    ScheduleCheckpoint.of(env, evolve()).write(path);
+    byte[] content = Files.readAllBytes(path);
+    Files.write(path, Arrays.copyOf(content, content.length - 4));
+
+    thrown.expect(ScheduleCheckpoint.InvalidCheckpointException.class);
+    ScheduleCheckpoint.read(path);
+  }
+
+  @Test
+  public void testHugePopulation() throws Exception {
+    Path path = folder.newFile().toPath();
+
+    ScheduleCheckpoint.of(env, evolve()).write(path);
+    ByteBuffer content = ByteBuffer.wrap(Files.readAllBytes(path));
+
+    // Claim a population that would need gigabytes of memory
+    content.putInt(40, Integer.MAX_VALUE);
+    Files.write(path, content.array());
+
+    thrown.expect(ScheduleCheckpoint.InvalidCheckpointException.class);
+    ScheduleCheckpoint.read(path);
+  }
+
+  @Test
+  public void testTrailingData() throws Exception {
+    Path path = folder.newFile().toPath();
+
+    ScheduleCheckpoint.of(env, evolve()).write(path);
+    byte[] content = Files.readAllBytes(path);
+    Files.write(path, Arrays.copyOf(content, content.length + 4));
+
+    thrown.expect(ScheduleCheckpoint.InvalidCheckpointException.class);
+    ScheduleCheckpoint.read(path);
+  }
+
+}
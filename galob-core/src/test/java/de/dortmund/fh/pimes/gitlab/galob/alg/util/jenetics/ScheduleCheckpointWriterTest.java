@@ -0,0 +1,73 @@
+/*
+ * Genetic Algorithm for Load Balancing
+ * Copyright (c) 2016-2017 Pedro Cuadra & Sudheera Reddy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Pedro Cuadra (pjcuadra@gmail.com)
+ *    Sudheera Reddy
+ */
+
+
+package de.dortmund.fh.pimes.gitlab.galob.alg.util.jenetics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import de.dortmund.fh.pimes.gitlab.galob.alg.LoadBalancingFitnessCalculator;
+import de.dortmund.fh.pimes.gitlab.galob.alg.util.HeterogeneousComputingEnv;
+
+import org.jenetics.Optimize;
+import org.jenetics.engine.Engine;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Schedule checkpoint writer unit testing.
+ *
+ * @author Pedro Cuadra
+ *
+ */
+public class ScheduleCheckpointWriterTest {
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  @Test
+  public void testInterval() throws Exception {
+    HeterogeneousComputingEnv env = HeterogeneousComputingEnv.ofRandom(10, 3, false);
+    LoadBalancingFitnessCalculator fitnessCalculator = new LoadBalancingFitnessCalculator(env);
+    Engine<ScheduleGene, Double> engine =
+        Engine.builder(fitnessCalculator::getFitness, new ScheduleCodec(env).ofChromosome())
+            .populationSize(8)
+            .optimize(Optimize.MINIMUM)
+            .alterers(new ScheduleMutator(env, 0.1), new ScheduleCrossover(env, 0.5))
+            .build();
+    Path path = folder.getRoot().toPath().resolve("run.ckpt");
+    ScheduleCheckpointWriter writer = new ScheduleCheckpointWriter(env, path, 3);
+
+    assertFalse(Files.exists(path));
+
+    engine.stream().limit(10).forEach(writer);
+
+    assertEquals(9, writer.getLastGeneration());
+    assertEquals(9, ScheduleCheckpoint.read(path).getGeneration());
+    assertEquals(8, ScheduleCheckpoint.read(path).getPopulationSize());
+  }
+
+}
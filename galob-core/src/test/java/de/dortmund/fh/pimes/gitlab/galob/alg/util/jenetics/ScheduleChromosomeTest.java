@@ -32,11 +32,13 @@ import de.dortmund.fh.pimes.gitlab.galob.alg.util.StatsFactory;
 import de.dortmund.fh.pimes.gitlab.galob.alg.util.graph.GraphNode;
 
 import org.jenetics.util.ISeq;
+import org.jenetics.util.MSeq;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.Random;
 
@@ -317,4 +319,104 @@ public class ScheduleChromosomeTest {
     assertTrue(testChromosome.hasStats());
 
   }
+
+  @Test
+  public void testGetExecutorOfTask() throws Exception {
+    for (ScheduleGene gene : testChromosome) {
+      assertEquals(gene.getAllele().getExecutorId(),
+          testChromosome.getExecutorOfTask(gene.getAllele().getTaskId()));
+    }
+  }
+
+  @Test
+  public void testGetPositionOfTask() throws Exception {
+    for (int locus = 0; locus < testChromosome.length(); locus++) {
+      int taskId = testChromosome.getGene(locus).getAllele().getTaskId();
+
+      assertEquals(locus, testChromosome.getPositionOfTask(taskId));
+    }
+  }
+
+  @Test
+  public void testGetScheduleHash() throws Exception {
+    ScheduleChromosome clone = testChromosome.clone();
+
+    // Same schedule, same hash
+    assertEquals(testChromosome.getScheduleHash(), clone.getScheduleHash());
+
+    // Changing an executor changes the hash
+    if (env.getNumberOfExecutors() < 2) {
+      return;
+    }
+
+    ScheduleAllele allele = testChromosome.getGene(0).getAllele();
+    int executorId = (allele.getExecutorId() + 1) % env.getNumberOfExecutors();
+    MSeq<ScheduleGene> genes = testChromosome.toSeq().copy();
+    genes.set(0, ScheduleGene.ofAllele(env, ScheduleAllele.of(env, allele.getTaskId(), executorId)));
+    ScheduleChromosome other = testChromosome.newInstance(genes.toISeq());
+
+    assertFalse(testChromosome.getScheduleHash() == other.getScheduleHash());
+  }
+
+  @Test
+  public void testSeededConstructor() throws Exception {
+    final long seed = 42;
+    ScheduleChromosome chromosome = new ScheduleChromosome(env, new Random(seed));
+    ScheduleChromosome other = ScheduleChromosome.of(env, new Random(seed));
+
+    // Same seed, same schedule
+    assertEquals(env.getNumberOfTasks(), chromosome.length());
+    assertEquals(chromosome.toSeq(), other.toSeq());
+    assertTrue(chromosome.isValid());
+
+    // Every task is scheduled exactly once
+    for (int taskId = 0; taskId < env.getNumberOfTasks(); taskId++) {
+      assertTrue(chromosome.getPositionOfTask(taskId) >= 0);
+    }
+  }
+
+  @Test
+  public void testOfGenes() throws Exception {
+    ScheduleChromosome chromosome = ScheduleChromosome.of(env, testChromosome.toSeq());
+
+    // The sequence is wrapped as it is
+    assertTrue(chromosome.toSeq() == testChromosome.toSeq());
+    assertEquals(testChromosome.getScheduleHash(), chromosome.getScheduleHash());
+  }
+
+  @Test
+  public void testIsValidRandomOrders() throws Exception {
+    HeterogeneousComputingEnv env = HeterogeneousComputingEnv.ofRandom(32, 4, false);
+    double[][] delta = env.getDependencyMatrix();
+    Random random = new Random();
+
+    for (int iter = 0; iter < 100; iter++) {
+      ArrayList<ScheduleGene> genes = new ArrayList<ScheduleGene>();
+
+      for (ScheduleGene gene : new ScheduleChromosome(env)) {
+        genes.add(gene);
+      }
+
+      // Swap two random genes, the order may become invalid
+      Collections.swap(genes, random.nextInt(genes.size()), random.nextInt(genes.size()));
+
+      int[] positions = new int[genes.size()];
+
+      for (int locus = 0; locus < genes.size(); locus++) {
+        positions[genes.get(locus).getAllele().getTaskId()] = locus;
+      }
+
+      // Every dependency has its source scheduled before its destination
+      boolean expected = true;
+
+      for (int src = 0; src < delta.length; src++) {
+        for (int dst = 0; dst < delta.length; dst++) {
+          expected &= delta[src][dst] == 0 || positions[src] < positions[dst];
+        }
+      }
+
+      assertEquals(expected, new ScheduleChromosome(env, ISeq.of(genes)).isValid());
+    }
+  }
+
 }
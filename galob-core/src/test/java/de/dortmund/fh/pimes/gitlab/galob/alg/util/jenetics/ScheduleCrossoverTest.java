@@ -22,12 +22,16 @@
 package de.dortmund.fh.pimes.gitlab.galob.alg.util.jenetics;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
+import de.dortmund.fh.pimes.gitlab.galob.alg.LoadBalancingFitnessCalculator;
 import de.dortmund.fh.pimes.gitlab.galob.alg.util.HeterogeneousComputingEnv;
+import de.dortmund.fh.pimes.gitlab.galob.alg.util.SimulatedAnnealing;
 import de.dortmund.fh.pimes.gitlab.galob.alg.util.jenetics.ScheduleChromosome;
 import de.dortmund.fh.pimes.gitlab.galob.alg.util.jenetics.ScheduleCrossover;
 import de.dortmund.fh.pimes.gitlab.galob.alg.util.jenetics.ScheduleGene;
 
+import org.jenetics.Optimize;
 import org.jenetics.util.MSeq;
 import org.junit.After;
 import org.junit.AfterClass;
@@ -35,6 +39,8 @@ import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
  * Schedule Crossover unit testing.
  * 
@@ -104,4 +110,71 @@ public class ScheduleCrossoverTest {
     assertEquals(alterationsCount, alterations);
   }
 
+  @Test
+  public void testCrossoverSimulatedAnnealing() throws Exception {
+    HeterogeneousComputingEnv saEnv = HeterogeneousComputingEnv.ofRandom(maxNumTask,
+        maxNumExecutors, false);
+    ScheduleCrossover saCrossover = new ScheduleCrossover(saEnv, 1);
+
+    // Almost frozen temperature rejects most of the worse children
+    saEnv.setSimulatedAnnealing(new SimulatedAnnealing(0.9, 0.0001,
+        new LoadBalancingFitnessCalculator(saEnv), Optimize.MINIMUM));
+
+    for (int i = 0; i < maxPopulation; i++) {
+      ScheduleChromosome p1Chromosome = new ScheduleChromosome(saEnv);
+      ScheduleChromosome p2Chromosome = new ScheduleChromosome(saEnv);
+      MSeq<ScheduleGene> p1Seq = p1Chromosome.toSeq().copy();
+      MSeq<ScheduleGene> p2Seq = p2Chromosome.toSeq().copy();
+      int alterationsCount = 0;
+
+      int alterations = saCrossover.crossover(p1Seq, p2Seq);
+
+      // Rejected children are restored to their parents
+      if (!p1Seq.equals(p1Chromosome.toSeq().copy())) {
+        alterationsCount++;
+        assertTrue(ScheduleChromosome.of(saEnv, p1Seq.toISeq()).isValid());
+      }
+
+      if (!p2Seq.equals(p2Chromosome.toSeq().copy())) {
+        alterationsCount++;
+        assertTrue(ScheduleChromosome.of(saEnv, p2Seq.toISeq()).isValid());
+      }
+
+      assertEquals(alterationsCount, alterations);
+    }
+  }
+
+  @Test
+  public void testOwnSimulatedAnnealing() throws Exception {
+    // Independent tasks, so every permutation is valid
+    HeterogeneousComputingEnv plainEnv = HeterogeneousComputingEnv.builder()
+        .etc(new double[][] { { 1, 2 }, { 3, 4 }, { 5, 6 }, { 7, 8 } })
+        .build();
+    AtomicInteger checks = new AtomicInteger();
+    SimulatedAnnealing rejecting = new SimulatedAnnealing(0.8, 900,
+        new LoadBalancingFitnessCalculator(plainEnv), Optimize.MINIMUM) {
+      @Override
+      public boolean checkCriteria(ScheduleChromosome oldChromosome,
+          ScheduleChromosome newChromosom) {
+        checks.incrementAndGet();
+        return false;
+      }
+    };
+    ScheduleCrossover ownCrossover = new ScheduleCrossover(plainEnv, 1, rejecting);
+
+    for (int i = 0; i < maxPopulation; i++) {
+      ScheduleChromosome p1Chromosome = new ScheduleChromosome(plainEnv);
+      ScheduleChromosome p2Chromosome = new ScheduleChromosome(plainEnv);
+      MSeq<ScheduleGene> p1Seq = p1Chromosome.toSeq().copy();
+      MSeq<ScheduleGene> p2Seq = p2Chromosome.toSeq().copy();
+
+      // The operator's simulated annealing rejects every child
+      assertEquals(0, ownCrossover.crossover(p1Seq, p2Seq));
+      assertEquals(p1Chromosome.toSeq(), p1Seq.toISeq());
+      assertEquals(p2Chromosome.toSeq(), p2Seq.toISeq());
+    }
+
+    assertTrue(checks.get() > 0);
+  }
+
 }
@@ -0,0 +1,100 @@
+/*
+ * Genetic Algorithm for Load Balancing
+ * Copyright (c) 2016-2017 Pedro Cuadra & Sudheera Reddy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Pedro Cuadra (pjcuadra@gmail.com)
+ *    Sudheera Reddy
+ */
+
+
+package de.dortmund.fh.pimes.gitlab.galob.alg.util.jenetics;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import de.dortmund.fh.pimes.gitlab.galob.alg.util.HeterogeneousComputingEnv;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Schedule encoding unit testing.
+ *
+ * @author Pedro Cuadra
+ *
+ */
+public class ScheduleEncodingTest {
+  /**
+   * Number of tasks.
+   */
+  private static final int NUM_TASKS = 10;
+  /**
+   * Number of executors.
+   */
+  private static final int NUM_EXECUTORS = 3;
+  /**
+   * Heterogeneous computing environment.
+   */
+  private HeterogeneousComputingEnv env;
+
+  /**
+   * Unit testing set-up.
+   *
+   * @throws Exception
+   *           failure exception
+   */
+  @Before
+  public void setUp() throws Exception {
+    env = HeterogeneousComputingEnv.ofRandom(NUM_TASKS, NUM_EXECUTORS, false, 7);
+  }
+
+  @Test
+  public void testRoundTrip() {
+    ScheduleChromosome chromosome = ScheduleChromosome.of(env);
+    int[] schedule = ScheduleEncoding.encode(chromosome);
+
+    assertEquals(2 * NUM_TASKS, schedule.length);
+
+    for (int locus = 0; locus < NUM_TASKS; locus++) {
+      ScheduleAllele allele = chromosome.getGene(locus).getAllele();
+
+      assertEquals(allele.getTaskId(), schedule[locus]);
+      assertEquals(allele.getExecutorId(), schedule[NUM_TASKS + locus]);
+    }
+
+    ScheduleChromosome decoded = ScheduleEncoding.decode(env, schedule);
+
+    assertTrue(decoded.isValid());
+    assertArrayEquals(schedule, ScheduleEncoding.encode(decoded));
+  }
+
+  @Test
+  public void testInvalid() {
+    int[] schedule = ScheduleEncoding.encode(ScheduleChromosome.of(env));
+
+    assertNull(ScheduleEncoding.decode(env, new int[2 * NUM_TASKS - 1]));
+
+    schedule[0] = NUM_TASKS;
+    assertNull(ScheduleEncoding.decode(env, schedule));
+
+    schedule[0] = 0;
+    schedule[NUM_TASKS] = NUM_EXECUTORS;
+    assertNull(ScheduleEncoding.decode(env, schedule));
+  }
+
+}
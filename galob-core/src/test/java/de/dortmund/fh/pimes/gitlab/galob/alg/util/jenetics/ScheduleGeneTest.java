@@ -9,6 +9,8 @@ import de.dortmund.fh.pimes.gitlab.galob.alg.util.HeterogeneousComputingEnv;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.HashSet;
+
 public class ScheduleGeneTest {
   /**
    * Maximum number of tasks.
@@ -58,6 +60,7 @@ public class ScheduleGeneTest {
   }
 
   @Test
+  @SuppressWarnings("deprecation")
   public void testMutate() throws Exception {
     ScheduleAllele allele = ScheduleAllele.ofRandom(env);
     ScheduleGene gene = ScheduleGene.ofRandom(env);
@@ -80,4 +83,19 @@ public class ScheduleGeneTest {
 
   }
 
+  @Test
+  public void testHashCode() throws Exception {
+    ScheduleAllele allele = ScheduleAllele.ofRandom(env);
+    ScheduleGene gene = ScheduleGene.ofAllele(env, allele);
+    ScheduleGene other = ScheduleGene.ofAllele(env, allele);
+
+    // Equal genes have the same hash
+    assertEquals(gene, other);
+    assertEquals(gene.hashCode(), other.hashCode());
+
+    // And can be used as keys
+    HashSet<ScheduleGene> genes = new HashSet<ScheduleGene>();
+    genes.add(gene);
+    assertTrue(genes.contains(other));
+  }
 }
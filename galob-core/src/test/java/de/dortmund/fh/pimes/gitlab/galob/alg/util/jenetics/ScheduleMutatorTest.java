@@ -22,17 +22,21 @@
 package de.dortmund.fh.pimes.gitlab.galob.alg.util.jenetics;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 import de.dortmund.fh.pimes.gitlab.galob.alg.ExecutionTimeFitnessCalculator;
 import de.dortmund.fh.pimes.gitlab.galob.alg.LoadBalancingFitnessCalculator;
 import de.dortmund.fh.pimes.gitlab.galob.alg.util.HeterogeneousComputingEnv;
 import de.dortmund.fh.pimes.gitlab.galob.alg.util.SimulatedAnnealing;
+import de.dortmund.fh.pimes.gitlab.galob.alg.util.graph.TopologicalLevels;
 
 import org.jenetics.Chromosome;
 import org.jenetics.Genotype;
 import org.jenetics.Optimize;
 import org.jenetics.Phenotype;
 import org.jenetics.Population;
+import org.jenetics.util.ISeq;
 import org.jenetics.util.MSeq;
 import org.junit.After;
 import org.junit.AfterClass;
@@ -42,6 +46,10 @@ import org.junit.Test;
 
 import java.util.ArrayList;
 import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Schedule Mutator unit testing.
@@ -184,4 +192,91 @@ public class ScheduleMutatorTest {
 
     assertEquals(alterationsCount, alterations);
   }
+
+  @Test
+  public void testParallelMutate() throws Exception {
+    final int numThreads = 4;
+    TopologicalLevels levels = env.getTopologicalLevels();
+    ExecutorService pool = Executors.newFixedThreadPool(numThreads);
+    ArrayList<Future<Boolean>> results = new ArrayList<Future<Boolean>>();
+
+    // Mutate from several threads sharing the same HCE
+    for (int thread = 0; thread < numThreads; thread++) {
+      results.add(pool.submit(() -> {
+        boolean valid = true;
+
+        for (int i = 0; i < 200; i++) {
+          ScheduleChromosome chromosome = new ScheduleChromosome(env);
+          MSeq<ScheduleGene> mutationSeq = chromosome.toSeq().copy();
+
+          mutator.mutate(mutationSeq, 0);
+          valid &= ScheduleChromosome.of(env, mutationSeq.toISeq()).isValid();
+        }
+
+        return valid;
+      }));
+    }
+
+    for (Future<Boolean> result : results) {
+      assertTrue(result.get());
+    }
+
+    pool.shutdown();
+
+    // The level index of the HCE is never altered
+    assertSame(levels, env.getTopologicalLevels());
+  }
+
+  @Test
+  public void testMutateWithoutSimulatedAnnealing() throws Exception {
+    // (0) -> (1) and (2) -> (3), swapping 0 and 2 in 0, 1, 2, 3 would break 0 -> 1
+    HeterogeneousComputingEnv plainEnv = HeterogeneousComputingEnv.builder()
+        .etc(new double[][] { { 1 }, { 1 }, { 1 }, { 1 } })
+        .dependencies(new int[] { 0, 2 }, new int[] { 1, 3 }, new double[] { 1, 1 })
+        .build();
+    ScheduleMutator plainMutator = new ScheduleMutator(plainEnv, 0);
+    ScheduleChromosome chromosome = ScheduleChromosome.of(plainEnv,
+        ISeq.of(ScheduleGene.ofAllele(plainEnv, ScheduleAllele.of(plainEnv, 0, 0)),
+            ScheduleGene.ofAllele(plainEnv, ScheduleAllele.of(plainEnv, 1, 0)),
+            ScheduleGene.ofAllele(plainEnv, ScheduleAllele.of(plainEnv, 2, 0)),
+            ScheduleGene.ofAllele(plainEnv, ScheduleAllele.of(plainEnv, 3, 0))));
+
+    // Invalid swaps are never applied, even without simulated annealing
+    for (int i = 0; i < 50; i++) {
+      MSeq<ScheduleGene> mutationSeq = chromosome.toSeq().copy();
+
+      assertEquals(0, plainMutator.mutate(mutationSeq, 0));
+      assertEquals(chromosome.toSeq(), mutationSeq.toISeq());
+    }
+  }
+
+  @Test
+  public void testOwnSimulatedAnnealing() throws Exception {
+    // Independent tasks, so every swap is valid
+    HeterogeneousComputingEnv plainEnv = HeterogeneousComputingEnv.builder()
+        .etc(new double[][] { { 1, 2 }, { 3, 4 }, { 5, 6 }, { 7, 8 } })
+        .build();
+    AtomicInteger checks = new AtomicInteger();
+    SimulatedAnnealing rejecting = new SimulatedAnnealing(0.8, 900,
+        new LoadBalancingFitnessCalculator(plainEnv), Optimize.MINIMUM) {
+      @Override
+      public boolean checkCriteria(ScheduleChromosome oldChromosome,
+          ScheduleChromosome newChromosom, int firstLocus, int secondLocus) {
+        checks.incrementAndGet();
+        return false;
+      }
+    };
+    ScheduleMutator ownMutator = new ScheduleMutator(plainEnv, 0.6, rejecting);
+
+    for (int i = 0; i < 100; i++) {
+      ScheduleChromosome chromosome = new ScheduleChromosome(plainEnv);
+      MSeq<ScheduleGene> mutationSeq = chromosome.toSeq().copy();
+
+      // The operator's simulated annealing rejects every mutation
+      assertEquals(0, ownMutator.mutate(mutationSeq, 0));
+      assertEquals(chromosome.toSeq(), mutationSeq.toISeq());
+    }
+
+    assertEquals(100, checks.get());
+  }
 }
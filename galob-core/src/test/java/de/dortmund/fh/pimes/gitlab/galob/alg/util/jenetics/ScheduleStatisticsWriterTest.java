@@ -0,0 +1,186 @@
+/*
+ * Genetic Algorithm for Load Balancing
+ * Copyright (c) 2016-2017 Pedro Cuadra & Sudheera Reddy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Pedro Cuadra (pjcuadra@gmail.com)
+ *    Sudheera Reddy
+ */
+
+
+package de.dortmund.fh.pimes.gitlab.galob.alg.util.jenetics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import de.dortmund.fh.pimes.gitlab.galob.alg.LoadBalancingFitnessCalculator;
+import de.dortmund.fh.pimes.gitlab.galob.alg.util.HeterogeneousComputingEnv;
+import de.dortmund.fh.pimes.gitlab.galob.alg.util.SimulatedAnnealing;
+
+import org.jenetics.Genotype;
+import org.jenetics.Optimize;
+import org.jenetics.Phenotype;
+import org.jenetics.Population;
+import org.jenetics.engine.EvolutionDurations;
+import org.jenetics.engine.EvolutionResult;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Schedule statistics writer unit testing.
+ *
+ * @author Pedro Cuadra
+ *
+ */
+public class ScheduleStatisticsWriterTest {
+  /**
+   * Number of tasks.
+   */
+  private static final int NUM_TASKS = 12;
+  /**
+   * Number of executors.
+   */
+  private static final int NUM_EXECUTORS = 3;
+  /**
+   * Population size.
+   */
+  private static final int POPULATION_SIZE = 10;
+  /**
+   * Heterogeneous computing environment.
+   */
+  private HeterogeneousComputingEnv env;
+  /**
+   * Fitness calculator.
+   */
+  private LoadBalancingFitnessCalculator fitnessCalculator;
+
+  /**
+   * Unit testing set-up.
+   *
+   * @throws Exception
+   *           failure exception
+   */
+  @Before
+  public void setUp() throws Exception {
+    env = HeterogeneousComputingEnv.ofRandom(NUM_TASKS, NUM_EXECUTORS, false);
+    fitnessCalculator = new LoadBalancingFitnessCalculator(env);
+
+    env.setSimulatedAnnealing(
+        new SimulatedAnnealing(0.8, 900, fitnessCalculator, Optimize.MINIMUM));
+  }
+
+  /**
+   * Create an evolution result with a random population.
+   *
+   * @param generation
+   *          generation index
+   * @return evolution result
+   */
+  private EvolutionResult<ScheduleGene, Double> createResult(long generation) {
+    Population<ScheduleGene, Double> population = new Population<ScheduleGene, Double>();
+
+    for (int i = 0; i < POPULATION_SIZE; i++) {
+      population.add(Phenotype.of(Genotype.of(new ScheduleChromosome(env)), generation,
+          gt -> fitnessCalculator.getFitness((ScheduleChromosome) gt.getChromosome())));
+    }
+
+    return EvolutionResult.of(Optimize.MINIMUM, population, generation, EvolutionDurations.ZERO,
+        0, 0, 0);
+  }
+
+  @Test
+  public void testCsv() throws Exception {
+    StringWriter output = new StringWriter();
+
+    try (ScheduleStatisticsWriter writer =
+        new ScheduleStatisticsWriter(env, output, ScheduleStatisticsWriter.Format.CSV)) {
+      writer.accept(createResult(1));
+      writer.accept(createResult(2));
+    }
+
+    String[] lines = output.toString().split("\n");
+
+    // Header and one line per generation
+    assertEquals(3, lines.length);
+    assertTrue(lines[0].startsWith("generation,best_fitness,mean_fitness,makespan,makespan_0"));
+
+    int numColumns = lines[0].split(",", -1).length;
+
+    assertEquals(9 + NUM_EXECUTORS, numColumns);
+    assertEquals(numColumns, lines[1].split(",", -1).length);
+    assertEquals(numColumns, lines[2].split(",", -1).length);
+    assertTrue(lines[2].startsWith("2,"));
+  }
+
+  @Test
+  public void testJsonLines() throws Exception {
+    StringWriter output = new StringWriter();
+
+    try (ScheduleStatisticsWriter writer =
+        new ScheduleStatisticsWriter(env, output, ScheduleStatisticsWriter.Format.JSON_LINES)) {
+      writer.accept(createResult(1));
+    }
+
+    String record = output.toString().trim();
+
+    assertTrue(record.startsWith("{\"generation\":1,\"best_fitness\":"));
+    assertTrue(record.contains("\"makespan_k\":["));
+    assertTrue(record.contains("\"sa_temperature\":900.0"));
+    assertTrue(record.endsWith("}"));
+  }
+
+  @Test
+  public void testExportBestSchedule() throws Exception {
+    Path statsFile = Files.createTempFile("stats", ".csv");
+    Path scheduleFile = Files.createTempFile("schedule", ".csv");
+
+    try (ScheduleStatisticsWriter writer =
+        new ScheduleStatisticsWriter(env, statsFile, ScheduleStatisticsWriter.Format.CSV)) {
+      writer.accept(createResult(1));
+      writer.exportBestSchedule(scheduleFile);
+
+      ScheduleChromosome best =
+          (ScheduleChromosome) writer.getBestPhenotype().getGenotype().getChromosome();
+      List<String> lines = Files.readAllLines(scheduleFile);
+
+      assertEquals("task,executor,start,finish", lines.get(0));
+      assertEquals(NUM_TASKS + 1, lines.size());
+
+      double makespan = 0;
+
+      for (int locus = 0; locus < NUM_TASKS; locus++) {
+        String[] fields = lines.get(locus + 1).split(",");
+        ScheduleAllele allele = best.getGene(locus).getAllele();
+
+        assertEquals(allele.getTaskId(), Integer.parseInt(fields[0]));
+        assertEquals(allele.getExecutorId(), Integer.parseInt(fields[1]));
+        assertTrue(Double.parseDouble(fields[2]) <= Double.parseDouble(fields[3]));
+
+        makespan = Math.max(makespan, Double.parseDouble(fields[3]));
+      }
+
+      assertEquals(best.getStats().getTotalTime(), makespan, 0.00001);
+    } finally {
+      Files.delete(statsFile);
+      Files.delete(scheduleFile);
+    }
+  }
+
+}
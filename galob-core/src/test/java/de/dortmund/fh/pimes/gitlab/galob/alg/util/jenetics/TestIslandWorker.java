@@ -0,0 +1,70 @@
+/*
+ * Genetic Algorithm for Load Balancing
+ * Copyright (c) 2016-2017 Pedro Cuadra & Sudheera Reddy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Pedro Cuadra (pjcuadra@gmail.com)
+ *    Sudheera Reddy
+ */
+
+
+package de.dortmund.fh.pimes.gitlab.galob.alg.util.jenetics;
+
+import de.dortmund.fh.pimes.gitlab.galob.alg.util.HeterogeneousComputingEnv;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.file.Paths;
+
+/**
+ * Island worker main forked by {@link LocalIslandLauncherTest}.
+ *
+ * @author Pedro Cuadra
+ *
+ */
+public final class TestIslandWorker {
+
+  /**
+   * Constructor.
+   */
+  private TestIslandWorker() {
+  }
+
+  /**
+   * Main function. Takes the arguments given by {@link LocalIslandLauncher}.
+   *
+   * @param args
+   *          command line parameters
+   * @throws IOException
+   *           if the HCE couldn't be loaded or the coordinator is unreachable
+   * @throws InterruptedException
+   *           if interrupted while evolving
+   */
+  public static void main(String[] args) throws IOException, InterruptedException {
+    final InetSocketAddress coordinator =
+        new InetSocketAddress(args[0], Integer.parseInt(args[1]));
+    final HeterogeneousComputingEnv env = HeterogeneousComputingEnv.ofFile(Paths.get(args[2]));
+
+    try (SocketMigrationTransport transport = new SocketMigrationTransport(env, coordinator)) {
+      IslandRunner runner = new IslandRunner(env, Integer.parseInt(args[4]),
+          island -> IslandEngineFactory.createEngine(env), IslandRunner.Migration.RING,
+          Long.parseLong(args[5]), Integer.parseInt(args[6]));
+
+      runner.setMigrationTransport(transport);
+      runner.run(Long.parseLong(args[3]));
+    }
+  }
+
+}
@@ -50,6 +50,10 @@ public class GraphDrawer extends JPanel {
    * Maximum number of cores.
    */
   private int maxCore;
+  /**
+   * Chromosome to draw the allocation of.
+   */
+  private ScheduleChromosome chromosome;
 
   /**
    * Constructor.
@@ -60,6 +64,7 @@ public class GraphDrawer extends JPanel {
     drawer.isAllocationVisualization = true;
     drawer.frameName = "Simulation of the Allocation sequence";
     drawer.timeSlot = 10;
+    drawer.chromosome = chr;
 
     drawer.createGraph(chr.getStats().getStatsGraph());
 
@@ -193,7 +198,8 @@ public class GraphDrawer extends JPanel {
 
         // Skip if for allocation the dependency is between tasks allocated to the same core
         if (isAllocationVisualization) {
-          if (parent.getCookie("core").equals(node.getCookie("core"))) {
+          if (chromosome.getExecutorOfTask(parent.getTaskId()) == chromosome
+              .getExecutorOfTask(node.getTaskId())) {
             continue;
           }
         }
@@ -225,6 +231,7 @@ public class GraphDrawer extends JPanel {
     Object defParent = mxgraph.getDefaultParent();
 
     if (isAllocationVisualization) {
+      int core = chromosome.getExecutorOfTask(node.getTaskId());
 
       // Add node as vertex
       v1 = mxgraph.insertVertex(
@@ -232,12 +239,12 @@ public class GraphDrawer extends JPanel {
           null,
           node,
           timeSlot * (Double) node.getCookie("st"),
-          CORE_SLOT * (Integer) node.getCookie("core"),
+          CORE_SLOT * core,
           timeSlot * (Double) node.getCookie("etc"),
           NODE_RADIUS);
 
-      if ((Integer) node.getCookie("core") > this.maxCore) {
-        this.maxCore = (Integer) node.getCookie("core");
+      if (core > this.maxCore) {
+        this.maxCore = core;
       }
 
     } else {
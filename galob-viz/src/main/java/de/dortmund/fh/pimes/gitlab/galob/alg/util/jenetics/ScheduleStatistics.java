@@ -21,8 +21,10 @@
 
 package de.dortmund.fh.pimes.gitlab.galob.alg.util.jenetics;
 
+import de.dortmund.fh.pimes.gitlab.galob.alg.util.GrowableDoubleArray;
 import de.dortmund.fh.pimes.gitlab.galob.alg.util.HeterogeneousComputingEnv;
 import de.dortmund.fh.pimes.gitlab.galob.alg.util.PaneInfo;
+import de.dortmund.fh.pimes.gitlab.galob.alg.util.StreamingHistogram;
 import de.dortmund.fh.pimes.gitlab.galob.alg.util.graph.GraphDrawer;
 
 import org.jenetics.Genotype;
@@ -47,7 +49,6 @@ import java.awt.Font;
 import java.awt.GridLayout;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.function.Consumer;
 
 import javax.swing.JFrame;
@@ -61,7 +62,8 @@ import javax.swing.tree.DefaultMutableTreeNode;
 import javax.swing.tree.TreeSelectionModel;
 
 /**
- * Genetic algorithm's chromosome.
+ * Evolution stream statistics. Memory is bounded: fitness values of all individuals are only kept
+ * in a streaming histogram and the per generation series can be decimated.
  *
  * @author Pedro Cuadra
  * @author Sudheera Bandi
@@ -81,34 +83,38 @@ public class ScheduleStatistics extends JPanel
    * Heterogeneous computing environment.
    */
   private HeterogeneousComputingEnv env;
+  /**
+   * Only every decimation-th generation is recorded in the series.
+   */
+  private final int decimation;
   /**
    * Simulated Annealing temperature history.
    */
-  private ArrayList<Double> saTemp;
+  private GrowableDoubleArray saTemp;
   /**
    * Generations indexes.
    */
-  private ArrayList<Integer> generations;
+  private GrowableDoubleArray generations;
   /**
    * Makespan per execution nodes.
    */
-  private ArrayList<ArrayList<Double>> makespanK;
+  private GrowableDoubleArray[] makespanK;
   /**
    * Makespan of schedule.
    */
-  private ArrayList<Double> makespan;
+  private GrowableDoubleArray makespan;
   /**
    * Currently best phenotype.
    */
   private Phenotype<ScheduleGene, Double> bestPt;
   /**
-   * Best Generation Fitness history.
+   * Fitness distribution of all individuals of all generations.
    */
-  private ArrayList<Double> actualFitnessHistory;
+  private StreamingHistogram fitnessHistogram;
   /**
    * Best Fitness history.
    */
-  private ArrayList<Double> bestFitnessHistory;
+  private GrowableDoubleArray bestFitnessHistory;
   /**
    * Best fitness value.
    */
@@ -131,34 +137,49 @@ public class ScheduleStatistics extends JPanel
   private final Font legendFont = new Font(Font.SANS_SERIF, Font.PLAIN, 16);
 
   /**
-   * Constructor.
+   * Constructor. Every generation is recorded.
    *
    * @param env
    *          heterogeneous computing environment
    */
   public ScheduleStatistics(HeterogeneousComputingEnv env) {
+    this(env, 1);
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param env
+   *          heterogeneous computing environment
+   * @param decimation
+   *          only every decimation-th generation is recorded in the evolution series
+   */
+  public ScheduleStatistics(HeterogeneousComputingEnv env, int decimation) {
     super(new GridLayout(1, 0));
 
+    assert decimation > 0 : "Decimation shall be greater than 0";
+
     // Initialize statistics related variables
     this.statistics = EvolutionStatistics.ofNumber();
     this.env = env;
+    this.decimation = decimation;
 
-    this.saTemp = new ArrayList<Double>();
-    this.generations = new ArrayList<Integer>();
+    this.saTemp = new GrowableDoubleArray();
+    this.generations = new GrowableDoubleArray();
 
-    // Initialize the makespan per execution node lists
-    this.makespanK = new ArrayList<ArrayList<Double>>();
+    // Initialize the makespan per execution node series
+    this.makespanK = new GrowableDoubleArray[env.getNumberOfExecutors()];
     for (int i = 0; i < env.getNumberOfExecutors(); i++) {
-      this.makespanK.add(new ArrayList<Double>());
+      this.makespanK[i] = new GrowableDoubleArray();
     }
 
-    // Initialize makespan list
-    this.makespan = new ArrayList<Double>();
+    // Initialize makespan series
+    this.makespan = new GrowableDoubleArray();
 
-    // Initialize fitness list
-    this.bestFitnessHistory = new ArrayList<Double>();
-    // Initialize actaul fitness list
-    this.actualFitnessHistory = new ArrayList<Double>();
+    // Initialize fitness series
+    this.bestFitnessHistory = new GrowableDoubleArray();
+    // Initialize fitness distribution
+    this.fitnessHistogram = new StreamingHistogram();
   }
 
   /*
@@ -194,13 +215,18 @@ public class ScheduleStatistics extends JPanel
 
     // All fitness values
     for (Phenotype<ScheduleGene, Double> currPt : result.getPopulation()) {
-      actualFitnessHistory.add(currPt.getFitness());
+      fitnessHistogram.accept(currPt.getFitness());
     }
 
     // Perform statistics accept first
     this.statistics.accept(result);
 
-    generations.add(new Integer((int) result.getGeneration()));
+    // Only record decimated generations
+    if ((result.getGeneration() - 1) % decimation != 0) {
+      return;
+    }
+
+    generations.add(result.getGeneration());
 
     // Perform custom accept
     if (env.getSimulatedAnnealingEnabled()) {
@@ -211,7 +237,7 @@ public class ScheduleStatistics extends JPanel
     ScheduleChromosome chr = (ScheduleChromosome) gt.getChromosome();
 
     for (int i = 0; i < env.getNumberOfExecutors(); i++) {
-      this.makespanK.get(i).add(chr.getStats().getNodesExecutionTime()[i]);
+      this.makespanK[i].add(chr.getStats().getNodesExecutionTime()[i]);
     }
 
     this.makespan.add(chr.getStats().getTotalTime());
@@ -257,7 +283,8 @@ public class ScheduleStatistics extends JPanel
 
     chart.getStyler().setLegendFont(legendFont);
 
-    chart.addSeries("Fitness", generations, this.bestFitnessHistory).setMarker(SeriesMarkers.NONE);
+    chart.addSeries("Fitness", generations.toArray(), this.bestFitnessHistory.toArray())
+        .setMarker(SeriesMarkers.NONE);
 
     DefaultMutableTreeNode defaultMutableTreeNode =
         new DefaultMutableTreeNode(new PaneInfo("Best fitness Evolution", chart));
@@ -273,35 +300,21 @@ public class ScheduleStatistics extends JPanel
     chart.getStyler().setLegendVisible(true);
     chart.getStyler().setLegendFont(legendFont);
 
-    Collections.sort(this.actualFitnessHistory);
-    ArrayList<Double> fitnessAxis = new ArrayList<Double>();
-    ArrayList<Integer> frequencyAxis = new ArrayList<Integer>();
-
-    for (Double currFitness : this.actualFitnessHistory) {
-      if (fitnessAxis.contains(currFitness)) {
-        int index = fitnessAxis.indexOf(currFitness);
-        frequencyAxis.set(index, frequencyAxis.get(index) + 1);
-        continue;
-      }
-
-      fitnessAxis.add(currFitness);
-      frequencyAxis.add(1);
+    double[] fitnessAxis = new double[fitnessHistogram.getNumberOfBuckets()];
+    double[] frequencyAxis = new double[fitnessHistogram.getNumberOfBuckets()];
 
+    for (int bucket = 0; bucket < fitnessHistogram.getNumberOfBuckets(); bucket++) {
+      fitnessAxis[bucket] = fitnessHistogram.getBucketCenter(bucket);
+      frequencyAxis[bucket] = fitnessHistogram.getFrequency(bucket);
     }
 
-    // Calculate the mean
-    final double mean =
-        this.actualFitnessHistory.stream().mapToDouble(i -> i).average().getAsDouble();
-
-    // Calculate the variance
-    final double var =
-        this.actualFitnessHistory.stream().mapToDouble(i -> Math.pow((i - mean), 2)).sum()
-            / (this.actualFitnessHistory.size() - 1);
+    final double mean = fitnessHistogram.getMean();
+    final double var = fitnessHistogram.getVariance();
 
     chart
         .addSeries(
-            "Fitness distribution\n" + "min = " + fitnessAxis.get(0) + "\n" + "max = "
-                + fitnessAxis.get(fitnessAxis.size() - 1) + "\n" + "mean = " + mean + "\n"
+            "Fitness distribution\n" + "min = " + fitnessHistogram.getMin() + "\n" + "max = "
+                + fitnessHistogram.getMax() + "\n" + "mean = " + mean + "\n"
                 + "var = " + var + "\n" + "std = " + Math.sqrt(var),
             fitnessAxis,
             frequencyAxis)
@@ -364,11 +377,12 @@ public class ScheduleStatistics extends JPanel
     chart.getStyler().setLegendFont(legendFont);
 
     for (int i = 0; i < env.getNumberOfExecutors(); i++) {
-      chart.addSeries("Core - " + i, generations, this.makespanK.get(i)).setMarker(
-          SeriesMarkers.NONE);
+      chart.addSeries("Core - " + i, generations.toArray(), this.makespanK[i].toArray())
+          .setMarker(SeriesMarkers.NONE);
     }
 
-    chart.addSeries("Total", generations, this.makespan).setMarker(SeriesMarkers.NONE);
+    chart.addSeries("Total", generations.toArray(), this.makespan.toArray())
+        .setMarker(SeriesMarkers.NONE);
 
     DefaultMutableTreeNode defaultMutableTreeNode =
         new DefaultMutableTreeNode(new PaneInfo("Best schedule evolution", chart));
@@ -388,10 +402,14 @@ public class ScheduleStatistics extends JPanel
 
     String[] cats = new String[env.getNumberOfExecutors()];
     Double[] makespan = new Double[env.getNumberOfExecutors()];
+    // Best schedule might be newer than the last recorded generation
+    double[] bestMakespanK =
+        ((ScheduleChromosome) bestPt.getGenotype().getChromosome()).getStats()
+            .getNodesExecutionTime();
 
     for (int i = 0; i < env.getNumberOfExecutors(); i++) {
       cats[i] = new String("Core - " + i);
-      makespan[i] = this.makespanK.get(i).get(this.makespanK.get(i).size() - 1);
+      makespan[i] = bestMakespanK[i];
     }
 
     // Series
@@ -424,7 +442,8 @@ public class ScheduleStatistics extends JPanel
 
     chart.getStyler().setLegendFont(legendFont);
 
-    chart.addSeries("Temperature(n)", generations, saTemp).setMarker(SeriesMarkers.NONE);
+    chart.addSeries("Temperature(n)", generations.toArray(), saTemp.toArray())
+        .setMarker(SeriesMarkers.NONE);
 
     DefaultMutableTreeNode defaultMutableTreeNode =
         new DefaultMutableTreeNode(new PaneInfo("Temperature Evolution", chart));
@@ -37,6 +37,9 @@ import org.jenetics.RouletteWheelSelector;
 import org.jenetics.engine.Engine;
 import org.jenetics.engine.EvolutionStatistics;
 
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
 /**
  * Example of execution time optimization.
  *
@@ -81,6 +84,10 @@ public class ExecutionTimeExample {
    * Initial population size.
    */
   static final int POPULATION_SIZE = 15;
+  /**
+   * Executor used to evaluate the population fitness (all available cores).
+   */
+  static final Executor EVALUATION_EXECUTOR = ForkJoinPool.commonPool();
   /**
    * Heterogeneous Computing Environment.
    */
@@ -109,6 +116,7 @@ public class ExecutionTimeExample {
           .populationSize(POPULATION_SIZE)
           .optimize(Optimize.MINIMUM)
           .selector(new RouletteWheelSelector<>())
+          .executor(EVALUATION_EXECUTOR)
           .alterers(
               new ScheduleMutator(env, MUTATION_PROBABILITY),
               new ScheduleCrossover(env, CROSSOVER_PROBABILITY))
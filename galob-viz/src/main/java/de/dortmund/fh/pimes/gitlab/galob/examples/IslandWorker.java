@@ -0,0 +1,108 @@
+/*
+ * Genetic Algorithm for Load Balancing
+ * Copyright (c) 2016-2017 Pedro Cuadra & Sudheera Reddy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Pedro Cuadra (pjcuadra@gmail.com)
+ *    Sudheera Reddy
+ */
+
+
+package de.dortmund.fh.pimes.gitlab.galob.examples;
+
+import de.dortmund.fh.pimes.gitlab.galob.alg.util.HeterogeneousComputingEnv;
+import de.dortmund.fh.pimes.gitlab.galob.alg.util.jenetics.IslandEngineFactory;
+import de.dortmund.fh.pimes.gitlab.galob.alg.util.jenetics.IslandRunner;
+import de.dortmund.fh.pimes.gitlab.galob.alg.util.jenetics.MigrationCoordinator;
+import de.dortmund.fh.pimes.gitlab.galob.alg.util.jenetics.ScheduleGene;
+import de.dortmund.fh.pimes.gitlab.galob.alg.util.jenetics.SocketMigrationTransport;
+
+import org.jenetics.Phenotype;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.file.Paths;
+
+/**
+ * Island worker process. Loads an HCE file (see {@link HeterogeneousComputingEnv#ofFile}),
+ * connects to a {@link MigrationCoordinator} and runs an {@link IslandRunner} optimizing load
+ * balancing, exchanging migrants with the other workers. It can be forked by
+ * {@link de.dortmund.fh.pimes.gitlab.galob.alg.util.jenetics.LocalIslandLauncher}.
+ *
+ * <p>Usage: {@code IslandWorker <host> <port> <hce file> <generations> [islands] [interval]
+ * [migrants]}.
+ *
+ * @author Pedro Cuadra
+ *
+ */
+public final class IslandWorker {
+  /**
+   * Default number of islands per worker.
+   */
+  static final int DEFAULT_ISLANDS = 1;
+  /**
+   * Default number of generations between migrations.
+   */
+  static final long DEFAULT_INTERVAL = 10;
+  /**
+   * Default number of migrants.
+   */
+  static final int DEFAULT_MIGRANTS = 2;
+
+  /**
+   * Constructor.
+   */
+  private IslandWorker() {
+  }
+
+  /**
+   * Main function.
+   *
+   * @param args
+   *          command line parameters
+   * @throws IOException
+   *           if the HCE couldn't be loaded or the coordinator is unreachable
+   * @throws InterruptedException
+   *           if interrupted while evolving
+   */
+  public static void main(String[] args) throws IOException, InterruptedException {
+    if (args.length < 4 || args.length > 7) {
+      System.err.println("Usage: IslandWorker <host> <port> <hce file> <generations> [islands]"
+          + " [interval] [migrants]");
+      System.exit(1);
+    }
+
+    final InetSocketAddress coordinator =
+        new InetSocketAddress(args[0], Integer.parseInt(args[1]));
+    final HeterogeneousComputingEnv env = HeterogeneousComputingEnv.ofFile(Paths.get(args[2]));
+    final long generations = Long.parseLong(args[3]);
+    final int islands = args.length > 4 ? Integer.parseInt(args[4]) : DEFAULT_ISLANDS;
+    final long interval = args.length > 5 ? Long.parseLong(args[5]) : DEFAULT_INTERVAL;
+    final int migrants = args.length > 6 ? Integer.parseInt(args[6]) : DEFAULT_MIGRANTS;
+
+    try (SocketMigrationTransport transport = new SocketMigrationTransport(env, coordinator)) {
+      IslandRunner runner = new IslandRunner(env, islands,
+          island -> IslandEngineFactory.createEngine(env), IslandRunner.Migration.RING, interval,
+          migrants);
+
+      runner.setMigrationTransport(transport);
+
+      Phenotype<ScheduleGene, Double> best = runner.run(generations);
+
+      System.out.println("Best fitness: " + best.getFitness());
+    }
+  }
+
+}
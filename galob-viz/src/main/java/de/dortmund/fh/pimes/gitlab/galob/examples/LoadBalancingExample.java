@@ -40,6 +40,9 @@ import org.jenetics.Phenotype;
 import org.jenetics.RouletteWheelSelector;
 import org.jenetics.engine.Engine;
 
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
 /**
  * Example of load balacing optimization.
  *
@@ -84,6 +87,10 @@ public class LoadBalancingExample {
    * Initial population size.
    */
   static final int POPULATION_SIZE = 15;
+  /**
+   * Executor used to evaluate the population fitness (all available cores).
+   */
+  static final Executor EVALUATION_EXECUTOR = ForkJoinPool.commonPool();
   /**
    * Taken from MasterESM_DPS_06.pdf page 33 (HEFT scheduling example).
    */
@@ -124,6 +131,7 @@ public class LoadBalancingExample {
           .populationSize(POPULATION_SIZE)
           .optimize(Optimize.MINIMUM)
           .selector(new RouletteWheelSelector<>())
+          .executor(EVALUATION_EXECUTOR)
           .alterers(
               new ScheduleMutator(env, MUTATION_PROBABILITY),
               new ScheduleCrossover(env, CROSSOVER_PROBABILITY))